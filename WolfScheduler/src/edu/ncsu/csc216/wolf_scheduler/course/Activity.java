@@ -1,6 +1,7 @@
 package edu.ncsu.csc216.wolf_scheduler.course;
 
-
+import java.util.ArrayList;
+import java.util.Collection;
 
 /**
  * Activity is an abstract class used to create an activity object which can be displayed on the WolfScheduler.
@@ -24,6 +25,8 @@ public abstract class Activity implements Conflict {
 	static final int MILITARY_PM_MINIMUM = 12;
 	/** Upper single digit minute categorizes the minute to see if additional formatting is required */
 	static final int UPPER_SINGLE_DIGIT_MINUTE = 10;
+	/** Meeting day characters, the index of a day is its bit in a meeting days mask */
+	static final String WEEKDAYS = "MTWHFSU";
 	/** Course's title. */
 	private String title;
 	/** Course's meeting days */
@@ -32,6 +35,10 @@ public abstract class Activity implements Conflict {
 	private int startTime;
 	/** Course's ending time */
 	private int endTime;
+	/** Course's meeting days as a bit mask, with one bit for each day in WEEKDAYS */
+	private int meetingDaysMask;
+	/** Cached meeting string, or null if it has not been built since the last change */
+	private String meetingString;
 	
 	
 	
@@ -102,6 +109,28 @@ public abstract class Activity implements Conflict {
 		setMeetingDaysAndTime(meetingDays, startTime, endTime);
 	}
 
+	/**
+	 * Creates an Activity from values that were validated when they were first set, such as
+	 * a row of a CourseCatalog. No setters run, so nothing is checked or recomputed.
+	 * 
+	 * @param title is the title of the activity
+	 * @param meetingDays is the meetingDays of the activity
+	 * @param startTime is the startTime of the activity
+	 * @param endTime is the endTime of the activity
+	 * @param meetingDaysMask is the bit mask of meetingDays
+	 * @param meetingString is the meeting string built from meetingDays and the times
+	 */
+	Activity(String title, String meetingDays, int startTime, int endTime, int meetingDaysMask,
+			String meetingString) {
+		super();
+		this.title = title;
+		this.meetingDays = meetingDays;
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.meetingDaysMask = meetingDaysMask;
+		this.meetingString = meetingString;
+	}
+
 	/**
 	 * Returns the Course's title
 	 * 
@@ -128,6 +157,7 @@ public abstract class Activity implements Conflict {
 		}
 	
 		this.title = title;
+		clearCachedValues();
 	}
 
 	/**
@@ -203,8 +233,57 @@ public abstract class Activity implements Conflict {
 		this.meetingDays = meetingDays;
 		this.startTime = startTime;
 		this.endTime = endTime;
+		this.meetingDaysMask = meetingDaysToMask(meetingDays);
+		clearCachedValues();
+
+	}
+
+	/**
+	 * Discards the cached meeting string and display values. Called by every setter so the
+	 * cached values are rebuilt from the new fields the next time they are requested. Subclasses
+	 * that cache their own values override this method and call the super method. This method
+	 * runs from the Activity constructor, so subclass cache fields must not have initializers.
+	 */
+	protected void clearCachedValues() {
+		this.meetingString = null;
+	}
 
+	/**
+	 * Returns the Course's meeting days as a bit mask. Bit i is set if the activity
+	 * meets on the i-th day of MTWHFSU. Arranged activities have an empty mask.
+	 * 
+	 * @return the meetingDaysMask
+	 */
+	public int getMeetingDaysMask() {
+		return meetingDaysMask;
+	}
 
+	/**
+	 * Converts meeting days into a bit mask with one bit for each day of MTWHFSU. Any other
+	 * characters, such as the A for arranged, do not set a bit.
+	 * 
+	 * @param meetingDays is the meeting days to convert
+	 * 
+	 * @return the bit mask of the meeting days, or 0 if meetingDays is null
+	 */
+	public static int meetingDaysToMask(String meetingDays) {
+		
+		int mask = 0;
+		
+		if (meetingDays == null) {
+			return mask;
+		}
+		
+		for (int i = 0; i < meetingDays.length(); i++) {
+			
+			int day = WEEKDAYS.indexOf(meetingDays.charAt(i));
+			
+			if (day != -1) {
+				mask |= 1 << day;
+			}
+		}
+		
+		return mask;
 	}
 
 	/**
@@ -233,26 +312,47 @@ public abstract class Activity implements Conflict {
 	}
 
 	/**
-	 * Parses military time into readable string.
+	 * Parses military time into readable string. The string is built once and reused
+	 * until the meeting days and time change.
 	 * Example meetingString: MW 10:00AM-12:00AM
 	 * 
 	 * @return the meeting time in string format
 	 */
 	public String getMeetingString() {
+		
+		if (meetingString == null) {
+			meetingString = formatMeetingString(meetingDays, startTime, endTime);
+		}
+		
+		return meetingString;
+	}
+
+	/**
+	 * Parses military time into readable string. Shared by activities and by catalogs that
+	 * store meeting times without creating activities.
+	 * Example meetingString: MW 10:00AM-12:00AM
+	 * 
+	 * @param meetingDays is the meeting days to format
+	 * @param startTime is the start time in military time
+	 * @param endTime is the end time in military time
+	 * 
+	 * @return the meeting time in string format
+	 */
+	static String formatMeetingString(String meetingDays, int startTime, int endTime) {
 	
 		// Return Arranged if meeting days is arranged
-		if ("A".equals(this.meetingDays)) {
+		if ("A".equals(meetingDays)) {
 			return "Arranged";
 		}
 	
 		String startTimeOfDayType = "AM";
 		String endTimeOfDayType = "AM";
 	
-		int startTimeHour = militaryTimeToHours(this.startTime);
-		int startTimeMinute = militaryTimeToMinutes(this.startTime);
+		int startTimeHour = startTime / MILITARY_DIVIDER;
+		int startTimeMinute = startTime % MILITARY_DIVIDER;
 	
-		int endTimeHour = militaryTimeToHours(this.endTime);
-		int endTimeMinute = militaryTimeToMinutes(this.endTime);
+		int endTimeHour = endTime / MILITARY_DIVIDER;
+		int endTimeMinute = endTime % MILITARY_DIVIDER;
 	
 		String startTimeHourString;
 		String endTimeHourString;
@@ -310,7 +410,7 @@ public abstract class Activity implements Conflict {
 		}
 	
 		String meetingDaysString = "";
-		meetingDaysString += this.meetingDays;
+		meetingDaysString += meetingDays;
 		meetingDaysString += " ";
 		meetingDaysString += startTimeHourString;
 		meetingDaysString += ":";
@@ -335,90 +435,102 @@ public abstract class Activity implements Conflict {
 	public abstract boolean isDuplicate(Activity activity);
 	
 	/**
-	 * Returns a short description of each activity in a String array.
+	 * Returns a short description of each activity in a String array. The array may be cached,
+	 * but each caller gets its own copy.
 	 * 
 	 * @return a String array giving a short description of an activity.
 	 */
 	public abstract String[] getShortDisplayArray();
 	
 	/**
-	 * Returns a long description of an activity in a String array.
+	 * Returns a long description of an activity in a String array. The array may be cached,
+	 * but each caller gets its own copy.
 	 * 
 	 * @return a String array giving a long description of an activity.
 	 */
 	public abstract String[] getLongDisplayArray();
+	
+	/**
+	 * Returns a copy of the activity with the same fields. The fields were validated when
+	 * they were set, so the copy is built without running the setters. Changing the copy does
+	 * not change the activity.
+	 * 
+	 * @return a copy of the activity
+	 */
+	public abstract Activity copy();
 
 	/**
-	 * Checks to see if there is a time conflict between two Activities. Throws a ConflictException
-	 * if start and end time boundaries on any same day conflict, or if the two times overlapping.
+	 * Checks to see if there is a time conflict between two Activities. Two activities conflict
+	 * if they meet on any same day and their start and end time boundaries touch or overlap.
 	 * 
 	 * @param possibleConflictingActivity is the activity which is checked for time conflicts
 	 * 
-	 * @throws ConflictException if there is a time conflict between the two activities.
+	 * @return true if there is a time conflict between the two activities.
 	 */
 	@Override
-	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
+	public boolean conflictsWith(Activity possibleConflictingActivity) {
 		
 		//If the meeting days contain any of the same days, check for time conflict
-		if(containsSameDays(this, possibleConflictingActivity)) {
-			
-			//Grabs the meeting strings of both activities
-			int possibleConflictingStartTime = possibleConflictingActivity.startTime;
-			int possibleConflictingEndTime = possibleConflictingActivity.endTime;
-			
-			
-			//Checks for conflicting times
-			
-			if(this.startTime <= possibleConflictingStartTime && this.endTime >= possibleConflictingStartTime) {
-				throw new ConflictException();
-			}
-			else if(this.startTime >= possibleConflictingStartTime && this.startTime <= possibleConflictingEndTime) {
-				throw new ConflictException();
-			}
-
-		}
-		
+		return (this.meetingDaysMask & possibleConflictingActivity.meetingDaysMask) != 0
+				&& this.startTime <= possibleConflictingActivity.endTime
+				&& possibleConflictingActivity.startTime <= this.endTime;
 	}
 	
 	/**
-	 * Checks to see if there are any same days in two given activities.
+	 * Returns the shared days and the overlapping times of two Activities.
 	 * 
-	 * @param a1 is the first activity to be compared against a2
-	 * @param a2 is the second activity to be compared against a1
+	 * @param possibleConflictingActivity is the activity which is checked for time conflicts
 	 * 
-	 * @return true if two activities have any day in common, and false if they don't
+	 * @return the overlapping window, or null if there is no time conflict between the two activities.
 	 */
-	private boolean containsSameDays(Activity a1, Activity a2) {
-		
-		String meetingStringOne = a1.getMeetingString().split(" ")[0];
-		String meetingStringTwo = a2.getMeetingString().split(" ")[0];
+	@Override
+	public ConflictWindow getConflictWindow(Activity possibleConflictingActivity) {
 		
-		if(meetingStringOne.indexOf('M') != -1 && meetingStringTwo.indexOf('M') != -1) {
-			return true;
+		if (!conflictsWith(possibleConflictingActivity)) {
+			return null;
 		}
 		
-		if(meetingStringOne.indexOf('T') != -1 && meetingStringTwo.indexOf('T') != -1) {
-			return true;
-		}
+		return new ConflictWindow(this.meetingDaysMask & possibleConflictingActivity.meetingDaysMask,
+				Math.max(this.startTime, possibleConflictingActivity.startTime),
+				Math.min(this.endTime, possibleConflictingActivity.endTime));
+	}
+	
+	/**
+	 * Returns every activity in the given activities that has a time conflict with this Activity.
+	 * 
+	 * @param activities are the activities which are checked for time conflicts
+	 * 
+	 * @return the conflicting activities in iteration order
+	 */
+	@Override
+	public ArrayList<Activity> getConflictingActivities(Collection<? extends Activity> activities) {
 		
-		if(meetingStringOne.indexOf('W') != -1 && meetingStringTwo.indexOf('W') != -1) {
-			return true;
-		}
+		ArrayList<Activity> conflicts = new ArrayList<Activity>();
 		
-		if(meetingStringOne.indexOf('H') != -1 && meetingStringTwo.indexOf('H') != -1) {
-			return true;
+		for (Activity a : activities) {
+			if (conflictsWith(a)) {
+				conflicts.add(a);
+			}
 		}
 		
-		if(meetingStringOne.indexOf('F') != -1 && meetingStringTwo.indexOf('F') != -1) {
-			return true;
-		}
+		return conflicts;
+	}
+
+	/**
+	 * Checks to see if there is a time conflict between two Activities. Throws a ConflictException
+	 * if start and end time boundaries on any same day conflict, or if the two times overlapping.
+	 * 
+	 * @param possibleConflictingActivity is the activity which is checked for time conflicts
+	 * 
+	 * @throws ConflictException if there is a time conflict between the two activities.
+	 */
+	@Override
+	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
 		
-		if(meetingStringOne.indexOf('S') != -1 && meetingStringTwo.indexOf('S') != -1) {
-			return true;
+		if (conflictsWith(possibleConflictingActivity)) {
+			throw new ConflictException();
 		}
 		
-		return meetingStringOne.indexOf('U') != -1 && meetingStringTwo.indexOf('U') != -1;
-		
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,190 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import java.util.function.Function;
+
+/**
+ * CatalogFilter selects rows of a CourseCatalog by name, instructor, department, course number,
+ * credits, arranged meetings, and meeting times, and combines those conditions with and, or,
+ * and not. Each condition is answered from an index of sorted row lists kept by the catalog,
+ * and combining conditions merges their sorted rows, so a filter never looks at the courses
+ * themselves and a rare condition costs little even in a large catalog. For example, the CSC
+ * courses worth 3 credits that are not arranged and are taught by jdyoung2 are
+ *
+ * <pre>
+ * CatalogFilter.department("CSC").and(CatalogFilter.credits(3))
+ *         .and(CatalogFilter.arranged().not()).and(CatalogFilter.instructor("jdyoung2"))
+ * </pre>
+ *
+ * Filters are immutable and can be reused with any catalog.
+ *
+ * @author msabrams
+ */
+public final class CatalogFilter {
+
+	/** Computes a new array of the matching rows of a catalog in ascending order */
+	private final Function<CourseCatalog, int[]> rows;
+
+	/**
+	 * Creates a CatalogFilter that matches the rows computed by the given function.
+	 *
+	 * @param rows computes a new array of the matching rows of a catalog in ascending order
+	 */
+	private CatalogFilter(Function<CourseCatalog, int[]> rows) {
+		this.rows = rows;
+	}
+
+	/**
+	 * Returns a filter that matches every course.
+	 *
+	 * @return the filter
+	 */
+	public static CatalogFilter all() {
+		return new CatalogFilter(catalog -> catalog.allRows());
+	}
+
+	/**
+	 * Returns a filter that matches the courses taught by the given instructor.
+	 *
+	 * @param instructorId is the instructor id
+	 *
+	 * @return the filter
+	 */
+	public static CatalogFilter instructor(String instructorId) {
+		return new CatalogFilter(catalog -> catalog.rowsWithInstructor(instructorId));
+	}
+
+	/**
+	 * Returns a filter that matches the sections of the course with the given name.
+	 *
+	 * @param name is the course name, such as CSC 216
+	 *
+	 * @return the filter
+	 */
+	public static CatalogFilter name(String name) {
+		return new CatalogFilter(catalog -> catalog.rowsWithName(name));
+	}
+
+	/**
+	 * Returns a filter that matches the courses in the given department, which is the part
+	 * of the course name before the space, such as CSC.
+	 *
+	 * @param department is the department
+	 *
+	 * @return the filter
+	 */
+	public static CatalogFilter department(String department) {
+		return new CatalogFilter(catalog -> catalog.rowsWithDepartment(department));
+	}
+
+	/**
+	 * Returns a filter that matches the courses with the given course number, which is the
+	 * part of the course name after the space, such as 216.
+	 *
+	 * @param courseNumber is the course number
+	 *
+	 * @return the filter
+	 */
+	public static CatalogFilter courseNumber(String courseNumber) {
+		return new CatalogFilter(catalog -> catalog.rowsWithCourseNumber(courseNumber));
+	}
+
+	/**
+	 * Returns a filter that matches the courses worth the given number of credits.
+	 *
+	 * @param credits is the number of credits
+	 *
+	 * @return the filter
+	 */
+	public static CatalogFilter credits(int credits) {
+		return new CatalogFilter(catalog -> catalog.rowsWithCredits(credits));
+	}
+
+	/**
+	 * Returns a filter that matches the arranged courses, which have no meeting days.
+	 *
+	 * @return the filter
+	 */
+	public static CatalogFilter arranged() {
+		return new CatalogFilter(catalog -> catalog.arrangedRows());
+	}
+
+	/**
+	 * Returns a filter that matches the courses that meet on every one of the given days and
+	 * start or end between fromTime and toTime, inclusive. The meeting days and times are
+	 * checked when the filter is used.
+	 *
+	 * @param meetingDays are the days the courses must meet on
+	 * @param fromTime is the earliest start or end time
+	 * @param toTime is the latest start or end time
+	 *
+	 * @return the filter
+	 */
+	public static CatalogFilter meeting(String meetingDays, int fromTime, int toTime) {
+		return new CatalogFilter(catalog -> catalog.findByMeeting(meetingDays, fromTime, toTime));
+	}
+
+	/**
+	 * Returns a filter that matches the courses matched by both this filter and the other.
+	 *
+	 * @param other is the other filter
+	 *
+	 * @return the filter
+	 *
+	 * @throws IllegalArgumentException if other is null
+	 */
+	public CatalogFilter and(CatalogFilter other) {
+		checkFilter(other);
+		return new CatalogFilter(catalog -> {
+			int[] matching = rows(catalog);
+			return matching.length == 0 ? matching : RowList.intersect(matching, other.rows(catalog));
+		});
+	}
+
+	/**
+	 * Returns a filter that matches the courses matched by this filter, the other, or both.
+	 *
+	 * @param other is the other filter
+	 *
+	 * @return the filter
+	 *
+	 * @throws IllegalArgumentException if other is null
+	 */
+	public CatalogFilter or(CatalogFilter other) {
+		checkFilter(other);
+		return new CatalogFilter(catalog -> RowList.union(rows(catalog), other.rows(catalog)));
+	}
+
+	/**
+	 * Returns a filter that matches the courses not matched by this filter.
+	 *
+	 * @return the filter
+	 */
+	public CatalogFilter not() {
+		return new CatalogFilter(catalog -> RowList.complement(rows(catalog), catalog.size()));
+	}
+
+	/**
+	 * Returns the rows of the given catalog that match this filter.
+	 *
+	 * @param catalog is the catalog to filter
+	 *
+	 * @return a new array of the matching rows in ascending order
+	 */
+	int[] rows(CourseCatalog catalog) {
+		return rows.apply(catalog);
+	}
+
+	/**
+	 * Checks that a filter to combine with is not null.
+	 *
+	 * @param other is the filter to check
+	 *
+	 * @throws IllegalArgumentException if other is null
+	 */
+	private static void checkFilter(CatalogFilter other) {
+		if (other == null) {
+			throw new IllegalArgumentException("Invalid filter.");
+		}
+	}
+
+}
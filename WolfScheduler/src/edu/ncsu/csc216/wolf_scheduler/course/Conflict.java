@@ -3,6 +3,9 @@
  */
 package edu.ncsu.csc216.wolf_scheduler.course;
 
+import java.util.ArrayList;
+import java.util.Collection;
+
 /**
  * 
  * Conflict interface checks to see if two activities have conflicting times.
@@ -12,6 +15,33 @@ package edu.ncsu.csc216.wolf_scheduler.course;
  */
 public interface Conflict {
 
+	/**
+	 * Checks to see if two activities have conflicting times without throwing an exception.
+	 * 
+	 * @param possibleConflictingActivity is the activity which is checked for conflicting times.
+	 * 
+	 * @return true if there is a conflicting time between the two activities.
+	 */
+	boolean conflictsWith(Activity possibleConflictingActivity);
+	
+	/**
+	 * Returns the days and times where two activities overlap.
+	 * 
+	 * @param possibleConflictingActivity is the activity which is checked for conflicting times.
+	 * 
+	 * @return the overlapping window of the two activities, or null if they do not conflict.
+	 */
+	ConflictWindow getConflictWindow(Activity possibleConflictingActivity);
+	
+	/**
+	 * Returns every activity in the given activities that has a conflicting time with this activity.
+	 * 
+	 * @param activities are the activities which are checked for conflicting times.
+	 * 
+	 * @return the conflicting activities in iteration order, or an empty list if there are none.
+	 */
+	ArrayList<Activity> getConflictingActivities(Collection<? extends Activity> activities);
+
 	/**
 	 * Checks to see if two activities have conflicting times
 	 * 
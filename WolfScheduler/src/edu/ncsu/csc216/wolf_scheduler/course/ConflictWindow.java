@@ -0,0 +1,81 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+/**
+ *
+ * ConflictWindow describes when two conflicting activities overlap. Holds the days both
+ * activities meet on, and the start and end time of the overlapping part of their meeting times.
+ *
+ * @author msabrams
+ *
+ */
+public class ConflictWindow {
+
+	/** Days that both activities meet on, as a meeting days bit mask */
+	private int meetingDaysMask;
+	/** Start time of the overlap */
+	private int startTime;
+	/** End time of the overlap */
+	private int endTime;
+
+	/**
+	 * Creates a ConflictWindow with the given shared days and overlapping times.
+	 *
+	 * @param meetingDaysMask is the bit mask of the days both activities meet on
+	 * @param startTime is the start time of the overlap
+	 * @param endTime is the end time of the overlap
+	 */
+	public ConflictWindow(int meetingDaysMask, int startTime, int endTime) {
+		this.meetingDaysMask = meetingDaysMask;
+		this.startTime = startTime;
+		this.endTime = endTime;
+	}
+
+	/**
+	 * Returns the days both activities meet on as a bit mask
+	 *
+	 * @return the meetingDaysMask
+	 */
+	public int getMeetingDaysMask() {
+		return meetingDaysMask;
+	}
+
+	/**
+	 * Returns the days both activities meet on, in MTWHFSU order
+	 *
+	 * @return the meeting days of the overlap
+	 */
+	public String getMeetingDays() {
+
+		StringBuilder days = new StringBuilder();
+
+		for (int i = 0; i < Activity.WEEKDAYS.length(); i++) {
+			if ((meetingDaysMask & (1 << i)) != 0) {
+				days.append(Activity.WEEKDAYS.charAt(i));
+			}
+		}
+
+		return days.toString();
+	}
+
+	/**
+	 * Returns the start time of the overlap
+	 *
+	 * @return the startTime
+	 */
+	public int getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Returns the end time of the overlap
+	 *
+	 * @return the endTime
+	 */
+	public int getEndTime() {
+		return endTime;
+	}
+
+}
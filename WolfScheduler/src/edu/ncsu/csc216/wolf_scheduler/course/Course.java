@@ -35,6 +35,12 @@ public class Course extends Activity {
 	/** Maximum credits for a course */
 	static final int MAX_CREDITS = 5;
 	
+	/** Capacity of a section without a seat limit */
+	public static final int UNLIMITED_SEATS = Integer.MAX_VALUE;
+	
+	/** Separator between the capacity and enrolled count in a course record's seats column */
+	public static final char SEATS_SEPARATOR = '/';
+	
 	/** Short display count is the number of items in a short display array for a course object */
 	static final int SHORT_DISPLAY_COUNT = 4;
 	
@@ -87,6 +93,21 @@ public class Course extends Activity {
 	/** Course's instructor id */
 	private String instructorId;
 
+	/** Course's number of seats, or UNLIMITED_SEATS if the section has no seat limit */
+	private int capacity;
+
+	/** Course's number of enrolled students when the course was loaded */
+	private int enrolled;
+
+	/** Cached short display array, or null if it has not been built since the last change */
+	private String[] shortDisplayArray;
+
+	/** Cached long display array, or null if it has not been built since the last change */
+	private String[] longDisplayArray;
+
+	/** Cached string representation, or null if it has not been built since the last change */
+	private String recordString;
+
 
 	
 	
@@ -143,17 +164,38 @@ public class Course extends Activity {
 	}
 
 	/**
-	 * Returns a comma separated value String of all Course fields.
+	 * Returns a comma separated value String of all Course fields. A course with a seat limit
+	 * ends with its capacity and enrolled count. The String is built once and reused until a
+	 * field changes.
 	 * 
 	 * @return String representation of Course
 	 */
 	@Override
 	public String toString() {
-		if ("A".equals(getMeetingDays())) {
-			return name + "," + getTitle() + "," + section + "," + credits + "," + instructorId + "," + getMeetingDays();
+		if (recordString == null) {
+			if ("A".equals(getMeetingDays())) {
+				recordString = name + "," + getTitle() + "," + section + "," + credits + "," + instructorId + "," + getMeetingDays();
+			} else {
+				recordString = name + "," + getTitle() + "," + section + "," + credits + "," + instructorId + "," + getMeetingDays() + ","
+						+ getStartTime() + "," + getEndTime();
+			}
+			if (capacity != UNLIMITED_SEATS) {
+				recordString += "," + capacity + SEATS_SEPARATOR + enrolled;
+			}
 		}
-		return name + "," + getTitle() + "," + section + "," + credits + "," + instructorId + "," + getMeetingDays() + ","
-				+ getStartTime() + "," + getEndTime();
+		return recordString;
+	}
+
+	/**
+	 * Discards the cached display arrays and string representation along with the
+	 * cached meeting string.
+	 */
+	@Override
+	protected void clearCachedValues() {
+		super.clearCachedValues();
+		this.shortDisplayArray = null;
+		this.longDisplayArray = null;
+		this.recordString = null;
 	}
 
 	/**
@@ -207,7 +249,75 @@ public class Course extends Activity {
 		setSection(section);
 		setCredits(credits);
 		setInstructorId(instructorId);
+		this.capacity = UNLIMITED_SEATS;
+		this.enrolled = 0;
+
+	}
 
+	/**
+	 * Creates a Course from values that were validated when they were first set, such as a
+	 * row of a CourseCatalog. No setters run, so nothing is checked or recomputed.
+	 * 
+	 * @param name            is the name for the course
+	 * @param title           is the title of the course
+	 * @param section         is the section of the course
+	 * @param credits         is the credits of the course
+	 * @param instructorId    is the instructor's id who teaches the course
+	 * @param meetingDays     is the meeting days for the course
+	 * @param startTime       is the time when the course starts
+	 * @param endTime         is the time when the course ends
+	 * @param meetingDaysMask is the bit mask of the meeting days
+	 * @param meetingString   is the meeting string built from the meeting days and times
+	 * @param capacity        is the number of seats, or UNLIMITED_SEATS
+	 * @param enrolled        is the number of enrolled students
+	 */
+	Course(String name, String title, String section, int credits, String instructorId, String meetingDays,
+			int startTime, int endTime, int meetingDaysMask, String meetingString, int capacity, int enrolled) {
+		super(title, meetingDays, startTime, endTime, meetingDaysMask, meetingString);
+		this.name = name;
+		this.section = section;
+		this.credits = credits;
+		this.instructorId = instructorId;
+		this.capacity = capacity;
+		this.enrolled = enrolled;
+	}
+
+	/**
+	 * Returns a copy of this Course that holds the given instances of its string fields, so a
+	 * reader can share one instance between equal values across many courses. Each string must
+	 * equal the course's current value, so the copy is built without running the setters.
+	 * 
+	 * @param name         is an instance of the course's name
+	 * @param title        is an instance of the course's title
+	 * @param section      is an instance of the course's section
+	 * @param instructorId is an instance of the course's instructor id
+	 * @param meetingDays  is an instance of the course's meeting days
+	 * 
+	 * @return a copy of the course holding the given strings
+	 * 
+	 * @throws IllegalArgumentException if a string does not equal the course's value
+	 */
+	public Course withSharedStrings(String name, String title, String section, String instructorId,
+			String meetingDays) {
+		
+		if (!this.name.equals(name) || !getTitle().equals(title) || !this.section.equals(section)
+				|| !this.instructorId.equals(instructorId) || !getMeetingDays().equals(meetingDays)) {
+			throw new IllegalArgumentException("Shared strings must equal the course's values.");
+		}
+		
+		return new Course(name, title, section, credits, instructorId, meetingDays, getStartTime(), getEndTime(),
+				getMeetingDaysMask(), getMeetingString(), capacity, enrolled);
+	}
+
+	/**
+	 * Returns a copy of the Course with the same fields and seats.
+	 * 
+	 * @return a copy of the course
+	 */
+	@Override
+	public Course copy() {
+		return new Course(name, getTitle(), section, credits, instructorId, getMeetingDays(), getStartTime(),
+				getEndTime(), getMeetingDaysMask(), getMeetingString(), capacity, enrolled);
 	}
 
 	/**
@@ -275,6 +385,7 @@ public class Course extends Activity {
 		}
 
 		this.name = name;
+		clearCachedValues();
 
 	}
 
@@ -312,6 +423,7 @@ public class Course extends Activity {
 		}
 
 		this.section = section;
+		clearCachedValues();
 	}
 
 	/**
@@ -339,6 +451,7 @@ public class Course extends Activity {
 		}
 
 		this.credits = credits;
+		clearCachedValues();
 	}
 
 	/**
@@ -367,17 +480,62 @@ public class Course extends Activity {
 		}
 
 		this.instructorId = instructorId;
+		clearCachedValues();
+	}
+
+	/**
+	 * Returns the Course's number of seats.
+	 * 
+	 * @return the capacity, or UNLIMITED_SEATS if the section has no seat limit
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the Course's number of enrolled students when it was loaded.
+	 * 
+	 * @return the enrolled count
+	 */
+	public int getEnrolled() {
+		return enrolled;
+	}
+
+	/**
+	 * Sets the Course's number of seats and enrolled students. A capacity of UNLIMITED_SEATS
+	 * removes the seat limit. Seats are not compared by equals, since the enrolled count
+	 * changes while the course stays the same section.
+	 * 
+	 * @param capacity is the number of seats
+	 * @param enrolled is the number of enrolled students
+	 * 
+	 * @throws IllegalArgumentException if capacity is negative, or enrolled is negative or
+	 * greater than capacity
+	 */
+	public void setSeats(int capacity, int enrolled) {
+
+		if (capacity < 0 || enrolled < 0 || enrolled > capacity) {
+			throw new IllegalArgumentException("Invalid seats.");
+		}
+
+		this.capacity = capacity;
+		this.enrolled = enrolled;
+		clearCachedValues();
 	}
 
 	/**
 	 * Returns a short display array of a Course's name, section, title, and meeting string.
-	 * Implemented as a required method for the abstract Activities class.
+	 * Implemented as a required method for the abstract Activities class. The array is built
+	 * once and kept until a field changes; each caller gets its own copy.
 	 * 
 	 * @return a short display array of a course object
 	 */
 	@Override
 	public String[] getShortDisplayArray() {
 		
+		if (shortDisplayArray != null) {
+			return shortDisplayArray.clone();
+		}
 		
 		String[] shortDisplayCourse = new String[SHORT_DISPLAY_COUNT];
 		
@@ -389,20 +547,26 @@ public class Course extends Activity {
 		
 		shortDisplayCourse[SHORT_DISPLAY_MEETING_STRING_INDEX] = getMeetingString();
 		
+		shortDisplayArray = shortDisplayCourse;
 		
-		return shortDisplayCourse;
+		return shortDisplayCourse.clone();
 	}
 
 	/**
 	 * Returns a long display array of a Course's name, section, title, meeting string,
 	 * credits, and instructor id. Implemented as a required method for the abstract 
-	 * Activities class. Example: [CSC, 116, Introduction to Java, 3, msabrams, MW 10:00AM-12:00AM, ""]
+	 * Activities class. The array is built once and kept until a field changes; each caller
+	 * gets its own copy. Example: [CSC, 116, Introduction to Java, 3, msabrams, MW 10:00AM-12:00AM, ""]
 	 * 
 	 * @return a long display array of a course object
 	 */
 	@Override
 	public String[] getLongDisplayArray() {
 		
+		if (longDisplayArray != null) {
+			return longDisplayArray.clone();
+		}
+		
 		String[] longDisplayCourse = new String[LONG_DISPLAY_COUNT];
 		
 		longDisplayCourse[LONG_DISPLAY_NAME_INDEX] = this.name;
@@ -413,7 +577,9 @@ public class Course extends Activity {
 		longDisplayCourse[LONG_DISPLAY_MEETING_STRING_INDEX] = getMeetingString();
 		longDisplayCourse[LONG_DISPLAY_EMPTY_STRING_INDEX] = "";
 		
-		return longDisplayCourse;
+		longDisplayArray = longDisplayCourse;
+		
+		return longDisplayCourse.clone();
 	}
 	
 	/**
@@ -0,0 +1,1058 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * CourseCatalog stores a catalog of courses as columns instead of as Course objects. Credits,
+ * start and end times, and meeting day masks are kept in primitive arrays, and names, titles,
+ * sections, instructor ids, meeting days, and meeting strings are kept as indexes into a table
+ * of interned strings, so a value repeated across many sections is stored once. Each course is
+ * a row, and rows keep the order they were added in. Course objects are only created when a
+ * row is requested with getCourse, and each request creates a new Course.
+ *
+ * A catalog can be frozen once it is loaded. A frozen catalog cannot be changed and builds all
+ * of its indexes when it is frozen, so every method only reads it afterwards, except for the
+ * enrolled counts, which are atomic counters. Once it has been safely published, such as
+ * through a final field or a concurrent collection, a frozen catalog can be shared by any
+ * number of threads without locking.
+ *
+ * @author msabrams
+ *
+ */
+public class CourseCatalog {
+
+	/** Number of rows a new catalog has room for before it grows */
+	static final int DEFAULT_CAPACITY = 16;
+
+	/** Number of items in a short display array */
+	static final int SHORT_DISPLAY_COUNT = 4;
+
+	/** Index of the course's name in a short display array */
+	static final int SHORT_DISPLAY_NAME_INDEX = 0;
+
+	/** Index of the course's section in a short display array */
+	static final int SHORT_DISPLAY_SECTION_INDEX = 1;
+
+	/** Index of the course's title in a short display array */
+	static final int SHORT_DISPLAY_TITLE_INDEX = 2;
+
+	/** Index of the course's meeting string in a short display array */
+	static final int SHORT_DISPLAY_MEETING_STRING_INDEX = 3;
+
+	/** Number of rows in the catalog */
+	private int size;
+
+	/** String table index of each row's name */
+	private int[] names;
+
+	/** String table index of each row's title */
+	private int[] titles;
+
+	/** String table index of each row's section */
+	private int[] sections;
+
+	/** String table index of each row's instructor id */
+	private int[] instructorIds;
+
+	/** String table index of each row's meeting days */
+	private int[] meetingDays;
+
+	/** String table index of each row's meeting string */
+	private int[] meetingStrings;
+
+	/** Credits of each row */
+	private int[] credits;
+
+	/** Start time of each row */
+	private int[] startTimes;
+
+	/** End time of each row */
+	private int[] endTimes;
+
+	/** Meeting days mask of each row */
+	private int[] meetingDaysMasks;
+
+	/** Number of seats of each row, or Course.UNLIMITED_SEATS */
+	private int[] capacities;
+
+	/** Number of enrolled students of each row, reserved and released atomically */
+	private AtomicIntegerArray enrolledCounts;
+
+	/** Distinct strings used by the rows */
+	private ArrayList<String> strings;
+
+	/** Index of each string in the string table */
+	private HashMap<String, Integer> stringIds;
+
+	/**
+	 * Open addressing table of rows keyed by name and section. Each slot holds a row plus one,
+	 * or zero if the slot is empty. The length is always a power of two.
+	 */
+	private int[] rowSlots;
+
+	/** Rows of each instructor id */
+	private HashMap<String, RowList> instructorRows;
+
+	/** Rows of each course name, one per section */
+	private HashMap<String, RowList> nameRows;
+
+	/** Rows of each department, the part of the name before the space */
+	private HashMap<String, RowList> departmentRows;
+
+	/** Rows of each course number, the part of the name after the space */
+	private HashMap<String, RowList> courseNumberRows;
+
+	/** Rows of each number of credits */
+	private HashMap<Integer, RowList> creditRows;
+
+	/** Rows of arranged courses, which have no meeting days */
+	private RowList arrangedRows;
+
+	/** Index of the rows by meeting day and time, built on first use, or null if it must be rebuilt */
+	private MeetingTimeIndex meetingTimeIndex;
+
+	/** True if the catalog can no longer be changed */
+	private boolean frozen;
+
+	/**
+	 * Creates an empty CourseCatalog.
+	 */
+	public CourseCatalog() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty CourseCatalog with room for the given number of rows.
+	 *
+	 * @param initialCapacity is the number of rows to make room for
+	 *
+	 * @throws IllegalArgumentException if initialCapacity is negative
+	 */
+	public CourseCatalog(int initialCapacity) {
+
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Invalid capacity.");
+		}
+
+		int capacity = Math.max(initialCapacity, 1);
+
+		this.names = new int[capacity];
+		this.titles = new int[capacity];
+		this.sections = new int[capacity];
+		this.instructorIds = new int[capacity];
+		this.meetingDays = new int[capacity];
+		this.meetingStrings = new int[capacity];
+		this.credits = new int[capacity];
+		this.startTimes = new int[capacity];
+		this.endTimes = new int[capacity];
+		this.meetingDaysMasks = new int[capacity];
+		this.capacities = new int[capacity];
+		this.enrolledCounts = new AtomicIntegerArray(capacity);
+
+		this.strings = new ArrayList<String>();
+		this.stringIds = new HashMap<String, Integer>();
+
+		this.rowSlots = new int[slotCount(capacity)];
+
+		this.instructorRows = new HashMap<String, RowList>();
+		this.nameRows = new HashMap<String, RowList>();
+		this.departmentRows = new HashMap<String, RowList>();
+		this.courseNumberRows = new HashMap<String, RowList>();
+		this.creditRows = new HashMap<Integer, RowList>();
+		this.arrangedRows = new RowList();
+	}
+
+	/**
+	 * Returns the number of rows in the catalog.
+	 *
+	 * @return the number of rows
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Adds a course to the end of the catalog. A course with the same name and section as a
+	 * row already in the catalog is not added.
+	 *
+	 * @param course is the course to add
+	 *
+	 * @return true if the course was added
+	 *
+	 * @throws IllegalStateException if the catalog is frozen
+	 */
+	public boolean add(Course course) {
+
+		if (frozen) {
+			throw new IllegalStateException("Catalog is frozen.");
+		}
+
+		int name = stringId(course.getName());
+		int section = stringId(course.getSection());
+
+		int slot = findSlot(name, section);
+
+		if (rowSlots[slot] != 0) {
+			return false;
+		}
+
+		if (size == names.length) {
+			grow();
+		}
+
+		int row = size;
+
+		names[row] = name;
+		titles[row] = stringId(course.getTitle());
+		sections[row] = section;
+		instructorIds[row] = stringId(course.getInstructorId());
+		meetingDays[row] = stringId(course.getMeetingDays());
+		meetingStrings[row] = stringId(course.getMeetingString());
+		credits[row] = course.getCredits();
+		startTimes[row] = course.getStartTime();
+		endTimes[row] = course.getEndTime();
+		meetingDaysMasks[row] = course.getMeetingDaysMask();
+		capacities[row] = course.getCapacity();
+		enrolledCounts.set(row, course.getEnrolled());
+
+		size++;
+		meetingTimeIndex = null;
+		indexRow(row);
+
+		if (size * 2 > rowSlots.length) {
+			rehash(rowSlots.length * 2);
+		} else {
+			rowSlots[slot] = row + 1;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Adds courses to the end of the catalog in iteration order, skipping any course with the
+	 * same name and section as a row already in the catalog.
+	 *
+	 * @param courses are the courses to add
+	 *
+	 * @return the number of courses added
+	 *
+	 * @throws IllegalStateException if the catalog is frozen
+	 */
+	public int addAll(Collection<? extends Course> courses) {
+
+		if (frozen) {
+			throw new IllegalStateException("Catalog is frozen.");
+		}
+
+		int added = 0;
+
+		for (Course c : courses) {
+			if (add(c)) {
+				added++;
+			}
+		}
+
+		return added;
+	}
+
+	/**
+	 * Freezes the catalog so it can no longer be changed and can be shared between threads.
+	 * The columns are trimmed to the number of rows and the meeting time index is built, so
+	 * no later call writes to the catalog. Freezing a frozen catalog does nothing.
+	 *
+	 * @return this catalog
+	 */
+	public CourseCatalog freeze() {
+
+		if (frozen) {
+			return this;
+		}
+
+		names = Arrays.copyOf(names, size);
+		titles = Arrays.copyOf(titles, size);
+		sections = Arrays.copyOf(sections, size);
+		instructorIds = Arrays.copyOf(instructorIds, size);
+		meetingDays = Arrays.copyOf(meetingDays, size);
+		meetingStrings = Arrays.copyOf(meetingStrings, size);
+		credits = Arrays.copyOf(credits, size);
+		startTimes = Arrays.copyOf(startTimes, size);
+		endTimes = Arrays.copyOf(endTimes, size);
+		meetingDaysMasks = Arrays.copyOf(meetingDaysMasks, size);
+		capacities = Arrays.copyOf(capacities, size);
+		enrolledCounts = copyOf(enrolledCounts, size);
+		strings.trimToSize();
+		trimRows(instructorRows);
+		trimRows(nameRows);
+		trimRows(departmentRows);
+		trimRows(courseNumberRows);
+		trimRows(creditRows);
+		arrangedRows.trimToSize();
+
+		meetingTimeIndex = new MeetingTimeIndex(size, startTimes, endTimes, meetingDaysMasks);
+		frozen = true;
+
+		return this;
+	}
+
+	/**
+	 * Checks to see if the catalog is frozen.
+	 *
+	 * @return true if the catalog can no longer be changed
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Returns the row of the course with the given name and section.
+	 *
+	 * @param name is the name of the course
+	 * @param section is the section of the course
+	 *
+	 * @return the row of the course, or -1 if the catalog has no such course
+	 */
+	public int indexOf(String name, String section) {
+
+		Integer nameId = stringIds.get(name);
+		Integer sectionId = stringIds.get(section);
+
+		if (nameId == null || sectionId == null) {
+			return -1;
+		}
+
+		return rowSlots[findSlot(nameId, sectionId)] - 1;
+	}
+
+	/**
+	 * Returns the rows of every section of the course with the given name. Only the rows of
+	 * that name are visited, so the call costs the same however large the catalog is.
+	 *
+	 * @param name is the name of the course
+	 *
+	 * @return the rows of the course's sections in ascending order, or an empty array if the
+	 *         catalog has no course with the name
+	 */
+	public int[] indexesOf(String name) {
+
+		return RowList.toArray(nameRows.get(name));
+	}
+
+	/**
+	 * Creates a Course for the given row. The row's values were validated when the row was
+	 * added, so the course is built directly from the columns without running its setters.
+	 * The course's enrolled count is the row's count at the time of the call.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return a new Course with the row's values
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public Course getCourse(int row) {
+
+		checkRow(row);
+
+		int capacity = capacities[row];
+
+		return new Course(strings.get(names[row]), strings.get(titles[row]), strings.get(sections[row]),
+				credits[row], strings.get(instructorIds[row]), strings.get(meetingDays[row]), startTimes[row],
+				endTimes[row], meetingDaysMasks[row], strings.get(meetingStrings[row]), capacity,
+				capacity == Course.UNLIMITED_SEATS ? 0 : enrolledCounts.get(row));
+	}
+
+	/**
+	 * Creates a Course for the row with the given name and section.
+	 *
+	 * @param name is the name of the course
+	 * @param section is the section of the course
+	 *
+	 * @return a new Course with the row's values, or null if the catalog has no such course
+	 */
+	public Course getCourse(String name, String section) {
+
+		int row = indexOf(name, section);
+
+		return row == -1 ? null : getCourse(row);
+	}
+
+	/**
+	 * Returns the name of the course in the given row.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the name
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public String getName(int row) {
+		checkRow(row);
+		return strings.get(names[row]);
+	}
+
+	/**
+	 * Returns the title of the course in the given row.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the title
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public String getTitle(int row) {
+		checkRow(row);
+		return strings.get(titles[row]);
+	}
+
+	/**
+	 * Returns the section of the course in the given row.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the section
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public String getSection(int row) {
+		checkRow(row);
+		return strings.get(sections[row]);
+	}
+
+	/**
+	 * Returns the instructor id of the course in the given row.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the instructor id
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public String getInstructorId(int row) {
+		checkRow(row);
+		return strings.get(instructorIds[row]);
+	}
+
+	/**
+	 * Returns the meeting days of the course in the given row.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the meeting days
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public String getMeetingDays(int row) {
+		checkRow(row);
+		return strings.get(meetingDays[row]);
+	}
+
+	/**
+	 * Returns the meeting string of the course in the given row.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the meeting string
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public String getMeetingString(int row) {
+		checkRow(row);
+		return strings.get(meetingStrings[row]);
+	}
+
+	/**
+	 * Returns the credits of the course in the given row.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the credits
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public int getCredits(int row) {
+		checkRow(row);
+		return credits[row];
+	}
+
+	/**
+	 * Returns the start time of the course in the given row.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the start time
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public int getStartTime(int row) {
+		checkRow(row);
+		return startTimes[row];
+	}
+
+	/**
+	 * Returns the end time of the course in the given row.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the end time
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public int getEndTime(int row) {
+		checkRow(row);
+		return endTimes[row];
+	}
+
+	/**
+	 * Returns the meeting days mask of the course in the given row.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the meeting days mask
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public int getMeetingDaysMask(int row) {
+		checkRow(row);
+		return meetingDaysMasks[row];
+	}
+
+	/**
+	 * Returns the number of seats of the course in the given row.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the capacity, or Course.UNLIMITED_SEATS if the course has no seat limit
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public int getCapacity(int row) {
+		checkRow(row);
+		return capacities[row];
+	}
+
+	/**
+	 * Returns the number of enrolled students of the course in the given row, including the
+	 * seats reserved since the catalog was loaded.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return the enrolled count
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public int getEnrolled(int row) {
+		checkRow(row);
+		return enrolledCounts.get(row);
+	}
+
+	/**
+	 * Checks to see if the course in the given row has a seat that is not taken.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return true if the enrolled count is less than the capacity
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public boolean hasOpenSeat(int row) {
+		checkRow(row);
+		return enrolledCounts.get(row) < capacities[row];
+	}
+
+	/**
+	 * Reserves a seat in the course in the given row if one is open. The enrolled count is
+	 * changed with compare and set, so any number of threads can reserve seats of the same
+	 * row at once, even in a frozen catalog, and the count never passes the capacity.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return true if a seat was reserved, or false if the course is full
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public boolean reserveSeat(int row) {
+
+		checkRow(row);
+
+		int capacity = capacities[row];
+
+		while (true) {
+
+			int current = enrolledCounts.get(row);
+
+			if (current >= capacity) {
+				return false;
+			}
+
+			if (enrolledCounts.compareAndSet(row, current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Releases a seat reserved in the course in the given row. The enrolled count never drops
+	 * below zero.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public void releaseSeat(int row) {
+
+		checkRow(row);
+
+		while (true) {
+
+			int current = enrolledCounts.get(row);
+
+			if (current == 0 || enrolledCounts.compareAndSet(row, current, current - 1)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns a short display array of the name, section, title, and meeting string of the
+	 * course in the given row, without creating a Course. The array is the same as the
+	 * course's own short display array.
+	 *
+	 * @param row is the row of the course
+	 *
+	 * @return a new short display array
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public String[] getShortDisplayArray(int row) {
+
+		checkRow(row);
+
+		String[] shortDisplay = new String[SHORT_DISPLAY_COUNT];
+
+		shortDisplay[SHORT_DISPLAY_NAME_INDEX] = strings.get(names[row]);
+		shortDisplay[SHORT_DISPLAY_SECTION_INDEX] = strings.get(sections[row]);
+		shortDisplay[SHORT_DISPLAY_TITLE_INDEX] = strings.get(titles[row]);
+		shortDisplay[SHORT_DISPLAY_MEETING_STRING_INDEX] = strings.get(meetingStrings[row]);
+
+		return shortDisplay;
+	}
+
+	/**
+	 * Returns the rows of the courses that meet on every one of the given days and start or
+	 * end between fromTime and toTime, inclusive. For example, meeting days of "TH" with times
+	 * 900 and 1300 returns the sections meeting on both Tuesday and Thursday that start or end
+	 * between 9:00AM and 1:00PM. Arranged courses never match. The rows are found through an
+	 * index of start and end times for each day, which is built by the first search after the
+	 * catalog changes.
+	 *
+	 * @param meetingDays are the days the courses must meet on, from MTWHFSU
+	 * @param fromTime is the earliest start or end time, in military time
+	 * @param toTime is the latest start or end time, in military time
+	 *
+	 * @return the matching rows in ascending order
+	 *
+	 * @throws IllegalArgumentException if meetingDays is null, empty, or has a character
+	 * that is not a weekday, or if either time is invalid or fromTime is after toTime
+	 */
+	public int[] findByMeeting(String meetingDays, int fromTime, int toTime) {
+
+		if (meetingDays == null || meetingDays.isEmpty()) {
+			throw new IllegalArgumentException("Invalid meeting days.");
+		}
+
+		for (int i = 0; i < meetingDays.length(); i++) {
+			if (Activity.WEEKDAYS.indexOf(meetingDays.charAt(i)) == -1) {
+				throw new IllegalArgumentException("Invalid meeting days.");
+			}
+		}
+
+		if (!isValidTime(fromTime) || !isValidTime(toTime) || fromTime > toTime) {
+			throw new IllegalArgumentException("Invalid time range.");
+		}
+
+		return meetingTimeIndex().find(Activity.meetingDaysToMask(meetingDays), fromTime, toTime);
+	}
+
+	/**
+	 * Returns the rows of the courses that have a time conflict with the given activity, which
+	 * are the courses that meet on one of its days at a time that touches or overlaps its
+	 * time. Arranged courses and arranged activities never conflict.
+	 *
+	 * @param activity is the activity to check for conflicts
+	 *
+	 * @return the conflicting rows in ascending order
+	 */
+	public int[] findConflicts(Activity activity) {
+		return conflictingRows(activity).stream().toArray();
+	}
+
+	/**
+	 * Returns the rows of the courses that have a time conflict with the given activity.
+	 *
+	 * @param activity is the activity to check for conflicts
+	 *
+	 * @return a new set of the rows
+	 */
+	BitSet conflictingRows(Activity activity) {
+
+		if (activity.getMeetingDaysMask() == 0) {
+			return new BitSet();
+		}
+
+		return meetingTimeIndex().overlapping(activity.getMeetingDaysMask(), activity.getStartTime(),
+				activity.getEndTime());
+	}
+
+	/**
+	 * Returns the index of the rows by meeting day and time, building it if rows were added
+	 * since it was last built.
+	 *
+	 * @return the index
+	 */
+	private MeetingTimeIndex meetingTimeIndex() {
+
+		if (meetingTimeIndex == null) {
+			meetingTimeIndex = new MeetingTimeIndex(size, startTimes, endTimes, meetingDaysMasks);
+		}
+
+		return meetingTimeIndex;
+	}
+
+	/**
+	 * Returns the rows of the courses that match the given filter.
+	 *
+	 * @param filter is the filter to match
+	 *
+	 * @return the matching rows in ascending order
+	 *
+	 * @throws IllegalArgumentException if filter is null
+	 */
+	public int[] filter(CatalogFilter filter) {
+
+		if (filter == null) {
+			throw new IllegalArgumentException("Invalid filter.");
+		}
+
+		return filter.rows(this);
+	}
+
+	/**
+	 * Returns the rows of the courses taught by the given instructor.
+	 *
+	 * @param instructorId is the instructor id
+	 *
+	 * @return a new array of the rows in ascending order
+	 */
+	int[] rowsWithInstructor(String instructorId) {
+		return RowList.toArray(instructorRows.get(instructorId));
+	}
+
+	/**
+	 * Returns the rows of the courses with the given name, such as CSC 216.
+	 *
+	 * @param name is the course name
+	 *
+	 * @return a new array of the rows in ascending order
+	 */
+	int[] rowsWithName(String name) {
+		return RowList.toArray(nameRows.get(name));
+	}
+
+	/**
+	 * Returns the rows of the courses in the given department, such as CSC.
+	 *
+	 * @param department is the department
+	 *
+	 * @return a new array of the rows in ascending order
+	 */
+	int[] rowsWithDepartment(String department) {
+		return RowList.toArray(departmentRows.get(department));
+	}
+
+	/**
+	 * Returns the rows of the courses with the given course number, such as 216.
+	 *
+	 * @param courseNumber is the course number
+	 *
+	 * @return a new array of the rows in ascending order
+	 */
+	int[] rowsWithCourseNumber(String courseNumber) {
+		return RowList.toArray(courseNumberRows.get(courseNumber));
+	}
+
+	/**
+	 * Returns the rows of the courses with the given number of credits.
+	 *
+	 * @param credits is the number of credits
+	 *
+	 * @return a new array of the rows in ascending order
+	 */
+	int[] rowsWithCredits(int credits) {
+		return RowList.toArray(creditRows.get(credits));
+	}
+
+	/**
+	 * Returns the rows of the arranged courses.
+	 *
+	 * @return a new array of the rows in ascending order
+	 */
+	int[] arrangedRows() {
+		return arrangedRows.toArray();
+	}
+
+	/**
+	 * Returns every row of the catalog.
+	 *
+	 * @return a new array of the rows in ascending order
+	 */
+	int[] allRows() {
+		return RowList.range(size);
+	}
+
+	/**
+	 * Adds the given row to the instructor, department, course number, credit, and arranged
+	 * indexes.
+	 *
+	 * @param row is the row to index
+	 */
+	private void indexRow(int row) {
+
+		String name = strings.get(names[row]);
+
+		rowsOf(instructorRows, strings.get(instructorIds[row])).add(row);
+		rowsOf(nameRows, name).add(row);
+		rowsOf(departmentRows, department(name)).add(row);
+		rowsOf(courseNumberRows, courseNumber(name)).add(row);
+		rowsOf(creditRows, credits[row]).add(row);
+
+		if (meetingDaysMasks[row] == 0) {
+			arrangedRows.add(row);
+		}
+	}
+
+	/**
+	 * Returns the department of a course name, which is the part before the first space.
+	 *
+	 * @param name is the course name
+	 *
+	 * @return the department
+	 */
+	private static String department(String name) {
+		int space = name.indexOf(' ');
+		return space == -1 ? name : name.substring(0, space);
+	}
+
+	/**
+	 * Returns the course number of a course name, which is the part after the first space.
+	 *
+	 * @param name is the course name
+	 *
+	 * @return the course number, or an empty string if the name has no space
+	 */
+	private static String courseNumber(String name) {
+		int space = name.indexOf(' ');
+		return space == -1 ? "" : name.substring(space + 1);
+	}
+
+	/**
+	 * Returns the rows of the given key in an index, adding an empty list if the key is new.
+	 *
+	 * @param <K> is the type of the index's keys
+	 * @param index is the index
+	 * @param key is the key
+	 *
+	 * @return the rows of the key
+	 */
+	private static <K> RowList rowsOf(HashMap<K, RowList> index, K key) {
+
+		RowList rows = index.get(key);
+
+		if (rows == null) {
+			rows = new RowList();
+			index.put(key, rows);
+		}
+
+		return rows;
+	}
+
+	/**
+	 * Drops the unused room at the end of every list of rows in an index.
+	 *
+	 * @param <K> is the type of the index's keys
+	 * @param index is the index
+	 */
+	private static <K> void trimRows(HashMap<K, RowList> index) {
+		for (RowList rows : index.values()) {
+			rows.trimToSize();
+		}
+	}
+
+	/**
+	 * Checks to see if the given value is a valid military time.
+	 *
+	 * @param time is the time to check
+	 *
+	 * @return true if the hour and minute of the time are in range
+	 */
+	private static boolean isValidTime(int time) {
+		return time >= 0 && time / Activity.MILITARY_DIVIDER < Activity.UPPER_HOUR
+				&& time % Activity.MILITARY_DIVIDER < Activity.UPPER_MINUTES;
+	}
+
+	/**
+	 * Returns the index of the given string in the string table, adding it if it is new.
+	 *
+	 * @param s is the string to intern
+	 *
+	 * @return the string's index
+	 */
+	private int stringId(String s) {
+
+		Integer id = stringIds.get(s);
+
+		if (id == null) {
+			id = strings.size();
+			strings.add(s);
+			stringIds.put(s, id);
+		}
+
+		return id;
+	}
+
+	/**
+	 * Returns the slot that holds the row with the given name and section, or the empty slot
+	 * where that row belongs.
+	 *
+	 * @param name is the string table index of the name
+	 * @param section is the string table index of the section
+	 *
+	 * @return the slot for the name and section
+	 */
+	private int findSlot(int name, int section) {
+
+		int mask = rowSlots.length - 1;
+		int slot = hash(name, section) & mask;
+
+		while (rowSlots[slot] != 0) {
+
+			int row = rowSlots[slot] - 1;
+
+			if (names[row] == name && sections[row] == section) {
+				return slot;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		return slot;
+	}
+
+	/**
+	 * Returns the hash of a name and section.
+	 *
+	 * @param name is the string table index of the name
+	 * @param section is the string table index of the section
+	 *
+	 * @return the hash
+	 */
+	private static int hash(int name, int section) {
+
+		int h = name * 31 + section;
+
+		//Spread the bits so consecutive ids do not fill consecutive slots
+		h *= 0x9E3779B9;
+
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Rebuilds the row table with the given number of slots.
+	 *
+	 * @param slotCount is the new number of slots, a power of two
+	 */
+	private void rehash(int slotCount) {
+
+		rowSlots = new int[slotCount];
+
+		for (int row = 0; row < size; row++) {
+			rowSlots[findSlot(names[row], sections[row])] = row + 1;
+		}
+	}
+
+	/**
+	 * Doubles the room for rows in each column.
+	 */
+	private void grow() {
+
+		int capacity = names.length * 2;
+
+		names = Arrays.copyOf(names, capacity);
+		titles = Arrays.copyOf(titles, capacity);
+		sections = Arrays.copyOf(sections, capacity);
+		instructorIds = Arrays.copyOf(instructorIds, capacity);
+		meetingDays = Arrays.copyOf(meetingDays, capacity);
+		meetingStrings = Arrays.copyOf(meetingStrings, capacity);
+		credits = Arrays.copyOf(credits, capacity);
+		startTimes = Arrays.copyOf(startTimes, capacity);
+		endTimes = Arrays.copyOf(endTimes, capacity);
+		meetingDaysMasks = Arrays.copyOf(meetingDaysMasks, capacity);
+		capacities = Arrays.copyOf(capacities, capacity);
+		enrolledCounts = copyOf(enrolledCounts, capacity);
+	}
+
+	/**
+	 * Copies the given counts into a new array of the given length.
+	 *
+	 * @param counts are the counts to copy
+	 * @param length is the length of the new array
+	 *
+	 * @return the new array
+	 */
+	private static AtomicIntegerArray copyOf(AtomicIntegerArray counts, int length) {
+
+		AtomicIntegerArray copy = new AtomicIntegerArray(length);
+
+		for (int i = 0; i < Math.min(length, counts.length()); i++) {
+			copy.set(i, counts.get(i));
+		}
+
+		return copy;
+	}
+
+	/**
+	 * Returns the number of row table slots needed to hold the given number of rows at a load
+	 * factor of at most one half.
+	 *
+	 * @param rows is the number of rows
+	 *
+	 * @return a power of two that is at least twice rows
+	 */
+	private static int slotCount(int rows) {
+
+		int slots = 2;
+
+		while (slots < rows * 2L) {
+			slots *= 2;
+		}
+
+		return slots;
+	}
+
+	/**
+	 * Checks that the given row is in the catalog.
+	 *
+	 * @param row is the row to check
+	 *
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	private void checkRow(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row " + row + " is out of range for size " + size);
+		}
+	}
+
+}
@@ -38,6 +38,15 @@ public class Event extends Activity {
 	/** Event's event details */
 	private String eventDetails;
 	
+	/** Cached short display array, or null if it has not been built since the last change */
+	private String[] shortDisplayArray;
+	
+	/** Cached long display array, or null if it has not been built since the last change */
+	private String[] longDisplayArray;
+	
+	/** Cached string representation, or null if it has not been built since the last change */
+	private String recordString;
+	
 	/**
 	 * Creates an Event object given an event title, meeting days, start and end time, and event details.
 	 * 
@@ -56,6 +65,35 @@ public class Event extends Activity {
         
         setEventDetails(eventDetails);
     }
+    
+	/**
+	 * Creates an Event from values that were validated when they were first set. No setters
+	 * run, so nothing is checked or recomputed.
+	 * 
+	 * @param title is the title for the Event.
+	 * @param meetingDays are the meetingDays for the event.
+	 * @param startTime is the start time for the event.
+	 * @param endTime is the end time for the event.
+	 * @param meetingDaysMask is the bit mask of the meeting days.
+	 * @param meetingString is the meeting string built from the meeting days and times.
+	 * @param eventDetails is the event details for the event.
+	 */
+	private Event(String title, String meetingDays, int startTime, int endTime, int meetingDaysMask,
+			String meetingString, String eventDetails) {
+		super(title, meetingDays, startTime, endTime, meetingDaysMask, meetingString);
+		this.eventDetails = eventDetails;
+	}
+	
+	/**
+	 * Returns a copy of the Event with the same fields.
+	 * 
+	 * @return a copy of the event
+	 */
+	@Override
+	public Event copy() {
+		return new Event(getTitle(), getMeetingDays(), getStartTime(), getEndTime(), getMeetingDaysMask(),
+				getMeetingString(), eventDetails);
+	}
 	
 	/**
 	 * Gets the Event's eventDetails
@@ -81,11 +119,25 @@ public class Event extends Activity {
 		}
 		
 		this.eventDetails = eventDetails;
+		clearCachedValues();
+	}
+	
+	/**
+	 * Discards the cached display arrays and string representation along with the
+	 * cached meeting string.
+	 */
+	@Override
+	protected void clearCachedValues() {
+		super.clearCachedValues();
+		this.shortDisplayArray = null;
+		this.longDisplayArray = null;
+		this.recordString = null;
 	}
 
 	/**
 	 * Returns a short display array of an event object. Implemented as
-	 * a required method of the abstract Activities class. Example Output: ["", "", Lunch, W 5:00PM-7:00PM]
+	 * a required method of the abstract Activities class. The array is built once and kept
+	 * until a field changes; each caller gets its own copy. Example Output: ["", "", Lunch, W 5:00PM-7:00PM]
 	 * 
 	 * 
 	 * @return a short display array of an event object.
@@ -93,6 +145,10 @@ public class Event extends Activity {
 	@Override
 	public String[] getShortDisplayArray() {
 		
+		if (shortDisplayArray != null) {
+			return shortDisplayArray.clone();
+		}
+		
 		String[] shortDisplayEvent = new String[SHORT_DISPLAY_COUNT];
 		
 		for(int i = 0; i < shortDisplayEvent.length; i++) {
@@ -103,12 +159,15 @@ public class Event extends Activity {
 		
 		shortDisplayEvent[SHORT_DISPLAY_MEETING_STRING_INDEX] = getMeetingString(); 
 		
-		return shortDisplayEvent;
+		shortDisplayArray = shortDisplayEvent;
+		
+		return shortDisplayEvent.clone();
 	}
 
 	/**
 	 * Returns a long display array of an event object. Implemented as
-	 * a required method of the abstract Activities class.
+	 * a required method of the abstract Activities class. The array is built once and kept
+	 * until a field changes; each caller gets its own copy.
 	 * Example Output: ["", "", Lunch, "", "", W 5:00PM-7:00PM, Lunch with the boys, ""]
 	 * 
 	 * @return a long display array of an event object.
@@ -117,6 +176,10 @@ public class Event extends Activity {
 	@Override
 	public String[] getLongDisplayArray() {
 		
+		if (longDisplayArray != null) {
+			return longDisplayArray.clone();
+		}
+		
 		String[] longDisplayEvent = new String[LONG_DISPLAY_COUNT];
 		
 		for(int i = 0; i < longDisplayEvent.length; i++) {
@@ -127,8 +190,9 @@ public class Event extends Activity {
 		longDisplayEvent[LONG_DISPLAY_MEETING_STRING_INDEX] = getMeetingString();
 		longDisplayEvent[LONG_DISPLAY_EVENT_DETAILS_INDEX] = this.eventDetails;
 		
+		longDisplayArray = longDisplayEvent;
 		
-		return longDisplayEvent;
+		return longDisplayEvent.clone();
 	}
 	
 	/**
@@ -221,12 +285,17 @@ public class Event extends Activity {
 
 	/**
 	 * Creates a string representation of an event object using title, meeting days, and start/end time fields.
+	 * The string is built once and reused until a field changes.
 	 * 
 	 * @return a string representation of an event object.
 	 */
 	@Override
 	public String toString() {
 		
+		if (recordString != null) {
+			return recordString;
+		}
+		
 		String s = "";
 		s += getTitle();
 		s += ",";
@@ -238,6 +307,8 @@ public class Event extends Activity {
 		s += ",";
 		s += this.eventDetails;
 		
+		recordString = s;
+		
 		return s;
 	}
 
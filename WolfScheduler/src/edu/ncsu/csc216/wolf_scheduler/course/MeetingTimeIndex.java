@@ -0,0 +1,237 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * MeetingTimeIndex finds the rows of a course catalog that meet on given days and start or
+ * end inside a time range, or that conflict with a given meeting time. For each day of the
+ * week the index keeps the rows that meet on that day twice, once sorted by start time and
+ * once sorted by end time. Each entry packs the time into the high half of a long and the row
+ * into the low half, so a sorted array of longs is ordered by time and a range of times is
+ * found with two binary searches. The longest meeting of each day is kept as well, so the rows
+ * that can overlap a time are found by searching back from its start by that length. An
+ * index is a snapshot of the rows it was built from and is not updated when rows are added.
+ *
+ * @author msabrams
+ */
+class MeetingTimeIndex {
+
+	/** Number of days in a week */
+	static final int DAYS = Activity.WEEKDAYS.length();
+
+	/** Number of bits the time is shifted by in a packed entry */
+	private static final int TIME_SHIFT = 32;
+
+	/** Mask of the row in a packed entry */
+	private static final long ROW_MASK = 0xFFFFFFFFL;
+
+	/** Number of rows the index was built from */
+	private int size;
+
+	/** End time of each row */
+	private int[] endTimes;
+
+	/** Meeting days mask of each row */
+	private int[] meetingDaysMasks;
+
+	/** For each day, the packed start time and row of every row meeting that day, sorted */
+	private long[][] starts;
+
+	/** For each day, the packed end time and row of every row meeting that day, sorted */
+	private long[][] ends;
+
+	/** For each day, the longest time from start to end of a row meeting that day */
+	private int[] longestMeetings;
+
+	/**
+	 * Builds an index of the first size rows of the given columns.
+	 *
+	 * @param size is the number of rows to index
+	 * @param startTimes is the start time of each row
+	 * @param endTimes is the end time of each row
+	 * @param meetingDaysMasks is the meeting days mask of each row
+	 */
+	MeetingTimeIndex(int size, int[] startTimes, int[] endTimes, int[] meetingDaysMasks) {
+
+		this.size = size;
+		this.endTimes = endTimes;
+		this.meetingDaysMasks = meetingDaysMasks;
+		this.starts = new long[DAYS][];
+		this.ends = new long[DAYS][];
+		this.longestMeetings = new int[DAYS];
+
+		int[] counts = new int[DAYS];
+		for (int row = 0; row < size; row++) {
+			for (int day = 0; day < DAYS; day++) {
+				if ((meetingDaysMasks[row] & (1 << day)) != 0) {
+					counts[day]++;
+				}
+			}
+		}
+
+		for (int day = 0; day < DAYS; day++) {
+			starts[day] = new long[counts[day]];
+			ends[day] = new long[counts[day]];
+			counts[day] = 0;
+		}
+
+		for (int row = 0; row < size; row++) {
+			for (int day = 0; day < DAYS; day++) {
+				if ((meetingDaysMasks[row] & (1 << day)) != 0) {
+					starts[day][counts[day]] = pack(startTimes[row], row);
+					ends[day][counts[day]] = pack(endTimes[row], row);
+					longestMeetings[day] = Math.max(longestMeetings[day], endTimes[row] - startTimes[row]);
+					counts[day]++;
+				}
+			}
+		}
+
+		for (int day = 0; day < DAYS; day++) {
+			Arrays.sort(starts[day]);
+			Arrays.sort(ends[day]);
+		}
+	}
+
+	/**
+	 * Returns the number of rows the index was built from.
+	 *
+	 * @return the number of rows
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the rows that meet on every given day and start or end between fromTime and
+	 * toTime, inclusive. Only the day with the fewest rows is searched, and its rows are then
+	 * checked against the rest of the days.
+	 *
+	 * @param daysMask is the mask of the days a row must meet on, which must not be empty
+	 * @param fromTime is the earliest start or end time
+	 * @param toTime is the latest start or end time
+	 *
+	 * @return the matching rows in ascending order
+	 */
+	int[] find(int daysMask, int fromTime, int toTime) {
+
+		int searchDay = -1;
+		for (int day = 0; day < DAYS; day++) {
+			if ((daysMask & (1 << day)) != 0 && (searchDay == -1 || starts[day].length < starts[searchDay].length)) {
+				searchDay = day;
+			}
+		}
+
+		BitSet rows = new BitSet(size);
+		collect(starts[searchDay], daysMask, fromTime, toTime, rows);
+		collect(ends[searchDay], daysMask, fromTime, toTime, rows);
+
+		return rows.stream().toArray();
+	}
+
+	/**
+	 * Returns the rows that meet on any of the given days at a time that touches or overlaps
+	 * the time from startTime to endTime, the same way two activities conflict. On each day,
+	 * only the rows starting between startTime less the day's longest meeting and endTime are
+	 * checked, since a row starting earlier ends before startTime.
+	 *
+	 * @param daysMask is the mask of the days to check
+	 * @param startTime is the start of the time
+	 * @param endTime is the end of the time
+	 *
+	 * @return the overlapping rows
+	 */
+	BitSet overlapping(int daysMask, int startTime, int endTime) {
+
+		BitSet rows = new BitSet(size);
+
+		for (int day = 0; day < DAYS; day++) {
+
+			if ((daysMask & (1 << day)) == 0) {
+				continue;
+			}
+
+			long[] entries = starts[day];
+			int first = lowerBound(entries, pack(Math.max(startTime - longestMeetings[day], 0), 0));
+			int last = lowerBound(entries, pack(endTime + 1, 0));
+
+			for (int i = first; i < last; i++) {
+
+				int row = (int) (entries[i] & ROW_MASK);
+
+				if (endTimes[row] >= startTime) {
+					rows.set(row);
+				}
+			}
+		}
+
+		return rows;
+	}
+
+	/**
+	 * Adds the rows of the given sorted entries whose time is in range and that meet on every
+	 * given day.
+	 *
+	 * @param entries are the sorted packed entries of one day
+	 * @param daysMask is the mask of the days a row must meet on
+	 * @param fromTime is the earliest time
+	 * @param toTime is the latest time
+	 * @param rows collects the matching rows
+	 */
+	private void collect(long[] entries, int daysMask, int fromTime, int toTime, BitSet rows) {
+
+		int i = lowerBound(entries, pack(fromTime, 0));
+
+		while (i < entries.length && (int) (entries[i] >>> TIME_SHIFT) <= toTime) {
+
+			int row = (int) (entries[i] & ROW_MASK);
+
+			if ((meetingDaysMasks[row] & daysMask) == daysMask) {
+				rows.set(row);
+			}
+
+			i++;
+		}
+	}
+
+	/**
+	 * Returns the index of the first entry that is not less than the given key.
+	 *
+	 * @param entries are the sorted entries
+	 * @param key is the key to search for
+	 *
+	 * @return the index of the first entry at least key, or the length if there is none
+	 */
+	private static int lowerBound(long[] entries, long key) {
+
+		int low = 0;
+		int high = entries.length;
+
+		while (low < high) {
+
+			int mid = (low + high) >>> 1;
+
+			if (entries[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Packs a time and a row into one entry that sorts by time and then by row. Times are
+	 * never negative, so the packed entries sort the same as their times.
+	 *
+	 * @param time is the time
+	 * @param row is the row
+	 *
+	 * @return the packed entry
+	 */
+	private static long pack(int time, int row) {
+		return ((long) time << TIME_SHIFT) | row;
+	}
+
+}
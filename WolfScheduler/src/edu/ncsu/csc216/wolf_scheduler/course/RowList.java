@@ -0,0 +1,219 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import java.util.Arrays;
+
+/**
+ * RowList holds the rows of a course catalog that share one value, such as an instructor
+ * or a number of credits, as a sorted array of row numbers. Most values are held by a few
+ * rows spread over the whole catalog, so a list costs four bytes for each of its rows, where
+ * a bitmap costs a bit for every row up to its last one. Rows are only ever added at the end
+ * of the catalog, so appending keeps a list sorted. The static methods combine sorted arrays
+ * of rows the way a CatalogFilter combines its conditions.
+ *
+ * @author msabrams
+ */
+class RowList {
+
+	/** Number of rows a new list has room for */
+	private static final int INITIAL_CAPACITY = 4;
+
+	/** Size ratio above which an intersection binary searches the larger array */
+	private static final int SEARCH_RATIO = 8;
+
+	/** Rows of the list in ascending order, followed by unused room */
+	private int[] rows;
+
+	/** Number of rows in the list */
+	private int size;
+
+	/**
+	 * Creates an empty RowList.
+	 */
+	RowList() {
+		this.rows = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Adds a row to the end of the list. The row must be larger than every row already in
+	 * the list.
+	 *
+	 * @param row is the row to add
+	 */
+	void add(int row) {
+
+		if (size == rows.length) {
+			rows = Arrays.copyOf(rows, size * 2);
+		}
+
+		rows[size++] = row;
+	}
+
+	/**
+	 * Returns the number of rows in the list.
+	 *
+	 * @return the number of rows
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the rows of the list.
+	 *
+	 * @return a new array of the rows in ascending order
+	 */
+	int[] toArray() {
+		return Arrays.copyOf(rows, size);
+	}
+
+	/**
+	 * Drops the unused room at the end of the list.
+	 */
+	void trimToSize() {
+		if (size < rows.length) {
+			rows = Arrays.copyOf(rows, size);
+		}
+	}
+
+	/**
+	 * Returns the rows of the given list, or no rows if there is no list.
+	 *
+	 * @param list is the list, or null
+	 *
+	 * @return a new array of the rows in ascending order
+	 */
+	static int[] toArray(RowList list) {
+		return list == null ? new int[0] : list.toArray();
+	}
+
+	/**
+	 * Returns every row from 0 up to the given size.
+	 *
+	 * @param size is the number of rows
+	 *
+	 * @return a new array of the rows in ascending order
+	 */
+	static int[] range(int size) {
+
+		int[] all = new int[size];
+
+		for (int i = 0; i < size; i++) {
+			all[i] = i;
+		}
+
+		return all;
+	}
+
+	/**
+	 * Returns the rows that are in both sorted arrays. When one array is much smaller than the
+	 * other, each of its rows is binary searched for in the larger one, so a rare value costs
+	 * little to combine with a common one.
+	 *
+	 * @param a are rows in ascending order
+	 * @param b are rows in ascending order
+	 *
+	 * @return a new array of the common rows in ascending order
+	 */
+	static int[] intersect(int[] a, int[] b) {
+
+		if (a.length > b.length) {
+			int[] swap = a;
+			a = b;
+			b = swap;
+		}
+
+		int[] common = new int[a.length];
+		int count = 0;
+
+		if ((long) a.length * SEARCH_RATIO < b.length) {
+			int from = 0;
+			for (int row : a) {
+				int found = Arrays.binarySearch(b, from, b.length, row);
+				if (found >= 0) {
+					common[count++] = row;
+					from = found + 1;
+				} else {
+					from = -found - 1;
+				}
+			}
+		} else {
+			int i = 0;
+			int j = 0;
+			while (i < a.length && j < b.length) {
+				if (a[i] < b[j]) {
+					i++;
+				} else if (a[i] > b[j]) {
+					j++;
+				} else {
+					common[count++] = a[i];
+					i++;
+					j++;
+				}
+			}
+		}
+
+		return Arrays.copyOf(common, count);
+	}
+
+	/**
+	 * Returns the rows that are in either sorted array.
+	 *
+	 * @param a are rows in ascending order
+	 * @param b are rows in ascending order
+	 *
+	 * @return a new array of the rows in ascending order, each row once
+	 */
+	static int[] union(int[] a, int[] b) {
+
+		int[] either = new int[a.length + b.length];
+		int count = 0;
+		int i = 0;
+		int j = 0;
+
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				either[count++] = a[i++];
+			} else if (a[i] > b[j]) {
+				either[count++] = b[j++];
+			} else {
+				either[count++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		while (i < a.length) {
+			either[count++] = a[i++];
+		}
+		while (j < b.length) {
+			either[count++] = b[j++];
+		}
+
+		return Arrays.copyOf(either, count);
+	}
+
+	/**
+	 * Returns the rows from 0 up to the given size that are not in the sorted array.
+	 *
+	 * @param rows are rows in ascending order, each less than size
+	 * @param size is the number of rows
+	 *
+	 * @return a new array of the other rows in ascending order
+	 */
+	static int[] complement(int[] rows, int size) {
+
+		int[] others = new int[size - rows.length];
+		int count = 0;
+		int next = 0;
+
+		for (int row = 0; row < size; row++) {
+			if (next < rows.length && rows[next] == row) {
+				next++;
+			} else {
+				others[count++] = row;
+			}
+		}
+
+		return others;
+	}
+
+}
@@ -0,0 +1,29 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * ActivityRecordConsumer receives the activities of an exported schedule file while the file
+ * is being read. Courses are identified only by name and section, so the consumer can look
+ * them up in a catalog instead of rebuilding them from the file.
+ *
+ * @author msabrams
+ */
+public interface ActivityRecordConsumer {
+
+	/**
+	 * Receives the next course record.
+	 *
+	 * @param name is the name of the course
+	 * @param section is the section of the course
+	 */
+	void acceptCourse(String name, String section);
+
+	/**
+	 * Receives the next valid event record.
+	 *
+	 * @param event is the event, which the consumer may keep
+	 */
+	void acceptEvent(Event event);
+
+}
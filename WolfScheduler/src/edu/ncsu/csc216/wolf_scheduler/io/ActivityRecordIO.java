@@ -1,39 +1,440 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
-import java.io.File;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
 /**
- * 
- * ActivityRecordIO writes activities to an output file.
- * 
+ *
+ * ActivityRecordIO writes activities to an output file, stream, or writer, and reads them
+ * back. Each activity is written as one line in the same format as its toString(), except
+ * that a course with a seat limit is written without the capacity and enrolled column its
+ * toString() ends with. The fields are written one at a time through a buffer, so no String
+ * is built for a whole record. A file can be written through a temporary file that replaces
+ * it in one atomic rename, so a reader of the file sees either the old records or all of the
+ * new ones, and never a partly written file.
+ *
+ * When the records are read, each line is told apart as a course or an event by the shape
+ * of its fields alone. A course has 6 to 9 fields, a three digit section third, and a one
+ * digit credit count fourth. An event has at least 5 fields with its start and end times
+ * third and fourth, and an end time is never a single digit when the start time has three,
+ * so no line has both shapes.
+ *
  * @author msabrams
  *
  */
 public class ActivityRecordIO {
 
+	/** Size of the buffer the records are written through */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	/** Suffix of the temporary files an atomic write goes through */
+	static final String TEMP_SUFFIX = ".tmp";
+
+	/** Fewest fields in a course record, for an arranged course without seats */
+	static final int MIN_COURSE_FIELDS = 6;
+
+	/** Most fields in a course record, for a course with meeting times and seats */
+	static final int MAX_COURSE_FIELDS = 9;
+
+	/** Fewest fields in an event record */
+	static final int MIN_EVENT_FIELDS = 5;
+
+	/** Index of the section in a course record, or the start time in an event record */
+	static final int SECTION_OR_START_FIELD = 2;
+
+	/** Number of digits in a course section */
+	static final int SECTION_DIGITS = 3;
+
+	/** Number of digits in a course's credits */
+	static final int CREDITS_DIGITS = 1;
+
+	/** Index of the meeting days in a course record */
+	static final int COURSE_DAYS_FIELD = 5;
+
+	/** Most digits in a meeting time */
+	static final int MAX_TIME_DIGITS = 4;
+
+	/** Radix of the numbers in a record */
+	static final int RADIX = 10;
+
 	/**
 	 * Writes the given list of activities to an output file.
-	 * 
+	 *
 	 * @param fileName file to write schedule of Courses to
-	 * 
+	 *
 	 * @param activities list of activities to write
-	 * 
+	 *
 	 * @throws IOException if cannot write to file
 	 */
     public static void writeActivityRecords(String fileName, ArrayList<Activity> activities) throws IOException {
-    	PrintStream fileWriter = new PrintStream(new File(fileName));
-    	
-    	for (Activity a : activities) {
-    		fileWriter.println(a.toString());
-    	}
-    	
-    	fileWriter.close();
+    	writeActivityRecords(Paths.get(fileName), activities, false);
     }
 
-	
-	
+	/**
+	 * Writes the given list of activities to a file. If atomic is true, the activities are
+	 * written to a new, uniquely named temporary file in the same directory, forced to the
+	 * storage device, and then renamed over the file in one atomic move. The temporary file is
+	 * deleted if the write or the move fails. Otherwise the file is written in place.
+	 *
+	 * @param path is the file to write to
+	 * @param activities list of activities to write
+	 * @param atomic is whether the file is replaced through an atomic rename
+	 *
+	 * @throws IOException if the file cannot be written, or cannot be replaced atomically
+	 */
+	public static void writeActivityRecords(Path path, ArrayList<Activity> activities, boolean atomic) throws IOException {
+
+		if (!atomic) {
+			try (FileOutputStream out = new FileOutputStream(path.toFile())) {
+				writeActivityRecords(out, activities);
+			}
+			return;
+		}
+
+		//Each write gets its own temporary file, so concurrent exports to one file do not collide
+		Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), TEMP_SUFFIX);
+		boolean moved = false;
+
+		try {
+			try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+				writeActivityRecords(out, activities);
+				out.getFD().sync();
+			}
+
+			Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			moved = true;
+		} finally {
+			if (!moved) {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+
+	/**
+	 * Writes the given list of activities to an output stream in the default charset. The
+	 * stream is flushed but not closed.
+	 *
+	 * @param out is the stream to write to
+	 * @param activities list of activities to write
+	 *
+	 * @throws IOException if the stream cannot be written
+	 */
+	public static void writeActivityRecords(OutputStream out, ArrayList<Activity> activities) throws IOException {
+		writeActivityRecords(new OutputStreamWriter(out, Charset.defaultCharset()), activities);
+	}
+
+	/**
+	 * Writes the given list of activities to a writer, one line for each activity. The writer
+	 * is buffered if it is not already, and is flushed but not closed.
+	 *
+	 * @param out is the writer to write to
+	 * @param activities list of activities to write
+	 *
+	 * @throws IOException if the writer cannot be written
+	 */
+	public static void writeActivityRecords(Writer out, ArrayList<Activity> activities) throws IOException {
+
+		BufferedWriter writer = out instanceof BufferedWriter ? (BufferedWriter) out : new BufferedWriter(out, BUFFER_SIZE);
+		char[] digits = new char[10];
+
+		for (Activity a : activities) {
+
+			if (a instanceof Course) {
+				writeCourse(writer, (Course) a, digits);
+			} else if (a instanceof Event) {
+				writeEvent(writer, (Event) a, digits);
+			} else {
+				writer.write(a.toString());
+			}
+
+			writer.newLine();
+		}
+
+		writer.flush();
+	}
+
+	/**
+	 * Reads the activity records in a file written by writeActivityRecords() and hands each
+	 * course and valid event to the consumer in file order. Lines that have neither shape, and
+	 * events that are not valid, are skipped and counted. Blank lines are skipped without
+	 * being counted.
+	 *
+	 * @param fileName is the file to read
+	 * @param consumer receives each course and event
+	 *
+	 * @return the number of lines skipped because they were not a course or a valid event
+	 *
+	 * @throws IOException if the file cannot be found or read
+	 */
+	public static int readActivityRecords(String fileName, ActivityRecordConsumer consumer) throws IOException {
+		try (Reader in = new InputStreamReader(new FileInputStream(fileName), Charset.defaultCharset())) {
+			return readActivityRecords(in, consumer);
+		}
+	}
+
+	/**
+	 * Reads activity records from a reader and hands each course and valid event to the
+	 * consumer in order. The lines are read through one reusable buffer, and only the fields
+	 * that are handed on are copied out of each line. The reader is not closed.
+	 *
+	 * @param in is the reader to read from
+	 * @param consumer receives each course and event
+	 *
+	 * @return the number of lines skipped because they were not a course or a valid event
+	 *
+	 * @throws IOException if the reader cannot be read
+	 */
+	public static int readActivityRecords(Reader in, ActivityRecordConsumer consumer) throws IOException {
+
+		RecordReader reader = new RecordReader(in);
+		int skipped = 0;
+
+		//Index of each comma, up to one more than a course record can have
+		int[] commas = new int[MAX_COURSE_FIELDS];
+
+		String line;
+		while ((line = reader.readLine()) != null) {
+
+			int fields = findCommas(line, commas);
+
+			if (isCourse(line, commas, fields)) {
+				consumer.acceptCourse(field(line, commas, fields, 0), field(line, commas, fields, SECTION_OR_START_FIELD));
+			} else if (isEvent(line, commas, fields)) {
+
+				Event event;
+				try {
+					event = new Event(field(line, commas, fields, 0), field(line, commas, fields, 1),
+							Integer.parseInt(line, commas[1] + 1, commas[2], RADIX),
+							Integer.parseInt(line, commas[2] + 1, commas[3], RADIX),
+							line.substring(commas[3] + 1));
+				} catch (IllegalArgumentException e) {
+					//The event is not valid, skip it!
+					skipped++;
+					continue;
+				}
+
+				consumer.acceptEvent(event);
+			} else if (!line.trim().isEmpty()) {
+				skipped++;
+			}
+		}
+
+		return skipped;
+	}
+
+	/**
+	 * Finds the commas of a line.
+	 *
+	 * @param line is the line
+	 * @param commas receives the index of each comma, up to its length
+	 *
+	 * @return the number of fields, which is one more than the number of commas found
+	 */
+	private static int findCommas(String line, int[] commas) {
+
+		int count = 0;
+		int comma = line.indexOf(RecordTokenizer.DELIMITER);
+
+		while (comma != -1 && count < commas.length) {
+			commas[count++] = comma;
+			comma = line.indexOf(RecordTokenizer.DELIMITER, comma + 1);
+		}
+
+		return count + 1;
+	}
+
+	/**
+	 * Returns one field of a line.
+	 *
+	 * @param line is the line
+	 * @param commas are the indexes of the line's commas
+	 * @param fields is the number of fields found
+	 * @param index is the index of the field
+	 *
+	 * @return the field
+	 */
+	private static String field(String line, int[] commas, int fields, int index) {
+		int start = index == 0 ? 0 : commas[index - 1] + 1;
+		int end = index == fields - 1 ? line.length() : commas[index];
+		return line.substring(start, end);
+	}
+
+	/**
+	 * Checks to see if a line has the shape of a course record: a three digit section, a one
+	 * digit credit count, and either arranged meeting days or two meeting times, followed by
+	 * an optional seats column.
+	 *
+	 * @param line is the line
+	 * @param commas are the indexes of the line's commas
+	 * @param fields is the number of fields found
+	 *
+	 * @return true if the line is shaped like a course
+	 */
+	private static boolean isCourse(String line, int[] commas, int fields) {
+
+		if (fields < MIN_COURSE_FIELDS || fields > MAX_COURSE_FIELDS
+				|| !isDigits(line, commas[1] + 1, commas[2], SECTION_DIGITS, SECTION_DIGITS)
+				|| !isDigits(line, commas[2] + 1, commas[3], CREDITS_DIGITS, CREDITS_DIGITS)) {
+			return false;
+		}
+
+		int daysEnd = fields == MIN_COURSE_FIELDS ? line.length() : commas[COURSE_DAYS_FIELD];
+		boolean arranged = daysEnd - commas[COURSE_DAYS_FIELD - 1] == 2 && line.charAt(daysEnd - 1) == 'A';
+		int seatsField = arranged ? MIN_COURSE_FIELDS : MIN_COURSE_FIELDS + 2;
+
+		if (!arranged && (fields < seatsField
+				|| !isDigits(line, commas[COURSE_DAYS_FIELD] + 1, commas[COURSE_DAYS_FIELD + 1], 1, MAX_TIME_DIGITS)
+				|| !isDigits(line, commas[COURSE_DAYS_FIELD + 1] + 1,
+						fields == seatsField ? line.length() : commas[COURSE_DAYS_FIELD + 2], 1, MAX_TIME_DIGITS))) {
+			return false;
+		}
+
+		if (fields == seatsField) {
+			return true;
+		}
+
+		return fields == seatsField + 1 && line.indexOf(Course.SEATS_SEPARATOR, commas[seatsField - 1] + 1) != -1;
+	}
+
+	/**
+	 * Checks to see if a line has the shape of an event record: a title, meeting days, two
+	 * meeting times, and details that may hold commas of their own.
+	 *
+	 * @param line is the line
+	 * @param commas are the indexes of the line's commas
+	 * @param fields is the number of fields found
+	 *
+	 * @return true if the line is shaped like an event
+	 */
+	private static boolean isEvent(String line, int[] commas, int fields) {
+		return fields >= MIN_EVENT_FIELDS
+				&& isDigits(line, commas[1] + 1, commas[2], 1, MAX_TIME_DIGITS)
+				&& isDigits(line, commas[2] + 1, commas[3], 1, MAX_TIME_DIGITS);
+	}
+
+	/**
+	 * Checks to see if part of a line is only digits.
+	 *
+	 * @param line is the line
+	 * @param start is the index of the first character
+	 * @param end is the index just past the last character
+	 * @param minLength is the fewest digits allowed
+	 * @param maxLength is the most digits allowed
+	 *
+	 * @return true if the part has an allowed number of digits and nothing else
+	 */
+	private static boolean isDigits(String line, int start, int end, int minLength, int maxLength) {
+
+		if (end - start < minLength || end - start > maxLength) {
+			return false;
+		}
+
+		for (int i = start; i < end; i++) {
+			if (line.charAt(i) < '0' || line.charAt(i) > '9') {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Writes the name, title, section, credits, instructor id, meeting days, and, unless the
+	 * course is arranged, start and end time of a course. This is Course.toString() for a
+	 * course without a seat limit. For a course with one, toString() also ends with a
+	 * capacity/enrolled column, such as 30/12, which is not written. Seats belong to the
+	 * catalog and change as students enroll, so an exported schedule does not carry them.
+	 *
+	 * @param out is the writer to write to
+	 * @param c is the course
+	 * @param digits is a buffer for the digits of a number
+	 *
+	 * @throws IOException if the writer cannot be written
+	 */
+	private static void writeCourse(Writer out, Course c, char[] digits) throws IOException {
+
+		out.write(c.getName());
+		out.write(',');
+		out.write(c.getTitle());
+		out.write(',');
+		out.write(c.getSection());
+		out.write(',');
+		writeNumber(out, c.getCredits(), digits);
+		out.write(',');
+		out.write(c.getInstructorId());
+		out.write(',');
+		out.write(c.getMeetingDays());
+
+		if (!"A".equals(c.getMeetingDays())) {
+			out.write(',');
+			writeNumber(out, c.getStartTime(), digits);
+			out.write(',');
+			writeNumber(out, c.getEndTime(), digits);
+		}
+	}
+
+	/**
+	 * Writes the fields of an event in the same format as Event.toString().
+	 *
+	 * @param out is the writer to write to
+	 * @param e is the event
+	 * @param digits is a buffer for the digits of a number
+	 *
+	 * @throws IOException if the writer cannot be written
+	 */
+	private static void writeEvent(Writer out, Event e, char[] digits) throws IOException {
+
+		out.write(e.getTitle());
+		out.write(',');
+		out.write(e.getMeetingDays());
+		out.write(',');
+		writeNumber(out, e.getStartTime(), digits);
+		out.write(',');
+		writeNumber(out, e.getEndTime(), digits);
+		out.write(',');
+		out.write(e.getEventDetails());
+	}
+
+	/**
+	 * Writes the decimal digits of a number without creating a String.
+	 *
+	 * @param out is the writer to write to
+	 * @param value is the number, which is never negative in a record
+	 * @param digits is a buffer large enough for the digits of any int
+	 *
+	 * @throws IOException if the writer cannot be written
+	 */
+	private static void writeNumber(Writer out, int value, char[] digits) throws IOException {
+
+		if (value < 0) {
+			out.write(Integer.toString(value));
+			return;
+		}
+
+		int start = digits.length;
+
+		do {
+			digits[--start] = (char) ('0' + value % 10);
+			value /= 10;
+		} while (value > 0);
+
+		out.write(digits, start, digits.length - start);
+	}
+
 }
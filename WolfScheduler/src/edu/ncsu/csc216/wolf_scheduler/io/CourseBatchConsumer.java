@@ -0,0 +1,25 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * CourseBatchConsumer receives the courses of a catalog file in batches while the file is
+ * being read, so a caller can show courses and progress before the whole file is parsed.
+ *
+ * @author msabrams
+ */
+public interface CourseBatchConsumer {
+
+	/**
+	 * Receives the next batch of valid courses, in file order and without duplicates.
+	 *
+	 * @param batch is the next batch of courses, which the consumer may keep
+	 * @param bytesRead is the number of bytes of the file read so far
+	 *
+	 * @return true to keep reading, or false to stop reading the file
+	 */
+	boolean acceptBatch(ArrayList<Course> batch, long bytesRead);
+
+}
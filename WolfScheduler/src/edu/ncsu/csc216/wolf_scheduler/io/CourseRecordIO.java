@@ -1,9 +1,21 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
+import java.io.CharArrayReader;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 
@@ -14,6 +26,11 @@ import edu.ncsu.csc216.wolf_scheduler.course.Course;
  */
 public class CourseRecordIO {
 
+	/** Smallest chunk of a catalog file that is parsed by a single task */
+	static final int MIN_CHUNK_SIZE = 1 << 20;
+	
+	/** Number of chunks to create for each worker thread, so busy threads can be balanced */
+	static final int CHUNKS_PER_THREAD = 4;
 		
     /**
      * Reads course records from a file and generates a list of valid Courses. Any invalid
@@ -30,112 +47,557 @@ public class CourseRecordIO {
      * a object course could not be created
      */
 	public static ArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
+		return readCourseRecords(fileName, new StringPool());
+	}
+	
+    /**
+     * Reads course records from a file and generates a list of valid Courses, sharing one
+     * String instance between equal field values through the given pool. Any invalid
+     * Courses are ignored. If the file to read cannot be found or the permissions are incorrect
+     * a FileNotFoundException is thrown.
+     * 
+     * @param fileName file to read Course records from
+     * @param pool is the pool that field values are shared through
+     * 
+     * @return a list of valid Courses
+     * 
+     * @throws FileNotFoundException if the file cannot be found or read
+     */
+	public static ArrayList<Course> readCourseRecords(String fileName, StringPool pool) throws FileNotFoundException {
 		
-	    Scanner fileReader = new Scanner(new FileInputStream(fileName));  //Create a file scanner to read the file
-	    
 	    ArrayList<Course> courses = new ArrayList<Course>(); //Create an empty array of Course objects
-	    while (fileReader.hasNextLine()) { //While we have more lines in the file
-	        try { //Attempt to do the following
-	            //Read the line, process it in readCourse, and get the object
-	            //If trying to construct a Course in readCourse() results in an exception, flow of control will transfer to the catch block, below
-	            Course course = readCourse(fileReader.nextLine()); 
-
-	            //Create a flag to see if the newly created Course is a duplicate of something already in the list  
-	            boolean duplicate = false;
-	            //Look at all the courses in our list
-	            for (int i = 0; i < courses.size(); i++) {
-	                //Get the course at index i
-	                Course current = courses.get(i);
-	                //Check if the name and section are the same
-	                if (course.getName().equals(current.getName()) &&
-	                        course.getSection().equals(current.getSection())) {
-	                    //It's a duplicate!
-	                    duplicate = true;
-	                    break; //We can break out of the loop, no need to continue searching
-	                }
-	            }
-	            //If the course is NOT a duplicate
-	            if (!duplicate) {
-	                courses.add(course); //Add to the ArrayList!
-	            } //Otherwise ignore
-	        } catch (IllegalArgumentException e) {
-	            //The line is invalid b/c we couldn't create a course, skip it!
-	        }
-	    }
-	    //Close the Scanner b/c we're responsible with our file handles
-	    fileReader.close();
+	    
+	    //Read the whole file as a single batch
+	    readCourseRecords(fileName, pool, Integer.MAX_VALUE, (batch, bytesRead) -> courses.addAll(batch));
+	    
 	    //Return the ArrayList with all the courses we read!
 	    return courses;
 	}
 	
+    /**
+     * Reads course records from a file and hands the valid Courses to the consumer in batches
+     * of the given size as they are read. Any invalid Courses are ignored, and only the first
+     * occurrence of a name and section is kept across all batches. Reading stops early if the
+     * consumer returns false. If the file to read cannot be found or the permissions are
+     * incorrect a FileNotFoundException is thrown.
+     * 
+     * @param fileName file to read Course records from
+     * @param batchSize is the number of courses in every batch except the last
+     * @param consumer receives each batch of courses
+     * 
+     * @throws FileNotFoundException if the file cannot be found or read
+     * 
+     * @throws IllegalArgumentException if batchSize is less than one
+     */
+	public static void readCourseRecords(String fileName, int batchSize, CourseBatchConsumer consumer) throws FileNotFoundException {
+		readCourseRecords(fileName, new StringPool(), batchSize, consumer);
+	}
+	
+    /**
+     * Reads course records from a file and hands the valid Courses to the consumer in batches,
+     * sharing one String instance between equal field values through the given pool.
+     * 
+     * @param fileName file to read Course records from
+     * @param pool is the pool that field values are shared through
+     * @param batchSize is the number of courses in every batch except the last
+     * @param consumer receives each batch of courses
+     * 
+     * @throws FileNotFoundException if the file cannot be found or read
+     * 
+     * @throws IllegalArgumentException if batchSize is less than one
+     */
+	public static void readCourseRecords(String fileName, StringPool pool, int batchSize, CourseBatchConsumer consumer) throws FileNotFoundException {
+		
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size.");
+		}
+		
+	    //Create a buffered line reader for the file that counts the bytes it reads
+	    CountingInputStream fileBytes = new CountingInputStream(new FileInputStream(fileName));
+	    
+	    //The reader is closed even if the consumer throws, b/c we're responsible with our file handles
+	    try (RecordReader fileReader = new RecordReader(new InputStreamReader(fileBytes))) {
+		    
+		    ArrayList<Course> batch = new ArrayList<Course>(); //Courses not yet handed to the consumer
+		    HashSet<String> courseKeys = new HashSet<String>(); //Names and sections of the courses read so far
+		    boolean reading = true;
+		    String line;
+		    while (reading && (line = nextLine(fileReader)) != null) { //While we have more lines in the file
+		        Course course;
+		        try { //Attempt to do the following
+		            //Process the line in readCourse, and get the object
+		            //If trying to construct a Course in readCourse() results in an exception, flow of control will transfer to the catch block, below
+		            course = readCourse(line); 
+		        } catch (IllegalArgumentException e) {
+		            //The line is invalid b/c we couldn't create a course, skip it!
+		            continue;
+		        }
+	
+		        //The newly created Course is a duplicate if its name and section were already read,
+		        //so only the first occurrence of a name and section is kept. An exception from the
+		        //consumer is not caught, so it is not mistaken for an invalid line
+		        if (courseKeys.add(courseKey(course))) {
+		            batch.add(shareStrings(course, pool)); //Add to the batch!
+		            
+		            if (batch.size() == batchSize) {
+		            	reading = consumer.acceptBatch(batch, fileBytes.getCount());
+		            	batch = new ArrayList<Course>();
+		            }
+		        } //Otherwise ignore
+		    }
+		    //Hand over the last partial batch
+		    if (reading && !batch.isEmpty()) {
+		    	consumer.acceptBatch(batch, fileBytes.getCount());
+		    }
+	    } catch (IOException e) {
+	        //Nothing was left to read, the courses are complete
+	    }
+	}
+	
 	/**
-	 * Parses a line within a file to return a course object
+	 * CountingInputStream counts the bytes read through it, so progress through a file can be
+	 * reported while it is decoded and parsed.
 	 * 
-	 * @param line is the line containing the course object
+	 * @author msabrams
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+		
+		/** Number of bytes read so far */
+		private long count;
+		
+		/**
+		 * Creates a CountingInputStream that reads from the given stream.
+		 * 
+		 * @param in is the stream to read from
+		 */
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+		
+		/**
+		 * Reads one byte and counts it.
+		 * 
+		 * @return the byte, or -1 at the end of the stream
+		 * 
+		 * @throws IOException if the stream cannot be read
+		 */
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				count++;
+			}
+			return b;
+		}
+		
+		/**
+		 * Reads bytes into an array and counts them.
+		 * 
+		 * @param b is the array to read into
+		 * @param off is the index of the first byte to fill
+		 * @param len is the most bytes to read
+		 * 
+		 * @return the number of bytes read, or -1 at the end of the stream
+		 * 
+		 * @throws IOException if the stream cannot be read
+		 */
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				count += n;
+			}
+			return n;
+		}
+		
+		/**
+		 * Skips bytes and counts them.
+		 * 
+		 * @param n is the most bytes to skip
+		 * 
+		 * @return the number of bytes skipped
+		 * 
+		 * @throws IOException if the stream cannot be skipped
+		 */
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+		
+		/**
+		 * Returns the number of bytes read so far.
+		 * 
+		 * @return the count
+		 */
+		long getCount() {
+			return count;
+		}
+	}
+	
+	/**
+	 * Reads course records from a file in parallel and generates a list of valid Courses. The file
+	 * is memory mapped and split into line aligned chunks that are parsed concurrently on the common
+	 * fork/join pool. The chunks are merged in file order, so the result is the same list that
+	 * readCourseRecords() returns, including keeping the first occurrence of duplicate courses.
 	 * 
-	 * @return a course object from the given line
+	 * @param fileName file to read Course records from
 	 * 
-	 * @throws IllegalArgumentException if an unexpected item is found within the course line.
+	 * @return a list of valid Courses
+	 * 
+	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
-    private static Course readCourse(String line) {
-    	
-		Scanner lineReader = new Scanner(line);
+	public static ArrayList<Course> readCourseRecordsParallel(String fileName) throws FileNotFoundException {
+		return readCourseRecordsParallel(fileName, new StringPool());
+	}
+	
+	/**
+	 * Reads course records from a file in parallel, sharing one String instance between equal
+	 * field values through the given pool.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param pool is the pool that field values are shared through
+	 * 
+	 * @return a list of valid Courses
+	 * 
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static ArrayList<Course> readCourseRecordsParallel(String fileName, StringPool pool) throws FileNotFoundException {
+		return readCourseRecordsParallel(fileName, 0, pool);
+	}
+	
+	/**
+	 * Reads course records from a file in parallel, splitting the file into chunks of about the
+	 * given size.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param chunkSize is the target size of a chunk in bytes, or 0 to choose one from the file size
+	 * 
+	 * @return a list of valid Courses
+	 * 
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	static ArrayList<Course> readCourseRecordsParallel(String fileName, long chunkSize) throws FileNotFoundException {
+		return readCourseRecordsParallel(fileName, chunkSize, new StringPool());
+	}
+	
+	/**
+	 * Reads course records from a file in parallel, splitting the file into chunks of about the
+	 * given size.
+	 * 
+	 * @param fileName file to read Course records from
+	 * @param chunkSize is the target size of a chunk in bytes, or 0 to choose one from the file size
+	 * @param pool is the pool that field values are shared through
+	 * 
+	 * @return a list of valid Courses
+	 * 
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	static ArrayList<Course> readCourseRecordsParallel(String fileName, long chunkSize, StringPool pool) throws FileNotFoundException {
 		
-		//Change the delimiter to a comma
-		lineReader.useDelimiter(",");
+		Charset charset = Charset.defaultCharset();
 		
-		try {
+		//Chunks are split after a \n byte, which is only safe when \n is encoded as a single byte
+		byte[] lineFeed = "\n".getBytes(charset);
+		if (lineFeed.length != 1 || lineFeed[0] != '\n') {
+			return readCourseRecords(fileName, pool);
+		}
+		
+		ArrayList<Course> parsed;
+		
+		try (FileInputStream in = new FileInputStream(fileName); FileChannel channel = in.getChannel()) {
 			
-			String name = lineReader.next();
-			String title = lineReader.next();
-			String section = lineReader.next();
-			int creditHours = lineReader.nextInt();
-			String instructorId = lineReader.next();
-			String meetingDays = lineReader.next();
+			long size = channel.size();
 			
-			//If class is arranged
-			if("A".equals(meetingDays)) {
-				
-				
-				
-				//If line has more tokens
-				if(lineReader.hasNext()) {
-					lineReader.close();
-					throw new IllegalArgumentException();
-				}
-				//else if lines don't have more tokens
-				else {
-					lineReader.close();
-					return new Course(name, title, section, creditHours, instructorId, meetingDays);
-				}
+			//A single mapping cannot be larger than Integer.MAX_VALUE bytes
+			if (size > Integer.MAX_VALUE) {
+				return readCourseRecords(fileName, pool);
 			}
-			//else
-			else {
-				int startTime = lineReader.nextInt();
-				int endTime = lineReader.nextInt();
-				
+			
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			
+			if (chunkSize <= 0) {
+				int threads = ForkJoinPool.getCommonPoolParallelism();
+				chunkSize = Math.max(MIN_CHUNK_SIZE, size / ((long) threads * CHUNKS_PER_THREAD));
+			}
+			
+			int[] boundaries = chunkBoundaries(buffer, (int) size, chunkSize);
+			
+			parsed = ForkJoinPool.commonPool().invoke(new CourseChunkTask(buffer, boundaries, 0, boundaries.length - 1, charset));
+			
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			//The file cannot be mapped, so read it sequentially instead
+			return readCourseRecords(fileName, pool);
+		}
+		
+		//Merge the chunks in file order, keeping the first occurrence of each name and section
+		ArrayList<Course> courses = new ArrayList<Course>(parsed.size());
+		HashSet<String> courseKeys = new HashSet<String>();
+		
+		for (Course course : parsed) {
+			if (courseKeys.add(courseKey(course))) {
+				courses.add(shareStrings(course, pool));
+			}
+		}
+		
+		return courses;
+	}
+	
+	/**
+	 * Splits a mapped file into chunks that each start at the beginning of a line.
+	 * 
+	 * @param buffer is the mapped file
+	 * @param size is the size of the file in bytes
+	 * @param chunkSize is the target size of a chunk in bytes
+	 * 
+	 * @return the start of every chunk in order, followed by the size of the file
+	 */
+	private static int[] chunkBoundaries(ByteBuffer buffer, int size, long chunkSize) {
+		
+		ArrayList<Integer> starts = new ArrayList<Integer>();
+		starts.add(0);
+		
+		long next = chunkSize;
+		
+		while (next < size) {
+			
+			//Move the boundary forward to just past the next line feed
+			int boundary = (int) next;
+			while (boundary < size && buffer.get(boundary - 1) != '\n') {
+				boundary++;
+			}
+			
+			if (boundary >= size) {
+				break;
+			}
+			
+			starts.add(boundary);
+			next = boundary + chunkSize;
+		}
+		
+		int[] boundaries = new int[starts.size() + 1];
+		for (int i = 0; i < starts.size(); i++) {
+			boundaries[i] = starts.get(i);
+		}
+		boundaries[starts.size()] = size;
+		
+		return boundaries;
+	}
+	
+	/**
+	 * CourseChunkTask parses a range of chunks of a mapped catalog file. Ranges of more than one
+	 * chunk are split in half and parsed concurrently, and the results are joined in file order.
+	 * 
+	 * @author msabrams
+	 */
+	private static class CourseChunkTask extends RecursiveTask<ArrayList<Course>> {
+		
+		/** ID used for serialization. */
+		private static final long serialVersionUID = 1L;
+		
+		/** The mapped file */
+		private transient ByteBuffer buffer;
+		
+		/** Start of every chunk, followed by the size of the file */
+		private int[] boundaries;
+		
+		/** Index of the first chunk to parse */
+		private int first;
+		
+		/** Index just past the last chunk to parse */
+		private int last;
+		
+		/** Charset of the file */
+		private transient Charset charset;
+		
+		/**
+		 * Creates a CourseChunkTask for the chunks from first up to last.
+		 * 
+		 * @param buffer is the mapped file
+		 * @param boundaries are the start of every chunk, followed by the size of the file
+		 * @param first is the index of the first chunk to parse
+		 * @param last is the index just past the last chunk to parse
+		 * @param charset is the charset of the file
+		 */
+		CourseChunkTask(ByteBuffer buffer, int[] boundaries, int first, int last, Charset charset) {
+			this.buffer = buffer;
+			this.boundaries = boundaries;
+			this.first = first;
+			this.last = last;
+			this.charset = charset;
+		}
+		
+		/**
+		 * Parses the chunks, splitting the work if there is more than one chunk.
+		 * 
+		 * @return the valid courses in the chunks in file order, including duplicates
+		 */
+		@Override
+		protected ArrayList<Course> compute() {
+			
+			if (last - first > 1) {
 				
+				int middle = (first + last) >>> 1;
 				
-				//If line has more tokens
-				if(lineReader.hasNext()) {
-					lineReader.close();
-					throw new IllegalArgumentException();
-				}
+				CourseChunkTask right = new CourseChunkTask(buffer, boundaries, middle, last, charset);
+				right.fork();
 				
-				lineReader.close();
-				return new Course(name, title, section, creditHours, instructorId, meetingDays, startTime, endTime);
+				ArrayList<Course> courses = new CourseChunkTask(buffer, boundaries, first, middle, charset).compute();
+				courses.addAll(right.join());
 				
+				return courses;
 			}
 			
+			//Each task works on its own view of the mapped file
+			ByteBuffer chunk = buffer.duplicate();
+			chunk.limit(boundaries[last]);
+			chunk.position(boundaries[first]);
+			
+			CharBuffer chars = charset.decode(chunk);
+			RecordReader chunkReader = new RecordReader(
+					new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining()));
 			
+			ArrayList<Course> courses = new ArrayList<Course>();
+			
+			String line;
+			while ((line = nextLine(chunkReader)) != null) {
+				try {
+					courses.add(readCourse(line));
+				} catch (IllegalArgumentException e) {
+					//The line is invalid b/c we couldn't create a course, skip it!
+				}
+			}
+			
+			return courses;
 		}
-		catch (Exception e) {
-			lineReader.close();
-			throw new IllegalArgumentException();
+	}
+	
+	/**
+	 * Creates the key used to find duplicate courses. Course names and sections never
+	 * contain commas, so the key is unique for each name and section pair.
+	 * 
+	 * @param course is the course to create a key for
+	 * 
+	 * @return the duplicate key for the course's name and section
+	 */
+	private static String courseKey(Course course) {
+		return course.getName() + "," + course.getSection();
+	}
+	
+	/**
+	 * Returns the next line of a record file. A read error ends the file, the same as
+	 * Scanner does, so the records read before the error are kept.
+	 * 
+	 * @param fileReader is the reader to read the line from
+	 * 
+	 * @return the next line, or null if there are no more lines or the file cannot be read
+	 */
+	private static String nextLine(RecordReader fileReader) {
+		try {
+			return fileReader.readLine();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Returns the given course holding the pool's instance of each of its string fields. Only
+	 * courses that were accepted are passed to the pool, so invalid and duplicate lines never
+	 * add strings to it or count toward its savings. The course is copied only if one of its
+	 * strings was replaced.
+	 * 
+	 * @param course is an accepted course
+	 * @param pool is the pool that field values are shared through
+	 * 
+	 * @return the course, or a copy of it that holds the shared strings
+	 */
+	private static Course shareStrings(Course course, StringPool pool) {
+		
+		String name = pool.intern(course.getName());
+		String title = pool.intern(course.getTitle());
+		String section = pool.intern(course.getSection());
+		String instructorId = pool.intern(course.getInstructorId());
+		String meetingDays = pool.intern(course.getMeetingDays());
+		
+		if (name == course.getName() && title == course.getTitle() && section == course.getSection()
+				&& instructorId == course.getInstructorId() && meetingDays == course.getMeetingDays()) {
+			return course;
 		}
 		
+		return course.withSharedStrings(name, title, section, instructorId, meetingDays);
 	}
-
 	
+	/**
+	 * Parses a line within a file to return a course object
+	 * 
+	 * @param line is the line containing the course object
+	 * 
+	 * @return a course object from the given line
+	 * 
+	 * @throws IllegalArgumentException if an unexpected item is found within the course line.
+	 */
+    private static Course readCourse(String line) {
+    	
+		RecordTokenizer lineReader = new RecordTokenizer(line);
+		
+		String name = lineReader.next();
+		String title = lineReader.next();
+		String section = lineReader.next();
+		int creditHours = lineReader.nextInt();
+		String instructorId = lineReader.next();
+		String meetingDays = lineReader.next();
+		
+		Course course;
+		
+		//If class is arranged
+		if("A".equals(meetingDays)) {
+			course = new Course(name, title, section, creditHours, instructorId, meetingDays);
+		} else {
+			int startTime = lineReader.nextInt();
+			int endTime = lineReader.nextInt();
+			course = new Course(name, title, section, creditHours, instructorId, meetingDays, startTime, endTime);
+		}
+		
+		//The seats column is optional
+		if(lineReader.hasNext()) {
+			readSeats(lineReader.next(), course);
+		}
+		
+		//If line has more tokens
+		if(lineReader.hasNext()) {
+			throw new IllegalArgumentException();
+		}
+		
+		return course;
+		
+	}
+    
+	/**
+	 * Parses a seats column, which is the capacity and enrolled count separated by a slash
+	 * such as 30/12, and sets them on the course.
+	 * 
+	 * @param token is the seats column
+	 * @param course is the course to set the seats of
+	 * 
+	 * @throws IllegalArgumentException if the column is not two counts separated by a slash,
+	 * or the counts are not valid seats
+	 */
+	private static void readSeats(String token, Course course) {
+		
+		int separator = token.indexOf(Course.SEATS_SEPARATOR);
+		
+		if (separator == -1) {
+			throw new IllegalArgumentException();
+		}
+		
+		//NumberFormatException is an IllegalArgumentException
+		int capacity = Integer.parseInt(token.substring(0, separator));
+		int enrolled = Integer.parseInt(token.substring(separator + 1));
+		
+		course.setSeats(capacity, enrolled);
+	}
 
 }
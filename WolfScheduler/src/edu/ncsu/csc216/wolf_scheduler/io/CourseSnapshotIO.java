@@ -0,0 +1,407 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * CourseSnapshotIO writes a parsed course catalog to a compact binary snapshot and reads it
+ * back. A snapshot starts with a magic number, a format version, and the length and last
+ * modified time of the catalog file it was parsed from, followed by a table of the distinct
+ * strings in the catalog and one column for each course field. String fields are stored as
+ * indexes into the string table, and credits, start time, end time, the meeting days mask,
+ * capacity, and enrolled count are stored as primitive columns. The snapshot ends with a
+ * CRC-32 of everything before it, so a truncated or damaged snapshot is rejected instead of
+ * loaded.
+ *
+ * A snapshot is current while its catalog file still has the recorded length and modified
+ * time. Snapshots are written to a temporary file that is then renamed over the snapshot in
+ * one atomic move, so a reader never sees a partly written snapshot.
+ *
+ * @author msabrams
+ */
+public class CourseSnapshotIO {
+
+	/** Extension added to a catalog file name to get the name of its snapshot */
+	public static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+	/** Magic number at the start of every snapshot, "WSNP" in ASCII */
+	static final int MAGIC = 0x57534E50;
+
+	/** Version of the snapshot format written by this class */
+	static final int VERSION = 3;
+
+	/** Source length recorded in a snapshot that is not tied to a catalog file */
+	static final long NO_SOURCE = -1;
+
+	/** Suffix of the temporary files a snapshot is written through */
+	static final String TEMP_SUFFIX = ".tmp";
+
+	/** Size of the buffers used to read and write snapshots */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Returns the name of the snapshot file for the given catalog file.
+	 *
+	 * @param catalogFileName is the name of the course records file
+	 *
+	 * @return the name of the catalog's snapshot file
+	 */
+	public static String snapshotFileName(String catalogFileName) {
+		return catalogFileName + SNAPSHOT_EXTENSION;
+	}
+
+	/**
+	 * Checks to see if the given catalog file has a snapshot that was parsed from the file as
+	 * it is now. Only the snapshot's header is read; the length and last modified time it
+	 * records must match the catalog file's.
+	 *
+	 * @param catalogFileName is the name of the course records file
+	 *
+	 * @return true if a snapshot exists and records the catalog file's current length and
+	 *         modified time
+	 */
+	public static boolean hasCurrentSnapshot(String catalogFileName) {
+
+		File catalog = new File(catalogFileName);
+		File snapshot = new File(snapshotFileName(catalogFileName));
+
+		if (!catalog.isFile() || !snapshot.isFile()) {
+			return false;
+		}
+
+		try (DataInputStream in = new DataInputStream(new FileInputStream(snapshot))) {
+			return in.readInt() == MAGIC && in.readInt() == VERSION && in.readLong() == catalog.length()
+					&& in.readLong() == catalog.lastModified();
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Writes a snapshot of the courses parsed from the given catalog file next to the file.
+	 * The file's length and modified time are read before it is parsed and passed in, so a
+	 * change to the file while it was being parsed leaves the snapshot stale.
+	 *
+	 * @param catalogFileName is the name of the course records file the courses came from
+	 * @param courses are the courses parsed from the file
+	 * @param sourceLength is the length of the catalog file when it was parsed
+	 * @param sourceModified is the last modified time of the catalog file when it was parsed
+	 *
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public static void writeCatalogSnapshot(String catalogFileName, ArrayList<Course> courses, long sourceLength,
+			long sourceModified) throws IOException {
+		writeSnapshot(snapshotFileName(catalogFileName), courses, sourceLength, sourceModified);
+	}
+
+	/**
+	 * Writes the given courses to a snapshot file that is not tied to a catalog file, so it is
+	 * never current for one.
+	 *
+	 * @param fileName is the name of the snapshot file to write
+	 * @param courses are the courses to write
+	 *
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public static void writeSnapshot(String fileName, ArrayList<Course> courses) throws IOException {
+		writeSnapshot(fileName, courses, NO_SOURCE, 0);
+	}
+
+	/**
+	 * Writes the given courses to a snapshot file, recording the length and modified time of
+	 * the catalog file they were parsed from. The snapshot is written to a new temporary file
+	 * in the same directory, forced to the storage device, and renamed over the snapshot file
+	 * in one atomic move. The temporary file is deleted if the write or the move fails.
+	 *
+	 * @param fileName is the name of the snapshot file to write
+	 * @param courses are the courses to write
+	 * @param sourceLength is the length of the catalog file
+	 * @param sourceModified is the last modified time of the catalog file
+	 *
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public static void writeSnapshot(String fileName, ArrayList<Course> courses, long sourceLength,
+			long sourceModified) throws IOException {
+
+		Path path = Paths.get(fileName).toAbsolutePath();
+		Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), TEMP_SUFFIX);
+		boolean moved = false;
+
+		try {
+			try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+				writeSnapshot(out, courses, sourceLength, sourceModified);
+				out.getFD().sync();
+			}
+
+			Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			moved = true;
+		} finally {
+			if (!moved) {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+
+	/**
+	 * Writes the given courses as a snapshot to a stream. The stream is flushed but not closed.
+	 *
+	 * @param stream is the stream to write to
+	 * @param courses are the courses to write
+	 * @param sourceLength is the length of the catalog file
+	 * @param sourceModified is the last modified time of the catalog file
+	 *
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	private static void writeSnapshot(OutputStream stream, ArrayList<Course> courses, long sourceLength,
+			long sourceModified) throws IOException {
+
+		int size = courses.size();
+
+		//Build the string table and the index columns
+		HashMap<String, Integer> stringIndexes = new HashMap<String, Integer>();
+		ArrayList<String> strings = new ArrayList<String>();
+
+		int[] names = new int[size];
+		int[] titles = new int[size];
+		int[] sections = new int[size];
+		int[] instructorIds = new int[size];
+		int[] meetingDays = new int[size];
+
+		for (int i = 0; i < size; i++) {
+			Course c = courses.get(i);
+			names[i] = stringIndex(c.getName(), stringIndexes, strings);
+			titles[i] = stringIndex(c.getTitle(), stringIndexes, strings);
+			sections[i] = stringIndex(c.getSection(), stringIndexes, strings);
+			instructorIds[i] = stringIndex(c.getInstructorId(), stringIndexes, strings);
+			meetingDays[i] = stringIndex(c.getMeetingDays(), stringIndexes, strings);
+		}
+
+		CRC32 checksum = new CRC32();
+
+		DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+				new BufferedOutputStream(stream, BUFFER_SIZE), checksum));
+
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeLong(sourceLength);
+		out.writeLong(sourceModified);
+
+		out.writeInt(strings.size());
+		for (String s : strings) {
+			out.writeUTF(s);
+		}
+
+		out.writeInt(size);
+		writeColumn(out, names);
+		writeColumn(out, titles);
+		writeColumn(out, sections);
+		writeColumn(out, instructorIds);
+		writeColumn(out, meetingDays);
+
+		for (int i = 0; i < size; i++) {
+			out.writeInt(courses.get(i).getCredits());
+		}
+		for (int i = 0; i < size; i++) {
+			out.writeInt(courses.get(i).getStartTime());
+		}
+		for (int i = 0; i < size; i++) {
+			out.writeInt(courses.get(i).getEndTime());
+		}
+		for (int i = 0; i < size; i++) {
+			out.writeInt(courses.get(i).getMeetingDaysMask());
+		}
+		for (int i = 0; i < size; i++) {
+			out.writeInt(courses.get(i).getCapacity());
+		}
+		for (int i = 0; i < size; i++) {
+			out.writeInt(courses.get(i).getEnrolled());
+		}
+
+		//The checksum covers everything written before it
+		out.writeLong(checksum.getValue());
+		out.flush();
+	}
+
+	/**
+	 * Reads the courses from a snapshot file. Every course is created through the Course
+	 * constructor, so the snapshot cannot hold a course that would fail validation.
+	 *
+	 * @param fileName is the name of the snapshot file to read
+	 *
+	 * @return the courses in the snapshot, in the order they were written
+	 *
+	 * @throws IOException if the snapshot cannot be read, has an unknown format or version,
+	 * or is damaged
+	 */
+	public static ArrayList<Course> readSnapshot(String fileName) throws IOException {
+
+		CRC32 checksum = new CRC32();
+
+		//No count can be larger than the number of bytes in the file
+		long maxCount = new File(fileName).length();
+
+		try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+				new BufferedInputStream(new FileInputStream(fileName), BUFFER_SIZE), checksum))) {
+
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not a catalog snapshot.");
+			}
+
+			if (in.readInt() != VERSION) {
+				throw new IOException("Unsupported catalog snapshot version.");
+			}
+
+			//The source length and modified time are only read by hasCurrentSnapshot()
+			in.readLong();
+			in.readLong();
+
+			int stringCount = readCount(in, maxCount);
+			String[] strings = new String[stringCount];
+			for (int i = 0; i < stringCount; i++) {
+				strings[i] = in.readUTF();
+			}
+
+			int size = readCount(in, maxCount);
+			int[] names = readColumn(in, size);
+			int[] titles = readColumn(in, size);
+			int[] sections = readColumn(in, size);
+			int[] instructorIds = readColumn(in, size);
+			int[] meetingDays = readColumn(in, size);
+			int[] credits = readColumn(in, size);
+			int[] startTimes = readColumn(in, size);
+			int[] endTimes = readColumn(in, size);
+			int[] meetingDaysMasks = readColumn(in, size);
+			int[] capacities = readColumn(in, size);
+			int[] enrolled = readColumn(in, size);
+
+			long expected = checksum.getValue();
+			if (in.readLong() != expected) {
+				throw new IOException("Damaged catalog snapshot.");
+			}
+
+			ArrayList<Course> courses = new ArrayList<Course>(size);
+
+			try {
+				for (int i = 0; i < size; i++) {
+
+					String days = strings[meetingDays[i]];
+
+					if (Activity.meetingDaysToMask(days) != meetingDaysMasks[i]) {
+						throw new IOException("Damaged catalog snapshot.");
+					}
+
+					Course course = new Course(strings[names[i]], strings[titles[i]], strings[sections[i]], credits[i],
+							strings[instructorIds[i]], days, startTimes[i], endTimes[i]);
+
+					if (capacities[i] != Course.UNLIMITED_SEATS || enrolled[i] != 0) {
+						course.setSeats(capacities[i], enrolled[i]);
+					}
+
+					courses.add(course);
+				}
+			} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+				throw new IOException("Damaged catalog snapshot.", e);
+			}
+
+			return courses;
+		}
+	}
+
+	/**
+	 * Returns the index of the given string in the string table, adding it if it is new.
+	 *
+	 * @param s is the string to look up
+	 * @param stringIndexes are the indexes of the strings already in the table
+	 * @param strings is the string table
+	 *
+	 * @return the index of the string in the string table
+	 */
+	private static int stringIndex(String s, HashMap<String, Integer> stringIndexes, ArrayList<String> strings) {
+
+		Integer index = stringIndexes.get(s);
+
+		if (index == null) {
+			index = strings.size();
+			stringIndexes.put(s, index);
+			strings.add(s);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Writes a column of ints.
+	 *
+	 * @param out is the stream to write to
+	 * @param column is the column to write
+	 *
+	 * @throws IOException if the column cannot be written
+	 */
+	private static void writeColumn(DataOutputStream out, int[] column) throws IOException {
+		for (int value : column) {
+			out.writeInt(value);
+		}
+	}
+
+	/**
+	 * Reads a column of ints.
+	 *
+	 * @param in is the stream to read from
+	 * @param size is the number of values in the column
+	 *
+	 * @return the column
+	 *
+	 * @throws IOException if the column cannot be read
+	 */
+	private static int[] readColumn(DataInputStream in, int size) throws IOException {
+
+		int[] column = new int[size];
+
+		for (int i = 0; i < size; i++) {
+			column[i] = in.readInt();
+		}
+
+		return column;
+	}
+
+	/**
+	 * Reads a count of strings or courses.
+	 *
+	 * @param in is the stream to read from
+	 * @param maxCount is the largest count that can be valid
+	 *
+	 * @return the count
+	 *
+	 * @throws IOException if the count cannot be read or is out of range
+	 */
+	private static int readCount(DataInputStream in, long maxCount) throws IOException {
+
+		int count = in.readInt();
+
+		if (count < 0 || count > maxCount) {
+			throw new IOException("Damaged catalog snapshot.");
+		}
+
+		return count;
+	}
+
+}
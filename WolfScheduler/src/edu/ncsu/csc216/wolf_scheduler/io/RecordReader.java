@@ -0,0 +1,130 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * RecordReader reads the lines of a record file through a single reusable buffer. Lines are
+ * split on the same separators as Scanner.nextLine(): \r\n, \n, \r, \u2028, \u2029 and \u0085.
+ *
+ * @author msabrams
+ */
+class RecordReader implements Closeable {
+
+	/** Number of characters read from the underlying reader at a time */
+	static final int BUFFER_SIZE = 8192;
+
+	/** Reader the records are read from */
+	private Reader in;
+
+	/** Buffer of characters read but not yet returned */
+	private char[] buffer;
+
+	/** Index of the next character to return from the buffer */
+	private int position;
+
+	/** Number of valid characters in the buffer */
+	private int limit;
+
+	/** True if the last line ended with \r, so a following \n belongs to the same separator */
+	private boolean skipLineFeed;
+
+	/**
+	 * Creates a RecordReader that reads lines from the given reader.
+	 *
+	 * @param in is the reader to read lines from
+	 */
+	RecordReader(Reader in) {
+		this.in = in;
+		this.buffer = new char[BUFFER_SIZE];
+	}
+
+	/**
+	 * Returns the next line without its line separator.
+	 *
+	 * @return the next line, or null if there are no more lines
+	 *
+	 * @throws IOException if the underlying reader cannot be read
+	 */
+	String readLine() throws IOException {
+
+		StringBuilder partial = null;
+
+		while (true) {
+
+			if (position >= limit) {
+
+				limit = in.read(buffer, 0, buffer.length);
+				position = 0;
+
+				if (limit <= 0) {
+					limit = 0;
+					return partial == null ? null : partial.toString();
+				}
+			}
+
+			if (skipLineFeed) {
+				skipLineFeed = false;
+				if (buffer[position] == '\n') {
+					position++;
+					continue;
+				}
+			}
+
+			int start = position;
+
+			while (position < limit) {
+
+				char c = buffer[position];
+
+				if (isLineSeparator(c)) {
+
+					String line;
+					if (partial == null) {
+						line = new String(buffer, start, position - start);
+					} else {
+						line = partial.append(buffer, start, position - start).toString();
+					}
+
+					position++;
+					skipLineFeed = c == '\r';
+
+					return line;
+				}
+
+				position++;
+			}
+
+			//The line continues past the end of the buffer
+			if (position > start) {
+				if (partial == null) {
+					partial = new StringBuilder();
+				}
+				partial.append(buffer, start, position - start);
+			}
+		}
+	}
+
+	/**
+	 * Checks to see if the given character ends a line.
+	 *
+	 * @param c is the character to check
+	 *
+	 * @return true if c is a line separator
+	 */
+	private static boolean isLineSeparator(char c) {
+		return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085';
+	}
+
+	/**
+	 * Closes the underlying reader.
+	 *
+	 * @throws IOException if the underlying reader cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+}
@@ -0,0 +1,155 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+/**
+ * RecordTokenizer splits a comma separated record into tokens in a single pass and without
+ * regular expressions. Tokens are returned the same way a Scanner using a comma delimiter
+ * returns them: one comma at the start of the record and one comma at the end of the record
+ * are skipped, and consecutive commas produce empty tokens. Integers are parsed in place.
+ *
+ * @author msabrams
+ */
+class RecordTokenizer {
+
+	/** Delimiter between tokens */
+	static final char DELIMITER = ',';
+
+	/** Radix for parsing integers */
+	static final int RADIX = 10;
+
+	/** Record being tokenized */
+	private String line;
+
+	/** Index of the next unread character, which may be the delimiter before the next token */
+	private int position;
+
+	/**
+	 * Creates a RecordTokenizer for the given record.
+	 *
+	 * @param line is the record to tokenize
+	 */
+	RecordTokenizer(String line) {
+		this.line = line;
+		this.position = 0;
+	}
+
+	/**
+	 * Checks to see if the record has more tokens.
+	 *
+	 * @return true if the record has more tokens
+	 */
+	boolean hasNext() {
+		return tokenStart() < line.length();
+	}
+
+	/**
+	 * Returns the next token.
+	 *
+	 * @return the next token
+	 *
+	 * @throws IllegalArgumentException if there are no more tokens
+	 */
+	String next() {
+
+		int start = tokenStart();
+
+		if (start >= line.length()) {
+			throw new IllegalArgumentException();
+		}
+
+		int end = tokenEnd(start);
+		position = end;
+
+		return line.substring(start, end);
+	}
+
+	/**
+	 * Returns the next token as an int. The token may have a leading sign, and must
+	 * otherwise contain only digits.
+	 *
+	 * @return the value of the next token
+	 *
+	 * @throws IllegalArgumentException if there are no more tokens or the token is not an int
+	 */
+	int nextInt() {
+
+		int start = tokenStart();
+
+		if (start >= line.length()) {
+			throw new IllegalArgumentException();
+		}
+
+		int end = tokenEnd(start);
+		int i = start;
+
+		boolean negative = false;
+		char first = line.charAt(i);
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			i++;
+		}
+
+		if (i == end) {
+			throw new IllegalArgumentException();
+		}
+
+		//Accumulate as a negative number so Integer.MIN_VALUE can be parsed
+		long value = 0;
+		for (; i < end; i++) {
+
+			int digit = Character.digit(line.charAt(i), RADIX);
+
+			if (digit < 0) {
+				throw new IllegalArgumentException();
+			}
+
+			value = value * RADIX - digit;
+
+			if (value < Integer.MIN_VALUE) {
+				throw new IllegalArgumentException();
+			}
+		}
+
+		if (!negative) {
+			value = -value;
+			if (value > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException();
+			}
+		}
+
+		position = end;
+
+		return (int) value;
+	}
+
+	/**
+	 * Returns the index of the first character of the next token, skipping the delimiter
+	 * in front of it.
+	 *
+	 * @return the start of the next token, or the length of the record if there are no more tokens
+	 */
+	private int tokenStart() {
+
+		int start = position;
+
+		if (start < line.length() && line.charAt(start) == DELIMITER) {
+			start++;
+		}
+
+		return start;
+	}
+
+	/**
+	 * Returns the index just past the last character of the token starting at start.
+	 *
+	 * @param start is the start of the token
+	 *
+	 * @return the end of the token
+	 */
+	private int tokenEnd(int start) {
+
+		int end = line.indexOf(DELIMITER, start);
+
+		return end == -1 ? line.length() : end;
+	}
+
+}
@@ -0,0 +1,613 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * ScheduleJournal is an append-only binary log of the changes made to a schedule. Each change
+ * is written as one record before it is applied, so a schedule can be rebuilt after a crash by
+ * replaying the journal from the start. A journal starts with a magic number and a format
+ * version, and each record is its length, a one byte type with its fields, and a CRC-32 of
+ * the type and fields. A record that was only partly written when the program stopped fails
+ * its length or checksum, so replaying stops at the last complete record and the partial
+ * record is cut off before new records are appended.
+ *
+ * Appending a record writes only that record, instead of rewriting the whole schedule. A
+ * journal grows with every change, so it can be compacted into the shortest list of records
+ * that rebuilds the current schedule, which replaces the journal file in one atomic rename.
+ *
+ * @author msabrams
+ */
+public class ScheduleJournal implements Closeable {
+
+	/** Magic number at the start of every journal, "WSJL" in ASCII */
+	static final int MAGIC = 0x57534A4C;
+
+	/** Version of the journal format written by this class */
+	static final int VERSION = 2;
+
+	/** Number of bytes in the journal header */
+	static final int HEADER_SIZE = 8;
+
+	/** Largest number of bytes a record can have, which no valid record comes close to */
+	static final int MAX_RECORD_SIZE = 1 << 20;
+
+	/** Suffix of the temporary files the journal is compacted into */
+	static final String TEMP_SUFFIX = ".tmp";
+
+	/** Record type of a course added by name and section */
+	static final byte ADD_COURSE = 1;
+
+	/** Record type of an added event */
+	static final byte ADD_EVENT = 2;
+
+	/** Record type of courses and events added together, in order */
+	static final byte ADD_ACTIVITIES = 3;
+
+	/** Record type of an activity removed by its index in the schedule */
+	static final byte REMOVE = 4;
+
+	/** Record type of a schedule reset */
+	static final byte RESET = 5;
+
+	/** Record type of a schedule title change */
+	static final byte TITLE = 6;
+
+	/** Path of the journal file */
+	private Path path;
+
+	/** Channel the records are appended to */
+	private FileChannel channel;
+
+	/** Whether each record is forced to the storage device before an append returns */
+	private boolean sync;
+
+	/** Number of records in the journal file */
+	private int recordCount;
+
+	/** Buffer the fields of the record being appended are written to */
+	private ByteArrayOutputStream recordBytes;
+
+	/** Stream writing the fields of the record being appended */
+	private DataOutputStream record;
+
+	/**
+	 * Replayer applies the records of a journal to a schedule while the journal is opened.
+	 *
+	 * @author msabrams
+	 */
+	public interface Replayer {
+
+		/**
+		 * Adds the course with the given name and section.
+		 *
+		 * @param name is the name of the course
+		 * @param section is the section of the course
+		 */
+		void addCourse(String name, String section);
+
+		/**
+		 * Adds an event.
+		 *
+		 * @param title is the title of the event
+		 * @param meetingDays are the meeting days of the event
+		 * @param startTime is the start time of the event
+		 * @param endTime is the end time of the event
+		 * @param eventDetails are the details of the event
+		 */
+		void addEvent(String title, String meetingDays, int startTime, int endTime, String eventDetails);
+
+		/**
+		 * Starts a group of courses and events that are added together. The addCourse() and
+		 * addEvent() calls that follow, up to endActivities(), are the group's activities in
+		 * the order they were added.
+		 */
+		void startActivities();
+
+		/**
+		 * Adds the courses and events of the group started by startActivities() together.
+		 */
+		void endActivities();
+
+		/**
+		 * Removes the activity at the given index.
+		 *
+		 * @param idx is the index of the activity
+		 */
+		void removeActivity(int idx);
+
+		/**
+		 * Resets the schedule.
+		 */
+		void reset();
+
+		/**
+		 * Changes the schedule title.
+		 *
+		 * @param title is the new title
+		 */
+		void setTitle(String title);
+	}
+
+	/**
+	 * Creates a ScheduleJournal that appends to the given open channel.
+	 *
+	 * @param path is the path of the journal file
+	 * @param channel is the channel positioned after the last complete record
+	 * @param sync is whether each record is forced to the storage device
+	 * @param recordCount is the number of records in the file
+	 */
+	private ScheduleJournal(Path path, FileChannel channel, boolean sync, int recordCount) {
+		this.path = path;
+		this.channel = channel;
+		this.sync = sync;
+		this.recordCount = recordCount;
+		this.recordBytes = new ByteArrayOutputStream();
+		this.record = new DataOutputStream(recordBytes);
+	}
+
+	/**
+	 * Opens the journal in the given file, creating it if it does not exist, and replays its
+	 * records in order. A partly written record at the end of the file is cut off.
+	 *
+	 * @param fileName is the name of the journal file
+	 * @param sync is whether each appended record is forced to the storage device before the
+	 * append returns, so it survives a power failure and not just a crash of the program
+	 * @param replayer applies each record
+	 *
+	 * @return the journal, ready for appending
+	 *
+	 * @throws IOException if the file cannot be read or written, or is not a journal
+	 */
+	public static ScheduleJournal open(String fileName, boolean sync, Replayer replayer) throws IOException {
+
+		Path path = Paths.get(fileName);
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+
+		try {
+
+			int recordCount = 0;
+
+			//A file shorter than the header was cut off while it was being created
+			if (channel.size() < HEADER_SIZE) {
+				channel.truncate(0);
+				writeHeader(channel);
+			} else {
+
+				long end = HEADER_SIZE;
+
+				//The stream is not closed, since closing it would close the channel
+				DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+
+				if (in.readInt() != MAGIC) {
+					throw new IOException("Not a schedule journal.");
+				}
+
+				if (in.readInt() != VERSION) {
+					throw new IOException("Unsupported schedule journal version.");
+				}
+
+				byte[] fields;
+				while ((fields = readRecord(in)) != null) {
+					replay(fields, replayer);
+					recordCount++;
+					end += Integer.BYTES + fields.length + Integer.BYTES;
+				}
+
+				channel.truncate(end);
+			}
+
+			channel.position(channel.size());
+
+			return new ScheduleJournal(path, channel, sync, recordCount);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the number of records in the journal.
+	 *
+	 * @return the number of records
+	 */
+	public int getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Appends a record of a course added by name and section.
+	 *
+	 * @param name is the name of the course
+	 * @param section is the section of the course
+	 *
+	 * @throws IOException if the record cannot be written
+	 */
+	public void appendAddCourse(String name, String section) throws IOException {
+		startRecord(ADD_COURSE);
+		record.writeUTF(name);
+		record.writeUTF(section);
+		append();
+	}
+
+	/**
+	 * Appends a record of an added event.
+	 *
+	 * @param event is the event
+	 *
+	 * @throws IOException if the record cannot be written
+	 */
+	public void appendAddEvent(Event event) throws IOException {
+		startRecord(ADD_EVENT);
+		writeEvent(record, event);
+		append();
+	}
+
+	/**
+	 * Appends one record of courses and events added together, so they are replayed together
+	 * and in the same order. Each course is recorded by its name and section.
+	 *
+	 * @param activities are the courses and events, in the order they were added
+	 *
+	 * @throws IOException if the record cannot be written
+	 */
+	public void appendAddActivities(ArrayList<Activity> activities) throws IOException {
+
+		startRecord(ADD_ACTIVITIES);
+
+		record.writeInt(activities.size());
+		for (Activity activity : activities) {
+			if (activity instanceof Course) {
+				record.writeByte(ADD_COURSE);
+				record.writeUTF(((Course) activity).getName());
+				record.writeUTF(((Course) activity).getSection());
+			} else {
+				record.writeByte(ADD_EVENT);
+				writeEvent(record, (Event) activity);
+			}
+		}
+
+		append();
+	}
+
+	/**
+	 * Appends a record of an activity removed by its index in the schedule.
+	 *
+	 * @param idx is the index of the activity
+	 *
+	 * @throws IOException if the record cannot be written
+	 */
+	public void appendRemove(int idx) throws IOException {
+		startRecord(REMOVE);
+		record.writeInt(idx);
+		append();
+	}
+
+	/**
+	 * Appends a record of a schedule reset.
+	 *
+	 * @throws IOException if the record cannot be written
+	 */
+	public void appendReset() throws IOException {
+		startRecord(RESET);
+		append();
+	}
+
+	/**
+	 * Appends a record of a schedule title change.
+	 *
+	 * @param title is the new title
+	 *
+	 * @throws IOException if the record cannot be written
+	 */
+	public void appendTitle(String title) throws IOException {
+		startRecord(TITLE);
+		record.writeUTF(title);
+		append();
+	}
+
+	/**
+	 * Replaces the journal with the shortest list of records that rebuilds the given schedule:
+	 * its title followed by each of its activities. The compacted journal is written to a new
+	 * temporary file next to the journal, which then replaces the journal in one atomic
+	 * rename, so the journal file always holds either the old or the new records. The
+	 * temporary file is deleted if it cannot be written or renamed. The directory is then
+	 * forced to the storage device, so the rename itself survives a crash.
+	 *
+	 * @param title is the schedule title
+	 * @param schedule are the scheduled activities, in order
+	 *
+	 * @throws IOException if the compacted journal cannot be written, or the directory cannot
+	 *         be forced after the rename, in which case the journal already holds the new records
+	 */
+	public void compact(String title, ArrayList<Activity> schedule) throws IOException {
+
+		Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), TEMP_SUFFIX);
+		FileChannel compacted = null;
+		boolean moved = false;
+
+		try {
+
+			compacted = FileChannel.open(temp, StandardOpenOption.WRITE);
+
+			writeHeader(compacted);
+
+			startRecord(TITLE);
+			record.writeUTF(title);
+			writeRecord(compacted);
+
+			for (Activity activity : schedule) {
+
+				if (activity instanceof Course) {
+					startRecord(ADD_COURSE);
+					record.writeUTF(((Course) activity).getName());
+					record.writeUTF(((Course) activity).getSection());
+				} else {
+					startRecord(ADD_EVENT);
+					writeEvent(record, (Event) activity);
+				}
+
+				writeRecord(compacted);
+			}
+
+			compacted.force(true);
+
+			Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			moved = true;
+		} finally {
+			if (!moved) {
+				if (compacted != null) {
+					compacted.close();
+				}
+				Files.deleteIfExists(temp);
+			}
+		}
+
+		channel.close();
+		channel = compacted;
+		recordCount = 1 + schedule.size();
+
+		syncDirectory(path.toAbsolutePath().getParent());
+	}
+
+	/**
+	 * Closes the journal file.
+	 *
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Empties the record buffer and writes the type of a new record to it.
+	 *
+	 * @param type is the record type
+	 *
+	 * @throws IOException if the type cannot be written
+	 */
+	private void startRecord(byte type) throws IOException {
+		recordBytes.reset();
+		record.writeByte(type);
+	}
+
+	/**
+	 * Appends the record in the record buffer to the journal. If the record cannot be written
+	 * or forced, the journal is truncated back to where the record started before the
+	 * exception is rethrown, so a failed append leaves no part of the record behind.
+	 *
+	 * @throws IOException if the record cannot be written
+	 */
+	private void append() throws IOException {
+
+		long start = channel.position();
+
+		try {
+
+			writeRecord(channel);
+
+			if (sync) {
+				channel.force(false);
+			}
+		} catch (IOException e) {
+
+			//Cuts off a partly written or unforced record, so the next record follows the last good one
+			try {
+				channel.truncate(start);
+				channel.position(start);
+			} catch (IOException truncateFailure) {
+				e.addSuppressed(truncateFailure);
+			}
+
+			throw e;
+		}
+
+		recordCount++;
+	}
+
+	/**
+	 * Writes the record in the record buffer to the given channel with its length and
+	 * checksum, and empties the buffer.
+	 *
+	 * @param out is the channel to write to
+	 *
+	 * @throws IOException if the record cannot be written
+	 */
+	private void writeRecord(FileChannel out) throws IOException {
+
+		byte[] fields = recordBytes.toByteArray();
+		recordBytes.reset();
+
+		CRC32 checksum = new CRC32();
+		checksum.update(fields);
+
+		ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + fields.length + Integer.BYTES);
+		buffer.putInt(fields.length);
+		buffer.put(fields);
+		buffer.putInt((int) checksum.getValue());
+		buffer.flip();
+
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+	}
+
+	/**
+	 * Forces the entries of a directory to the storage device. Platforms that cannot open a
+	 * directory, such as Windows, make a rename durable on their own, so they are skipped.
+	 *
+	 * @param dir is the directory, or null if there is none
+	 *
+	 * @throws IOException if the directory cannot be forced
+	 */
+	private static void syncDirectory(Path dir) throws IOException {
+
+		if (dir == null) {
+			return;
+		}
+
+		try (FileChannel directory = FileChannel.open(dir, StandardOpenOption.READ)) {
+			directory.force(true);
+		} catch (AccessDeniedException e) {
+			//The directory cannot be opened on this platform
+		}
+	}
+
+	/**
+	 * Writes the journal header to the start of an empty channel.
+	 *
+	 * @param out is the channel to write to
+	 *
+	 * @throws IOException if the header cannot be written
+	 */
+	private static void writeHeader(FileChannel out) throws IOException {
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC);
+		header.putInt(VERSION);
+		header.flip();
+
+		while (header.hasRemaining()) {
+			out.write(header);
+		}
+	}
+
+	/**
+	 * Writes the fields of an event.
+	 *
+	 * @param out is the stream to write to
+	 * @param event is the event
+	 *
+	 * @throws IOException if the fields cannot be written
+	 */
+	private static void writeEvent(DataOutputStream out, Event event) throws IOException {
+		out.writeUTF(event.getTitle());
+		out.writeUTF(event.getMeetingDays());
+		out.writeInt(event.getStartTime());
+		out.writeInt(event.getEndTime());
+		out.writeUTF(event.getEventDetails());
+	}
+
+	/**
+	 * Reads the fields of the next complete record.
+	 *
+	 * @param in is the stream to read from
+	 *
+	 * @return the type and fields of the record, or null if there are no more complete records
+	 *
+	 * @throws IOException if the journal cannot be read
+	 */
+	private static byte[] readRecord(DataInputStream in) throws IOException {
+
+		try {
+
+			int length = in.readInt();
+
+			if (length < 1 || length > MAX_RECORD_SIZE) {
+				return null;
+			}
+
+			byte[] fields = new byte[length];
+			in.readFully(fields);
+
+			CRC32 checksum = new CRC32();
+			checksum.update(fields);
+
+			return in.readInt() == (int) checksum.getValue() ? fields : null;
+		} catch (EOFException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Applies one record.
+	 *
+	 * @param fields are the type and fields of the record
+	 * @param replayer applies the record
+	 *
+	 * @throws IOException if the record has an unknown type
+	 */
+	private static void replay(byte[] fields, Replayer replayer) throws IOException {
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(fields));
+
+		switch (in.readByte()) {
+		case ADD_COURSE:
+			replayer.addCourse(in.readUTF(), in.readUTF());
+			break;
+		case ADD_EVENT:
+			replayer.addEvent(in.readUTF(), in.readUTF(), in.readInt(), in.readInt(), in.readUTF());
+			break;
+		case ADD_ACTIVITIES:
+			int count = in.readInt();
+			replayer.startActivities();
+			for (int i = 0; i < count; i++) {
+				byte type = in.readByte();
+				if (type == ADD_COURSE) {
+					replayer.addCourse(in.readUTF(), in.readUTF());
+				} else if (type == ADD_EVENT) {
+					replayer.addEvent(in.readUTF(), in.readUTF(), in.readInt(), in.readInt(), in.readUTF());
+				} else {
+					throw new IOException("Damaged schedule journal.");
+				}
+			}
+			replayer.endActivities();
+			break;
+		case REMOVE:
+			replayer.removeActivity(in.readInt());
+			break;
+		case RESET:
+			replayer.reset();
+			break;
+		case TITLE:
+			replayer.setTitle(in.readUTF());
+			break;
+		default:
+			throw new IOException("Damaged schedule journal.");
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StringPool shares one instance between equal strings read while loading a file. Titles,
+ * names, and instructor ids repeat across the sections of a catalog, so the copies made for
+ * each line can be dropped in favor of the first one. Unlike String.intern(), a pool only
+ * lives as long as the load that uses it. The pool can be used by several threads at once.
+ *
+ * @author msabrams
+ */
+public class StringPool {
+
+	/** Estimated size of a String object without its character array, in bytes */
+	static final int STRING_OBJECT_SIZE = 24;
+
+	/** Estimated size of an array header, in bytes */
+	static final int ARRAY_HEADER_SIZE = 16;
+
+	/** Objects are aligned to this many bytes */
+	static final int OBJECT_ALIGNMENT = 8;
+
+	/** Largest character that is stored in one byte */
+	static final char MAX_LATIN1 = '\u00FF';
+
+	/** Shared instance of each distinct string */
+	private ConcurrentHashMap<String, String> strings;
+
+	/** Number of strings that were replaced with a shared instance */
+	private AtomicLong duplicates;
+
+	/** Estimated bytes freed by replacing strings with a shared instance */
+	private AtomicLong bytesSaved;
+
+	/**
+	 * Creates an empty StringPool.
+	 */
+	public StringPool() {
+		this.strings = new ConcurrentHashMap<String, String>();
+		this.duplicates = new AtomicLong();
+		this.bytesSaved = new AtomicLong();
+	}
+
+	/**
+	 * Returns the shared instance of the given string, adding the string to the pool if it
+	 * is the first of its value.
+	 *
+	 * @param s is the string to share
+	 *
+	 * @return the pool's instance of the string
+	 */
+	public String intern(String s) {
+
+		String shared = strings.putIfAbsent(s, s);
+
+		if (shared == null) {
+			return s;
+		}
+
+		duplicates.incrementAndGet();
+		bytesSaved.addAndGet(estimatedSize(s));
+
+		return shared;
+	}
+
+	/**
+	 * Returns the number of distinct strings in the pool.
+	 *
+	 * @return the number of distinct strings
+	 */
+	public int size() {
+		return strings.size();
+	}
+
+	/**
+	 * Returns the number of strings that were replaced with a shared instance.
+	 *
+	 * @return the number of duplicates
+	 */
+	public long getDuplicateCount() {
+		return duplicates.get();
+	}
+
+	/**
+	 * Returns the estimated number of bytes freed by replacing strings with a shared
+	 * instance. The estimate assumes a 64-bit JVM with compressed references and compact
+	 * strings, and counts the String object and its character array.
+	 *
+	 * @return the estimated bytes saved
+	 */
+	public long getBytesSaved() {
+		return bytesSaved.get();
+	}
+
+	/**
+	 * Returns the estimated heap size of a string.
+	 *
+	 * @param s is the string to measure
+	 *
+	 * @return the estimated size in bytes
+	 */
+	static long estimatedSize(String s) {
+
+		int bytesPerChar = 1;
+
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) > MAX_LATIN1) {
+				bytesPerChar = 2;
+				break;
+			}
+		}
+
+		long array = ARRAY_HEADER_SIZE + (long) s.length() * bytesPerChar;
+		array = (array + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+
+		return STRING_OBJECT_SIZE + array;
+	}
+
+}
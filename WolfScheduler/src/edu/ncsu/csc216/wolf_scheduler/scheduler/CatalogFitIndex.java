@@ -0,0 +1,194 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
+
+/**
+ * CatalogFitIndex tracks which catalog rows cannot be added to the current schedule because
+ * they conflict with a scheduled activity or are a section of a course that is already
+ * scheduled. Each row keeps a count of the scheduled activities that block it, so adding or
+ * removing an activity only changes the counts of the rows it blocks, which are found through
+ * the catalog's meeting time and name indexes. A bitmap of the rows with a nonzero count is
+ * kept alongside the counts.
+ *
+ * Rows appended to the catalog after the index was built are counted against the whole
+ * schedule the next time the index is synced, so the index follows a catalog that is still
+ * loading.
+ *
+ * @author msabrams
+ */
+class CatalogFitIndex {
+
+	/** Catalog whose rows are tracked */
+	private CourseCatalog catalog;
+
+	/** Number of rows that have been counted */
+	private int rowCount;
+
+	/** Number of scheduled activities blocking each counted row */
+	private int[] blockCounts;
+
+	/** Counted rows with a nonzero block count */
+	private BitSet blocked;
+
+	/**
+	 * Creates a CatalogFitIndex for the given catalog with no counted rows.
+	 *
+	 * @param catalog is the catalog whose rows are tracked
+	 */
+	CatalogFitIndex(CourseCatalog catalog) {
+		this.catalog = catalog;
+		this.rowCount = 0;
+		this.blockCounts = new int[0];
+		this.blocked = new BitSet();
+	}
+
+	/**
+	 * Counts the rows appended to the catalog since the last sync against every activity in
+	 * the given schedule.
+	 *
+	 * @param schedule is the current schedule
+	 */
+	void sync(ArrayList<Activity> schedule) {
+
+		int size = catalog.size();
+
+		if (size == rowCount) {
+			return;
+		}
+
+		if (size > blockCounts.length) {
+			blockCounts = Arrays.copyOf(blockCounts, Math.max(size, blockCounts.length * 2));
+		}
+
+		for (int row = rowCount; row < size; row++) {
+
+			int count = 0;
+
+			for (Activity activity : schedule) {
+				if (blocks(activity, row)) {
+					count++;
+				}
+			}
+
+			blockCounts[row] = count;
+
+			if (count > 0) {
+				blocked.set(row);
+			}
+		}
+
+		rowCount = size;
+	}
+
+	/**
+	 * Counts an activity that was added to the schedule against the rows it blocks.
+	 *
+	 * @param activity is the scheduled activity
+	 */
+	void add(Activity activity) {
+
+		BitSet rows = blockedBy(activity);
+
+		for (int row = rows.nextSetBit(0); row >= 0 && row < rowCount; row = rows.nextSetBit(row + 1)) {
+			if (blockCounts[row]++ == 0) {
+				blocked.set(row);
+			}
+		}
+	}
+
+	/**
+	 * Removes the count of an activity that was removed from the schedule.
+	 *
+	 * @param activity is the removed activity
+	 */
+	void remove(Activity activity) {
+
+		BitSet rows = blockedBy(activity);
+
+		for (int row = rows.nextSetBit(0); row >= 0 && row < rowCount; row = rows.nextSetBit(row + 1)) {
+			if (--blockCounts[row] == 0) {
+				blocked.clear(row);
+			}
+		}
+	}
+
+	/**
+	 * Removes the counts of every scheduled activity.
+	 */
+	void clear() {
+		Arrays.fill(blockCounts, 0, rowCount, 0);
+		blocked.clear();
+	}
+
+	/**
+	 * Checks to see if a scheduled activity blocks the given row.
+	 *
+	 * @param row is the row to check
+	 *
+	 * @return true if the row conflicts with or duplicates a scheduled activity
+	 */
+	boolean isBlocked(int row) {
+		return blocked.get(row);
+	}
+
+	/**
+	 * Returns the rows blocked by a scheduled activity.
+	 *
+	 * @return a new set of the blocked rows
+	 */
+	BitSet getBlocked() {
+		return (BitSet) blocked.clone();
+	}
+
+	/**
+	 * Returns the rows of the catalog that the given scheduled activity blocks.
+	 *
+	 * @param activity is the scheduled activity
+	 *
+	 * @return the blocked rows, which may include rows that have not been counted yet
+	 */
+	private BitSet blockedBy(Activity activity) {
+
+		int[] conflicts = catalog.findConflicts(activity);
+
+		BitSet rows = new BitSet(rowCount);
+		for (int row : conflicts) {
+			rows.set(row);
+		}
+
+		if (activity instanceof Course) {
+			for (int row : catalog.indexesOf(((Course) activity).getName())) {
+				rows.set(row);
+			}
+		}
+
+		return rows;
+	}
+
+	/**
+	 * Checks to see if the given scheduled activity blocks a row, comparing the row's columns
+	 * directly.
+	 *
+	 * @param activity is the scheduled activity
+	 * @param row is the row to check
+	 *
+	 * @return true if the activity conflicts with or duplicates the row
+	 */
+	private boolean blocks(Activity activity, int row) {
+
+		if (activity instanceof Course && ((Course) activity).getName().equals(catalog.getName(row))) {
+			return true;
+		}
+
+		return (activity.getMeetingDaysMask() & catalog.getMeetingDaysMask(row)) != 0
+				&& activity.getStartTime() <= catalog.getEndTime(row)
+				&& catalog.getStartTime(row) <= activity.getEndTime();
+	}
+
+}
@@ -0,0 +1,156 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * ScheduleIndex keeps the activities of a schedule in a sorted interval structure for each
+ * weekday, along with the names of scheduled courses and the titles of scheduled events.
+ * The activities in a schedule never conflict with each other, so the intervals on a day are
+ * disjoint and a new activity only has to be compared against the scheduled activity with the
+ * closest start time on each of its days.
+ *
+ * @author msabrams
+ *
+ */
+class ScheduleIndex {
+
+	/** Number of weekdays that an activity can meet on */
+	static final int DAYS_IN_WEEK = 7;
+
+	/** Scheduled activities for each weekday, keyed by their start time */
+	private ArrayList<TreeMap<Integer, Activity>> days;
+
+	/** Names of the scheduled courses */
+	private HashSet<String> courseNames;
+
+	/** Titles of the scheduled events */
+	private HashSet<String> eventTitles;
+
+	/**
+	 * Creates an empty ScheduleIndex.
+	 */
+	ScheduleIndex() {
+
+		this.days = new ArrayList<TreeMap<Integer, Activity>>();
+
+		for (int i = 0; i < DAYS_IN_WEEK; i++) {
+			this.days.add(new TreeMap<Integer, Activity>());
+		}
+
+		this.courseNames = new HashSet<String>();
+		this.eventTitles = new HashSet<String>();
+	}
+
+	/**
+	 * Checks to see if the given activity is a duplicate of a scheduled activity.
+	 *
+	 * @param activity is the activity which is checked for duplication
+	 *
+	 * @return true if a scheduled activity is a duplicate of the activity
+	 */
+	boolean isDuplicate(Activity activity) {
+
+		if (activity instanceof Course) {
+			return courseNames.contains(((Course) activity).getName());
+		}
+
+		if (activity instanceof Event) {
+			return eventTitles.contains(activity.getTitle());
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns a scheduled activity that has a time conflict with the given activity.
+	 *
+	 * @param activity is the activity which is checked for time conflicts
+	 *
+	 * @return a conflicting scheduled activity, or null if there is no conflict
+	 */
+	Activity findConflict(Activity activity) {
+
+		int mask = activity.getMeetingDaysMask();
+
+		for (int day = 0; day < DAYS_IN_WEEK; day++) {
+
+			if ((mask & (1 << day)) == 0) {
+				continue;
+			}
+
+			//The latest activity starting no later than the end time is the only possible conflict
+			Map.Entry<Integer, Activity> closest = days.get(day).floorEntry(activity.getEndTime());
+
+			if (closest != null && closest.getValue().conflictsWith(activity)) {
+				return closest.getValue();
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Adds a scheduled activity to the index.
+	 *
+	 * @param activity is the activity to add
+	 */
+	void add(Activity activity) {
+
+		if (activity instanceof Course) {
+			courseNames.add(((Course) activity).getName());
+		} else if (activity instanceof Event) {
+			eventTitles.add(activity.getTitle());
+		}
+
+		int mask = activity.getMeetingDaysMask();
+
+		for (int day = 0; day < DAYS_IN_WEEK; day++) {
+			if ((mask & (1 << day)) != 0) {
+				days.get(day).put(activity.getStartTime(), activity);
+			}
+		}
+	}
+
+	/**
+	 * Removes a scheduled activity from the index.
+	 *
+	 * @param activity is the activity to remove
+	 */
+	void remove(Activity activity) {
+
+		if (activity instanceof Course) {
+			courseNames.remove(((Course) activity).getName());
+		} else if (activity instanceof Event) {
+			eventTitles.remove(activity.getTitle());
+		}
+
+		int mask = activity.getMeetingDaysMask();
+
+		for (int day = 0; day < DAYS_IN_WEEK; day++) {
+			if ((mask & (1 << day)) != 0) {
+				days.get(day).remove(activity.getStartTime(), activity);
+			}
+		}
+	}
+
+	/**
+	 * Removes all activities from the index.
+	 */
+	void clear() {
+
+		for (TreeMap<Integer, Activity> day : days) {
+			day.clear();
+		}
+
+		courseNames.clear();
+		eventTitles.clear();
+	}
+
+}
@@ -0,0 +1,50 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * 
+ * ScheduleListener is notified when a WolfScheduler's schedule changes. Listeners are called
+ * after the change is made, in the order they were added, so an observer that mirrors the
+ * schedule can apply each change at the given index instead of rebuilding its copy. Each
+ * listener is given its own copy of the activity, so changing it does not change the schedule.
+ * 
+ * @author msabrams
+ *
+ */
+public interface ScheduleListener {
+
+	/**
+	 * Called after an activity is added to the schedule.
+	 * 
+	 * @param activity is the activity that was added
+	 * @param index is the index of the activity in the schedule
+	 */
+	void activityAdded(Activity activity, int index);
+	
+	/**
+	 * Called after an activity is removed from the schedule.
+	 * 
+	 * @param activity is the activity that was removed
+	 * @param index is the index the activity had in the schedule
+	 */
+	void activityRemoved(Activity activity, int index);
+	
+	/**
+	 * Called after the schedule is reset to an empty schedule.
+	 * 
+	 * @param removedCount is the number of activities the schedule had before the reset
+	 */
+	void scheduleReset(int removedCount);
+	
+	/**
+	 * Called after the schedule title is changed.
+	 * 
+	 * @param title is the new schedule title
+	 */
+	void titleChanged(String title);
+	
+}
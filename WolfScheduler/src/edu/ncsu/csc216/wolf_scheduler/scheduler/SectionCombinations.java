@@ -0,0 +1,372 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import edu.ncsu.csc216.wolf_scheduler.course.CatalogFilter;
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
+
+/**
+ * SectionCombinations enumerates every way of choosing one section of each of a list of
+ * courses so that no two chosen sections conflict, none of them is blocked by the current
+ * schedule, and each of them has an open seat. The sections are found once, when the
+ * combinations are created, and each pair of sections from different courses is compared once
+ * to build a bitmap of the sections that are compatible with each section. The search then
+ * chooses a section for one course at a time, starting with the course that has the fewest
+ * sections, and keeps the bitmap of the sections that are still possible. A choice that
+ * leaves any remaining course without a possible section is dropped at once, so whole
+ * subtrees of conflicting choices are never visited.
+ *
+ * The combinations are produced lazily by a Spliterator. Each pending subtree of the search is
+ * a node on a deque, and splitting hands the first half of the pending nodes to a new
+ * Spliterator, so a parallel stream divides the search across the fork/join pool.
+ *
+ * @author msabrams
+ */
+class SectionCombinations {
+
+	/** Number of courses to choose a section of */
+	private int courseCount;
+
+	/** For each search level, the index of its course in the requested list */
+	private int[] courseIndexes;
+
+	/** For each search level, the index of its first candidate, plus the total at the end */
+	private int[] levelStarts;
+
+	/** Short display array of each candidate section, copied into every combination */
+	private String[][] candidateDisplays;
+
+	/** For each candidate, the candidates of later levels that do not conflict with it */
+	private BitSet[] compatible;
+
+	/** For each search level, the product of the candidate counts from that level on */
+	private long[] remaining;
+
+	/**
+	 * Finds the candidate sections of the given courses and compares them with each other.
+	 * Duplicate course names are ignored, and a course without any open section that fits the
+	 * schedule has no combinations.
+	 *
+	 * @param catalog is the catalog to choose sections from
+	 * @param courseNames are the names of the courses
+	 * @param blocked are the catalog rows blocked by the current schedule
+	 */
+	SectionCombinations(CourseCatalog catalog, ArrayList<String> courseNames, BitSet blocked) {
+
+		ArrayList<String> names = new ArrayList<String>(new LinkedHashSet<String>(courseNames));
+		courseCount = names.size();
+
+		//Find the sections of each course that fit the schedule and are not full
+		int[][] sections = new int[courseCount][];
+		for (int i = 0; i < courseCount; i++) {
+			BitSet rows = new BitSet();
+			for (int row : catalog.filter(CatalogFilter.name(names.get(i)))) {
+				if (catalog.hasOpenSeat(row)) {
+					rows.set(row);
+				}
+			}
+			rows.andNot(blocked);
+			sections[i] = rows.stream().toArray();
+		}
+
+		//Search the courses with the fewest sections first
+		Integer[] order = new Integer[courseCount];
+		for (int i = 0; i < courseCount; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingInt(i -> sections[i].length));
+
+		courseIndexes = new int[courseCount];
+		levelStarts = new int[courseCount + 1];
+		for (int level = 0; level < courseCount; level++) {
+			courseIndexes[level] = order[level];
+			levelStarts[level + 1] = levelStarts[level] + sections[order[level]].length;
+		}
+
+		int candidateCount = levelStarts[courseCount];
+		int[] candidateRows = new int[candidateCount];
+		int[] candidateLevels = new int[candidateCount];
+		candidateDisplays = new String[candidateCount][];
+		for (int level = 0; level < courseCount; level++) {
+			int[] levelRows = sections[courseIndexes[level]];
+			for (int i = 0; i < levelRows.length; i++) {
+				int candidate = levelStarts[level] + i;
+				candidateRows[candidate] = levelRows[i];
+				candidateLevels[candidate] = level;
+				candidateDisplays[candidate] = catalog.getShortDisplayArray(levelRows[i]);
+			}
+		}
+
+		//Compare every pair of candidates from different courses once
+		compatible = new BitSet[candidateCount];
+		for (int a = 0; a < candidateCount; a++) {
+			compatible[a] = new BitSet(candidateCount);
+			for (int b = levelStarts[candidateLevels[a] + 1]; b < candidateCount; b++) {
+				if (!conflict(catalog, candidateRows[a], candidateRows[b])) {
+					compatible[a].set(b);
+				}
+			}
+		}
+
+		remaining = new long[courseCount + 1];
+		remaining[courseCount] = 1;
+		for (int level = courseCount - 1; level >= 0; level--) {
+			long count = levelStarts[level + 1] - levelStarts[level];
+			remaining[level] = count == 0 || remaining[level + 1] <= Long.MAX_VALUE / count
+					? count * remaining[level + 1] : Long.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Returns a lazy stream of the combinations. Each combination has one short display array
+	 * for each course, in the order the courses were requested, and each combination has its
+	 * own copies of the arrays. The stream can be made parallel.
+	 *
+	 * @return the combinations
+	 */
+	Stream<String[][]> stream() {
+
+		ArrayDeque<Node> pending = new ArrayDeque<Node>();
+
+		BitSet all = new BitSet(levelStarts[courseCount]);
+		all.set(0, levelStarts[courseCount]);
+
+		if (isPossible(all, 0)) {
+			pending.add(new Node(0, new int[0], all));
+		}
+
+		return StreamSupport.stream(new CombinationSpliterator(pending), false);
+	}
+
+	/**
+	 * Checks to see if every course from the given level on has a possible section.
+	 *
+	 * @param possible are the possible candidates
+	 * @param fromLevel is the first level to check
+	 *
+	 * @return true if no remaining course is left without a section
+	 */
+	private boolean isPossible(BitSet possible, int fromLevel) {
+
+		for (int level = fromLevel; level < courseCount; level++) {
+			int next = possible.nextSetBit(levelStarts[level]);
+			if (next == -1 || next >= levelStarts[level + 1]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Adds the children of a node to the front of the deque, so the first child is next.
+	 *
+	 * @param node is the node to expand
+	 * @param pending is the deque of pending nodes
+	 */
+	private void expand(Node node, ArrayDeque<Node> pending) {
+
+		int level = node.level;
+		ArrayList<Node> children = new ArrayList<Node>();
+
+		for (int c = node.possible.nextSetBit(levelStarts[level]); c >= 0 && c < levelStarts[level + 1];
+				c = node.possible.nextSetBit(c + 1)) {
+
+			BitSet possible = (BitSet) node.possible.clone();
+			possible.and(compatible[c]);
+
+			if (isPossible(possible, level + 1)) {
+				int[] chosen = Arrays.copyOf(node.chosen, level + 1);
+				chosen[level] = c;
+				children.add(new Node(level + 1, chosen, possible));
+			}
+		}
+
+		for (int i = children.size() - 1; i >= 0; i--) {
+			pending.addFirst(children.get(i));
+		}
+	}
+
+	/**
+	 * Builds the combination of a complete node in the order the courses were requested.
+	 *
+	 * @param node is a node with a section chosen for every course
+	 *
+	 * @return the short display arrays of the chosen sections
+	 */
+	private String[][] combination(Node node) {
+
+		String[][] combination = new String[courseCount][];
+
+		for (int level = 0; level < courseCount; level++) {
+			combination[courseIndexes[level]] = candidateDisplays[node.chosen[level]].clone();
+		}
+
+		return combination;
+	}
+
+	/**
+	 * Checks to see if the courses in two catalog rows conflict, the same way two activities do.
+	 *
+	 * @param catalog is the catalog
+	 * @param a is the first row
+	 * @param b is the second row
+	 *
+	 * @return true if the rows meet on a shared day at touching or overlapping times
+	 */
+	private static boolean conflict(CourseCatalog catalog, int a, int b) {
+		return (catalog.getMeetingDaysMask(a) & catalog.getMeetingDaysMask(b)) != 0
+				&& catalog.getStartTime(a) <= catalog.getEndTime(b)
+				&& catalog.getStartTime(b) <= catalog.getEndTime(a);
+	}
+
+	/**
+	 * Node is a pending subtree of the search: the sections chosen for the first levels and
+	 * the candidates that are still possible for the rest.
+	 *
+	 * @author msabrams
+	 */
+	private static class Node {
+
+		/** Number of levels with a chosen section */
+		private final int level;
+
+		/** Chosen candidate of each level before this one */
+		private final int[] chosen;
+
+		/** Candidates compatible with every chosen section */
+		private final BitSet possible;
+
+		/**
+		 * Creates a Node.
+		 *
+		 * @param level is the number of levels with a chosen section
+		 * @param chosen is the chosen candidate of each level before this one
+		 * @param possible are the candidates compatible with every chosen section
+		 */
+		Node(int level, int[] chosen, BitSet possible) {
+			this.level = level;
+			this.chosen = chosen;
+			this.possible = possible;
+		}
+	}
+
+	/**
+	 * CombinationSpliterator searches the pending nodes depth first and reports each complete
+	 * combination it reaches.
+	 *
+	 * @author msabrams
+	 */
+	private class CombinationSpliterator implements Spliterator<String[][]> {
+
+		/** Pending nodes, with the next one to search at the front */
+		private ArrayDeque<Node> pending;
+
+		/**
+		 * Creates a CombinationSpliterator over the given pending nodes.
+		 *
+		 * @param pending are the pending nodes
+		 */
+		CombinationSpliterator(ArrayDeque<Node> pending) {
+			this.pending = pending;
+		}
+
+		/**
+		 * Searches until the next combination is found and reports it.
+		 *
+		 * @param action receives the combination
+		 *
+		 * @return false if there are no more combinations
+		 */
+		@Override
+		public boolean tryAdvance(Consumer<? super String[][]> action) {
+
+			while (!pending.isEmpty()) {
+
+				Node node = pending.pollFirst();
+
+				if (node.level == courseCount) {
+					action.accept(combination(node));
+					return true;
+				}
+
+				expand(node, pending);
+			}
+
+			return false;
+		}
+
+		/**
+		 * Hands the first half of the pending nodes to a new Spliterator. A single pending node
+		 * is expanded first, unless it only has one level left to choose.
+		 *
+		 * @return the Spliterator for the first half, or null if the rest is too small to split
+		 */
+		@Override
+		public Spliterator<String[][]> trySplit() {
+
+			while (pending.size() == 1) {
+
+				Node node = pending.peekFirst();
+
+				if (node.level >= courseCount - 1) {
+					return null;
+				}
+
+				pending.pollFirst();
+				expand(node, pending);
+			}
+
+			if (pending.size() < 2) {
+				return null;
+			}
+
+			ArrayDeque<Node> prefix = new ArrayDeque<Node>();
+			for (int i = pending.size() / 2; i > 0; i--) {
+				prefix.addLast(pending.pollFirst());
+			}
+
+			return new CombinationSpliterator(prefix);
+		}
+
+		/**
+		 * Returns an upper bound on the number of combinations left, assuming no conflicts.
+		 *
+		 * @return the estimated number of combinations
+		 */
+		@Override
+		public long estimateSize() {
+
+			long estimate = 0;
+
+			for (Node node : pending) {
+				estimate += remaining[node.level];
+				if (estimate < 0) {
+					return Long.MAX_VALUE;
+				}
+			}
+
+			return estimate;
+		}
+
+		/**
+		 * Returns the characteristics of the combinations.
+		 *
+		 * @return ORDERED, NONNULL, and IMMUTABLE
+		 */
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL | IMMUTABLE;
+		}
+	}
+
+}
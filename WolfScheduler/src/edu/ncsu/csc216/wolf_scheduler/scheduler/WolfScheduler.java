@@ -3,15 +3,26 @@
  */
 package edu.ncsu.csc216.wolf_scheduler.scheduler;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
-import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
+import edu.ncsu.csc216.wolf_scheduler.course.CatalogFilter;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
 import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordConsumer;
 import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
 import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseSnapshotIO;
+import edu.ncsu.csc216.wolf_scheduler.io.ScheduleJournal;
+import edu.ncsu.csc216.wolf_scheduler.io.StringPool;
 
 
 /**
@@ -50,34 +61,183 @@ public class WolfScheduler {
 	/** Index for a Course's 2D array containing it's meeting days */
 	static final int INDEX_FOR_COURSE_MEETINGDAYS = 5;
 	
-	/** Available courses for registration */
-	ArrayList<Course> catalog;
+	/** Number of journal records, beyond one per scheduled activity, that triggers compaction */
+	static final int JOURNAL_COMPACT_THRESHOLD = 1000;
+	
+	/** Available courses for registration, stored as columns and indexed by name and section */
+	CourseCatalog catalog;
 	
 	/** Courses currently added for on a person's schedule */
 	ArrayList<Activity> schedule;
 	
+	/** Index of the schedule's activities by weekday, course name, and event title */
+	ScheduleIndex scheduleIndex;
+	
 	/** Schedule title */
 	String title;
 	
+	/** Listeners notified of schedule changes */
+	CopyOnWriteArrayList<ScheduleListener> listeners;
+	
+	/** Catalog rows blocked by the schedule, or null until they are first requested */
+	CatalogFitIndex catalogFit;
+	
+	/** Journal of schedule changes, or null if the schedule is not journaled */
+	ScheduleJournal journal;
+	
+	/** File the schedule is exported to when the journal is compacted, or null for none */
+	String journalExportFile;
+	
+	/** Number of lines the last importSchedule() call skipped */
+	int importSkippedLines;
+	
+	/** Estimated bytes saved by sharing repeated strings while the catalog file was parsed */
+	long catalogBytesSaved;
+	
 	/**
-	 * Creates a WolfSchedule with a given fileName containing Course objects
+	 * Creates a WolfSchedule with a given fileName containing Course objects. If the file has
+	 * a current binary snapshot, the catalog is loaded from the snapshot instead of parsing
+	 * the file.
 	 * 
 	 * @param fileName file containing Course objects
 	 * 
 	 * @throws IllegalArgumentException if file can not be found.
 	 */
 	public WolfScheduler(String fileName) {
+		this(fileName, new StringPool());
+	}
+	
+	/**
+	 * Creates a WolfScheduler with the catalog in the given file, sharing repeated field
+	 * values through the given pool while the file is parsed.
+	 * 
+	 * @param fileName file containing Course objects
+	 * @param pool is the pool that field values are shared through
+	 * 
+	 * @throws IllegalArgumentException if file can not be found.
+	 */
+	private WolfScheduler(String fileName, StringPool pool) {
+		this(loadCatalog(fileName, pool));
+		this.catalogBytesSaved = pool.getBytesSaved();
+	}
+	
+	/**
+	 * Creates a WolfScheduler with an empty catalog. Courses can be added to the catalog
+	 * later with addCoursesToCatalog(), for example while a catalog file is read in the
+	 * background.
+	 */
+	public WolfScheduler() {
+		this(new CourseCatalog());
+	}
+	
+	/**
+	 * Creates a WolfScheduler with the given catalog and an empty schedule. A frozen catalog
+	 * is only read, so one frozen catalog can back the schedules of many sessions on many
+	 * threads at once, without loading the catalog for each of them. Each WolfScheduler is a
+	 * single session and must only be used by one thread at a time.
+	 * 
+	 * @param catalog is the catalog of available courses
+	 * 
+	 * @throws IllegalArgumentException if catalog is null
+	 */
+	public WolfScheduler(CourseCatalog catalog) {
+		
+		if (catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		
+		this.catalog = catalog;
 		
 		this.schedule = new ArrayList<Activity>();
 		
+		this.scheduleIndex = new ScheduleIndex();
+		
 		this.title = "My Schedule";
 		
-		try {
-			this.catalog = CourseRecordIO.readCourseRecords(fileName);
+		this.listeners = new CopyOnWriteArrayList<ScheduleListener>();
+	}
+	
+	/**
+	 * Loads the catalog in the given file and freezes it, so it can be shared by the
+	 * WolfSchedulers of many sessions. If the file has a current binary snapshot, the catalog
+	 * is loaded from the snapshot instead of parsing the file.
+	 * 
+	 * @param fileName file containing Course objects
+	 * 
+	 * @return the frozen catalog
+	 * 
+	 * @throws IllegalArgumentException if file can not be found.
+	 */
+	public static CourseCatalog loadSharedCatalog(String fileName) {
+		return loadCatalog(fileName, new StringPool()).freeze();
+	}
+	
+	/**
+	 * Loads the catalog from the snapshot of the given file when the snapshot is current, and
+	 * from the file itself otherwise. A snapshot that cannot be read is ignored. After the
+	 * file is parsed, a new snapshot of it is written for the next load; a snapshot that
+	 * cannot be written is skipped.
+	 * 
+	 * @param fileName file containing Course objects
+	 * @param pool is the pool that field values are shared through while the file is parsed
+	 * 
+	 * @return the catalog of courses
+	 * 
+	 * @throws IllegalArgumentException if file can not be found.
+	 */
+	private static CourseCatalog loadCatalog(String fileName, StringPool pool) {
+		
+		ArrayList<Course> courses = null;
+		
+		if (CourseSnapshotIO.hasCurrentSnapshot(fileName)) {
+			try {
+				courses = CourseSnapshotIO.readSnapshot(CourseSnapshotIO.snapshotFileName(fileName));
+			}
+			catch (IOException e) {
+				//Fall back to parsing the file
+			}
 		}
-		catch (Exception e) {
-			throw new IllegalArgumentException("Cannot find file.");
+		
+		if (courses == null) {
+			File file = new File(fileName);
+			long length = file.length();
+			long modified = file.lastModified();
+			
+			try {
+				courses = CourseRecordIO.readCourseRecords(fileName, pool);
+			}
+			catch (Exception e) {
+				throw new IllegalArgumentException("Cannot find file.");
+			}
+			
+			try {
+				CourseSnapshotIO.writeCatalogSnapshot(fileName, courses, length, modified);
+			}
+			catch (IOException e) {
+				//The next load parses the file again
+			}
 		}
+		
+		CourseCatalog loaded = new CourseCatalog(courses.size());
+		loaded.addAll(courses);
+		
+		return loaded;
+	}
+	
+	/**
+	 * Adds the given courses to the end of the catalog. A course with the same name and
+	 * section as a course already in the catalog is skipped. The catalog is not thread safe,
+	 * so this must be called on the thread that uses the scheduler, such as the GUI's event
+	 * dispatch thread.
+	 * 
+	 * @param courses are the courses to add
+	 * 
+	 * @return the number of courses that were added
+	 * 
+	 * @throws IllegalStateException if the catalog is frozen
+	 */
+	public int addCoursesToCatalog(ArrayList<Course> courses) {
+		return catalog.addAll(courses);
 	}
 	
 	/**
@@ -98,13 +258,117 @@ public class WolfScheduler {
 		}
 		
         for (int i = 0; i < courseSize; i++) {
-            Course c = catalog.get(i);
-            catalogList[i] = c.getShortDisplayArray();
+            catalogList[i] = catalog.getShortDisplayArray(i);
         }
 		
 		return catalogList;
 	}
 
+	/**
+	 * Returns the number of courses in the WolfScheduler's catalog.
+	 * 
+	 * @return the number of catalog rows
+	 */
+	public int getCourseCatalogSize() {
+		return this.catalog.size();
+	}
+	
+	/**
+	 * Returns one row of the WolfScheduler's catalog as a short display array,
+	 * example: [CSC, 116, Introduction to Java, MW 10:00AM-12:00AM]
+	 * 
+	 * @param row is the index of the course in the catalog
+	 * 
+	 * @return the catalog row
+	 * 
+	 * @throws IndexOutOfBoundsException if row is out of range
+	 */
+	public String[] getCourseCatalogRow(int row) {
+		return this.catalog.getShortDisplayArray(row);
+	}
+	
+	/**
+	 * Returns the rows of the WolfScheduler's catalog from fromRow, inclusive, to toRow,
+	 * exclusive, in a 2D String array. Only the requested rows are built, so a view that shows
+	 * part of a large catalog does not pay for the rest of it.
+	 * 
+	 * @param fromRow is the index of the first row to return
+	 * @param toRow is the index just past the last row to return
+	 * 
+	 * @return the catalog rows in the range
+	 * 
+	 * @throws IndexOutOfBoundsException if fromRow is negative, toRow is greater than the
+	 * catalog size, or fromRow is greater than toRow
+	 */
+	public String[][] getCourseCatalog(int fromRow, int toRow) {
+		
+		if (fromRow < 0 || toRow > this.catalog.size() || fromRow > toRow) {
+			throw new IndexOutOfBoundsException("Invalid catalog rows " + fromRow + " to " + toRow);
+		}
+		
+		String[][] catalogRows = new String[toRow - fromRow][];
+		
+		for (int i = fromRow; i < toRow; i++) {
+			catalogRows[i - fromRow] = catalog.getShortDisplayArray(i);
+		}
+		
+		return catalogRows;
+	}
+
+	/**
+	 * Returns the catalog courses that meet on every one of the given days and start or end
+	 * between fromTime and toTime, inclusive, in a 2D String array in catalog order. For
+	 * example, meeting days of "TH" with times 900 and 1300 returns the sections meeting on
+	 * Tuesday and Thursday that start or end between 9:00AM and 1:00PM. The search uses an
+	 * index of the catalog's meeting times instead of scanning every course.
+	 * 
+	 * @param meetingDays are the days the courses must meet on
+	 * @param fromTime is the earliest start or end time
+	 * @param toTime is the latest start or end time
+	 * 
+	 * @return the matching catalog rows
+	 * 
+	 * @throws IllegalArgumentException if the meeting days or time range are invalid
+	 */
+	public String[][] getCourseCatalogByMeeting(String meetingDays, int fromTime, int toTime) {
+		
+		return getCourseCatalogRows(catalog.findByMeeting(meetingDays, fromTime, toTime));
+	}
+
+	/**
+	 * Returns the catalog courses that match the given filter, in a 2D String array in
+	 * catalog order. Filters on instructor, department, course number, credits, and arranged
+	 * meetings are answered from the catalog's sorted row lists instead of scanning every
+	 * course.
+	 * 
+	 * @param filter is the filter the courses must match
+	 * 
+	 * @return the matching catalog rows
+	 * 
+	 * @throws IllegalArgumentException if filter is null or has invalid meeting days or times
+	 */
+	public String[][] getCourseCatalogByFilter(CatalogFilter filter) {
+		return getCourseCatalogRows(catalog.filter(filter));
+	}
+	
+	/**
+	 * Returns the given catalog rows in a 2D String array.
+	 * 
+	 * @param rows are the rows to return
+	 * 
+	 * @return the catalog rows
+	 */
+	private String[][] getCourseCatalogRows(int[] rows) {
+		
+		String[][] catalogRows = new String[rows.length][];
+		
+		for (int i = 0; i < rows.length; i++) {
+			catalogRows[i] = catalog.getShortDisplayArray(rows[i]);
+		}
+		
+		return catalogRows;
+	}
+
 	/**
 	 * Returns the WolfScheduler's scheduled activities in a 2D String Array
 	 * example: [[CSC, 116, Introduction to Java, MW 10:00AM-12:00AM], ["", "", Lunch, W 5:00PM-7:00PM]]
@@ -157,7 +421,9 @@ public class WolfScheduler {
 	}
 
 	/**
-	 * Exports WolfScheduler's schedule to an output file
+	 * Exports WolfScheduler's schedule to an output file. The schedule is written to a
+	 * temporary file that then replaces the output file, so the output file never holds a
+	 * partly written schedule.
 	 * 
 	 * @param fileName the output file name
 	 * 
@@ -166,17 +432,91 @@ public class WolfScheduler {
 	public void exportSchedule(String fileName) {
 		
 		try {
-			ActivityRecordIO.writeActivityRecords(fileName, this.schedule);
+			ActivityRecordIO.writeActivityRecords(Paths.get(fileName), this.schedule, true);
 		}
-		catch (IOException e) {
+		catch (IOException | InvalidPathException e) {
 			throw new IllegalArgumentException("The file cannot be saved.");
 		}
 		
 	}
 
+	/**
+	 * Imports a schedule from a file written by exportSchedule. The file is read as a stream,
+	 * each course is resolved through the catalog by its name and section, and each event is
+	 * restored from its fields. The activities are then added together, so either all of them
+	 * are added or none are, in the order they appear in the file. Lines that are neither a
+	 * course nor a valid event are skipped and counted, and the count is returned by
+	 * getImportSkippedLines().
+	 * 
+	 * @param fileName is the name of the exported schedule file
+	 * 
+	 * @return the number of activities added
+	 * 
+	 * @throws IllegalArgumentException if the file cannot be read, or the activities cannot
+	 * all be added to the schedule
+	 */
+	public int importSchedule(String fileName) {
+		
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		int skipped;
+		
+		try {
+			skipped = ActivityRecordIO.readActivityRecords(fileName, new ActivityRecordConsumer() {
+				
+				@Override
+				public void acceptCourse(String name, String section) {
+					
+					Course course = catalog.getCourse(name, section);
+					
+					if (course == null) {
+						throw new IllegalArgumentException("The course cannot be added because it is not in the catalog.");
+					}
+					
+					activities.add(course);
+				}
+				
+				@Override
+				public void acceptEvent(Event event) {
+					activities.add(event);
+				}
+			});
+		}
+		catch (IOException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+		
+		addActivities(activities);
+		
+		this.importSkippedLines = skipped;
+		
+		return activities.size();
+	}
+	
+	/**
+	 * Returns the number of lines the last successful importSchedule() call skipped because
+	 * they were neither a course nor a valid event. Blank lines are not counted.
+	 * 
+	 * @return the number of skipped lines, or 0 if no schedule was imported
+	 */
+	public int getImportSkippedLines() {
+		return importSkippedLines;
+	}
+	
+	/**
+	 * Returns the estimated number of bytes saved by sharing one instance between equal
+	 * names, titles, sections, instructor ids, and meeting days while the catalog file was
+	 * parsed. A catalog loaded from its snapshot reports 0, since the snapshot's string table
+	 * already holds each distinct value once, as does a scheduler created without a file.
+	 * 
+	 * @return the estimated bytes saved
+	 */
+	public long getCatalogBytesSaved() {
+		return catalogBytesSaved;
+	}
+
 	/**
 	 * Returns a course with a given name and section. Returns
-	 * null if no course was found.
+	 * null if no course was found. Each call creates a new Course from the catalog's row.
 	 * 
 	 * @param name is the name to query for a course
 	 * @param section is the section to query for a course
@@ -185,24 +525,8 @@ public class WolfScheduler {
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
 		
-		//Current size of the catalog 
-		int catalogSize = this.catalog.size();
-		
-		
-		//Search for target course and return if found
-		for(int i = 0; i < catalogSize; i++) {
-			
-			String currentCourseName = this.catalog.get(i).getName();
-			String currentCourseSection = this.catalog.get(i).getSection();
-			
-			if(name.equals(currentCourseName) && section.equals(currentCourseSection)) {
-				return this.catalog.get(i);
-			}
-
-		}
-
-		// No targeted course was found and returns null
-		return null;
+		// Returns null if no targeted course was found
+		return this.catalog.getCourse(name, section);
 	}
 
 	/**
@@ -214,57 +538,57 @@ public class WolfScheduler {
 	 * @return true if the course exists and is added to schedule or
 	 * false if the course is not in schedule and can not be added.
 	 * 
-	 * @throws IllegalArgumentException if a user is already registered to a course they try to add or if
-	 * there is a time conflict with the course to add and an activity in schedule.
+	 * @throws IllegalArgumentException if a user is already registered to a course they try to add, if
+	 * there is a time conflict with the course to add and an activity in schedule, if every seat
+	 * in the course is taken, or if the change cannot be written to the journal.
 	 */
 	public boolean addCourseToSchedule(String name, String section) {
 		
-		// Current size of catalog
-		int catalogSize = this.catalog.size();
+		int row = this.catalog.indexOf(name, section);
 		
-		//Search to see if target course exists in catalog
-		for(int i = 0; i < catalogSize; i++) {
-			
-			
-			Course currentCourse = this.catalog.get(i);
-			
-			String currentCourseName = currentCourse.getName();
-			String currentCourseSection = currentCourse.getSection();
-			
-			if(name.equals(currentCourseName) && section.equals(currentCourseSection)) {
-				
-				
-				//Course was found and check to see if course is already in schedule
-				
-				if(isCourseInSchedule(currentCourse)) {
-					throw new IllegalArgumentException("You are already enrolled in " + name);
-				}
-				
-				//Checks for conflicting times
-				for (Activity a: schedule) {
-					
-					try {
-						a.checkConflict(currentCourse);
-					} catch (ConflictException e) {
-						throw new IllegalArgumentException("The course cannot be added due to a conflict.");
-						
-					}
-					
-				}
-
-				
-				// Course has not been added to schedule and should return true
-				
-				this.schedule.add(currentCourse);
-				
-				return true;
-			}
-			
-			
+		// Course was not able to be found and returns false
+		if(row == -1) {
+			return false;
 		}
 		
-		// Course was not able to be found and returns false
-		return false;
+		Course currentCourse = this.catalog.getCourse(row);
+		
+		//Course was found and check to see if course is already in schedule
+		if(isCourseInSchedule(currentCourse)) {
+			throw new IllegalArgumentException("You are already enrolled in " + name);
+		}
+		
+		//Checks for conflicting times
+		if(this.scheduleIndex.findConflict(currentCourse) != null) {
+			throw new IllegalArgumentException("The course cannot be added due to a conflict.");
+		}
+		
+		//Reserves a seat last, so a course that cannot be added never holds one
+		if(!this.catalog.reserveSeat(row)) {
+			throw new IllegalArgumentException("The course cannot be added because it is full.");
+		}
+		
+		try {
+			writeJournal(j -> j.appendAddCourse(name, section));
+		}
+		catch (IllegalArgumentException e) {
+			this.catalog.releaseSeat(row);
+			throw e;
+		}
+		
+		// Course has not been added to schedule and should return true
+		this.schedule.add(currentCourse);
+		this.scheduleIndex.add(currentCourse);
+		
+		if (this.catalogFit != null) {
+			this.catalogFit.add(currentCourse);
+		}
+		
+		fireActivityAdded(currentCourse, this.schedule.size() - 1);
+		
+		compactJournalIfLarge();
+		
+		return true;
 	}
 
 	
@@ -277,17 +601,7 @@ public class WolfScheduler {
 	  */
 	private boolean isCourseInSchedule(Course course) {
 		
-		for(int i = 0; i < this.schedule.size(); i++) {
-			
-			Activity currentScheduleCourse = this.schedule.get(i);
-			
-			if(currentScheduleCourse.isDuplicate(course)) {
-				return true;
-			}
-
-		}
-		
-		return false;
+		return this.scheduleIndex.isDuplicate(course);
 	}
 
 	/**
@@ -298,29 +612,79 @@ public class WolfScheduler {
 	 * @return true if course was able/was removed from schedule and
 	 * false if course was not able to be removed from schedule.
 	 * 
-	 * @throws IndexOutOfBoundsException if the index parameter is out of bounds for the schedule ArrayList.
+	 * @throws IllegalArgumentException if the change cannot be written to the journal.
 	 */
 	public boolean removeActivityFromSchedule(int idx) {
 		
-		try {
-			schedule.remove(idx);
-			
-			return true;
-		}
-		catch (IndexOutOfBoundsException e) {
+		if (idx < 0 || idx >= schedule.size()) {
 			return false;
 		}
 		
+		writeJournal(j -> j.appendRemove(idx));
+		
+		Activity removed = schedule.remove(idx);
+		
+		scheduleIndex.remove(removed);
+		
+		releaseSeat(removed);
+		
+		if (catalogFit != null) {
+			catalogFit.remove(removed);
+		}
+		
+		fireActivityRemoved(removed, idx);
+		
+		compactJournalIfLarge();
+		
+		return true;
+	}
+	
+	/**
+	 * Releases the catalog seat held by a course that left the schedule. Events hold no seats.
+	 * 
+	 * @param activity is the activity that left the schedule
+	 */
+	private void releaseSeat(Activity activity) {
 		
+		if (activity instanceof Course) {
+			
+			Course course = (Course) activity;
+			int row = this.catalog.indexOf(course.getName(), course.getSection());
+			
+			if (row != -1) {
+				this.catalog.releaseSeat(row);
+			}
+		}
 	}
 	
 	/**
 	 * Resets the schedule to an empty course list
+	 * 
+	 * @throws IllegalArgumentException if the change cannot be written to the journal.
 	 */
 	public void resetSchedule() {
 		
+		writeJournal(j -> j.appendReset());
+		
+		int removedCount = this.schedule.size();
+		
+		for (Activity activity : this.schedule) {
+			releaseSeat(activity);
+		}
+		
 		this.schedule = new ArrayList<Activity>();
 		
+		this.scheduleIndex.clear();
+		
+		if (this.catalogFit != null) {
+			this.catalogFit.clear();
+		}
+		
+		for (ScheduleListener listener : listeners) {
+			listener.scheduleReset(removedCount);
+		}
+		
+		compactJournalIfLarge();
 	}
 	
 	/**
@@ -328,7 +692,8 @@ public class WolfScheduler {
 	 * 
 	 * @param title is the new title for the WolfScheduler
 	 * 
-	 * @throws IllegalArgumentException if title parameter is invalid.
+	 * @throws IllegalArgumentException if title parameter is invalid or the change cannot be
+	 * written to the journal.
 	 * 
 	 */
 	public void setScheduleTitle(String title) {
@@ -337,8 +702,15 @@ public class WolfScheduler {
 			throw new IllegalArgumentException("Title cannot be null.");
 		}
 		
+		writeJournal(j -> j.appendTitle(title));
+		
 		this.title = title;
 		
+		for (ScheduleListener listener : listeners) {
+			listener.titleChanged(title);
+		}
+		
+		compactJournalIfLarge();
 	}
 	
 	/**
@@ -360,31 +732,567 @@ public class WolfScheduler {
 	 * @param eventEndTime is the end time of the event
 	 * @param eventDetails are the details of the event
 	 * 
-	 * @throws IllegalArgumentException if the event to add is already in the schedule or if there is a time conflict
-	 * with the event to add with any activity already in schedule.
+	 * @throws IllegalArgumentException if the event to add is already in the schedule, if there is a time conflict
+	 * with the event to add with any activity already in schedule, or if the change cannot be written to the journal.
 	 */
 	public void addEventToSchedule(String eventTitle, String eventMeetingDays, int eventStartTime, int eventEndTime, String eventDetails) {
 		
 		Event newEvent = new Event(eventTitle, eventMeetingDays, eventStartTime, eventEndTime, eventDetails);
 		
-		int scheduleSize = schedule.size();
+		if(scheduleIndex.isDuplicate(newEvent)) {
+			throw new IllegalArgumentException("You have already created an event called " + eventTitle);
+		}
 		
-		for(int i = 0; i < scheduleSize; i++) {
+		if(scheduleIndex.findConflict(newEvent) != null) {
+			throw new IllegalArgumentException("The event cannot be added due to a conflict.");
+		}
+		
+		writeJournal(j -> j.appendAddEvent(newEvent));
+		
+		schedule.add(newEvent);
+		scheduleIndex.add(newEvent);
+		
+		if (catalogFit != null) {
+			catalogFit.add(newEvent);
+		}
+		
+		fireActivityAdded(newEvent, schedule.size() - 1);
+		
+		compactJournalIfLarge();
+	}
+	
+	/**
+	 * Adds the given courses and events to the schedule together, so either all of them are
+	 * added or none are. Every new activity is checked once against the schedule and against
+	 * the new activities before it, using the same checks as addCourseToSchedule and
+	 * addEventToSchedule, and a seat is then reserved in each course. If any check or
+	 * reservation fails, the seats already reserved are released and the schedule is left
+	 * unchanged. The courses are added first, in the order given, followed by copies of the
+	 * events, so changing a given event afterwards does not change the schedule.
+	 * 
+	 * @param courses are the name and section of each course to add
+	 * @param events are the events to add
+	 * 
+	 * @throws IllegalArgumentException if courses or events is null or contains null, a course
+	 * is not in the catalog, an activity is a duplicate of a scheduled or new activity, an
+	 * activity conflicts with a scheduled or new activity, a course is full, or the change cannot
+	 * be written to the journal.
+	 */
+	public void addActivitiesToSchedule(String[][] courses, ArrayList<Event> events) {
+		
+		if (courses == null || events == null || events.contains(null)) {
+			throw new IllegalArgumentException("Invalid activities.");
+		}
+		
+		ArrayList<Activity> activities = new ArrayList<Activity>(courses.length + events.size());
+		
+		for (int i = 0; i < courses.length; i++) {
+			
+			if (courses[i] == null || courses[i].length != 2) {
+				throw new IllegalArgumentException("Invalid activities.");
+			}
 			
-			Activity scheduledActivity = schedule.get(i);
+			Course course = this.catalog.getCourse(courses[i][0], courses[i][1]);
 			
-			if(newEvent.isDuplicate(scheduledActivity)) {
-				throw new IllegalArgumentException("You have already created an event called " + eventTitle);
+			if (course == null) {
+				throw new IllegalArgumentException("The course cannot be added because it is not in the catalog.");
 			}
 			
-			try {
-				scheduledActivity.checkConflict(newEvent);
-			} catch (ConflictException e) {
-				throw new IllegalArgumentException("The event cannot be added due to a conflict.");
+			activities.add(course);
+		}
+		
+		activities.addAll(events);
+		
+		addActivities(activities);
+	}
+	
+	/**
+	 * Adds the given courses and events to the schedule together and in the given order, so
+	 * either all of them are added or none are. Each course is added from the catalog by its
+	 * name and section, and each event is copied, as addActivitiesToSchedule() describes.
+	 * 
+	 * @param activities are the courses and events to add, in order
+	 * 
+	 * @throws IllegalArgumentException if a course is not in the catalog, an activity is a
+	 * duplicate of or conflicts with a scheduled or new activity, a course is full, or the
+	 * change cannot be written to the journal.
+	 */
+	private void addActivities(ArrayList<Activity> activities) {
+		
+		ArrayList<Activity> added = new ArrayList<Activity>(activities.size());
+		int[] rows = new int[activities.size()];
+		int courseCount = 0;
+		
+		//Courses come from the catalog and events are copied, so later changes to the caller's
+		//activities do not reach the schedule
+		for (Activity activity : activities) {
+			
+			if (activity instanceof Course) {
+				
+				Course course = (Course) activity;
+				int row = this.catalog.indexOf(course.getName(), course.getSection());
+				
+				if (row == -1) {
+					throw new IllegalArgumentException("The course cannot be added because it is not in the catalog.");
+				}
+				
+				rows[courseCount++] = row;
+				added.add(this.catalog.getCourse(row));
+			} else {
+				
+				Event event = (Event) activity;
+				added.add(new Event(event.getTitle(), event.getMeetingDays(), event.getStartTime(),
+						event.getEndTime(), event.getEventDetails()));
 			}
 		}
 		
-		schedule.add(newEvent);
+		//New activities are checked against the schedule and each other in one pass
+		ScheduleIndex pending = new ScheduleIndex();
+		
+		for (Activity activity : added) {
+			
+			boolean isCourse = activity instanceof Course;
+			
+			if (this.scheduleIndex.isDuplicate(activity) || pending.isDuplicate(activity)) {
+				throw new IllegalArgumentException(isCourse
+						? "You are already enrolled in " + ((Course) activity).getName()
+						: "You have already created an event called " + activity.getTitle());
+			}
+			
+			if (this.scheduleIndex.findConflict(activity) != null || pending.findConflict(activity) != null) {
+				throw new IllegalArgumentException(isCourse
+						? "The course cannot be added due to a conflict."
+						: "The event cannot be added due to a conflict.");
+			}
+			
+			pending.add(activity);
+		}
+		
+		//Reserves the seats, releasing them all if any course is full
+		for (int i = 0; i < courseCount; i++) {
+			
+			if (!this.catalog.reserveSeat(rows[i])) {
+				
+				for (int j = 0; j < i; j++) {
+					this.catalog.releaseSeat(rows[j]);
+				}
+				
+				throw new IllegalArgumentException("The course cannot be added because it is full.");
+			}
+		}
+		
+		try {
+			writeJournal(j -> j.appendAddActivities(added));
+		}
+		catch (IllegalArgumentException e) {
+			for (int i = 0; i < courseCount; i++) {
+				this.catalog.releaseSeat(rows[i]);
+			}
+			throw e;
+		}
+		
+		for (Activity activity : added) {
+			
+			this.schedule.add(activity);
+			this.scheduleIndex.add(activity);
+			
+			if (this.catalogFit != null) {
+				this.catalogFit.add(activity);
+			}
+			
+			fireActivityAdded(activity, this.schedule.size() - 1);
+		}
+		
+		compactJournalIfLarge();
+	}
+	
+	/**
+	 * Checks to see if the course in the given catalog row cannot be added to the schedule
+	 * because it conflicts with a scheduled activity or is a section of a scheduled course.
+	 * The blocked rows are tracked as the schedule changes, so checking a row is constant time.
+	 * 
+	 * @param row is the catalog row to check
+	 * 
+	 * @return true if the row does not fit the schedule
+	 * 
+	 * @throws IndexOutOfBoundsException if row is out of range for the catalog
+	 */
+	public boolean isCatalogRowBlocked(int row) {
+		
+		if (row < 0 || row >= catalog.size()) {
+			throw new IndexOutOfBoundsException("Invalid catalog row " + row);
+		}
+		
+		return catalogFit().isBlocked(row);
+	}
+	
+	/**
+	 * Returns the catalog rows that cannot be added to the schedule because they conflict with
+	 * a scheduled activity or are a section of a scheduled course.
+	 * 
+	 * @return a new set of the blocked catalog rows
+	 */
+	public BitSet getBlockedCatalogRows() {
+		return catalogFit().getBlocked();
+	}
+	
+	/**
+	 * Returns every way of adding one section of each of the given courses to the schedule
+	 * without a conflict between the chosen sections or with any activity already scheduled,
+	 * including events. Each combination has one short display array for each course, in the
+	 * order the names were given, and each combination has its own copies of the arrays. The
+	 * combinations are found lazily as the stream is consumed, and the stream can be made
+	 * parallel to search on several cores. The stream is a snapshot of the catalog and
+	 * schedule when this method is called. A course that is already scheduled or has no open
+	 * section that fits the schedule has no combinations.
+	 * 
+	 * @param courseNames are the names of the courses, such as CSC 216
+	 * 
+	 * @return a stream of the combinations
+	 * 
+	 * @throws IllegalArgumentException if courseNames is null or contains null
+	 */
+	public Stream<String[][]> getScheduleOptions(ArrayList<String> courseNames) {
+		
+		if (courseNames == null || courseNames.contains(null)) {
+			throw new IllegalArgumentException("Invalid course names.");
+		}
+		
+		return new SectionCombinations(catalog, courseNames, getBlockedCatalogRows()).stream();
+	}
+	
+	/**
+	 * Returns the index of catalog rows blocked by the schedule, creating it on first use and
+	 * counting any rows added to the catalog since it was last used.
+	 * 
+	 * @return the index
+	 */
+	private CatalogFitIndex catalogFit() {
+		
+		if (catalogFit == null) {
+			catalogFit = new CatalogFitIndex(catalog);
+		}
 		
+		catalogFit.sync(schedule);
+		
+		return catalogFit;
+	}
+	
+	/**
+	 * Opens a journal of the schedule's changes in the given file and replays it, so the
+	 * schedule is rebuilt as it was when the journal was last written. From then on, each
+	 * add, remove, reset, and title change is appended to the journal as one small record
+	 * before it is applied. Once the journal holds JOURNAL_COMPACT_THRESHOLD more records
+	 * than the schedule has activities, the schedule is exported to exportFileName and the
+	 * journal is compacted to the records of the current schedule. The journal should be
+	 * opened on a new WolfScheduler, before its schedule is changed.
+	 * 
+	 * @param journalFileName is the name of the journal file, which is created if it does not exist
+	 * @param exportFileName is the name of the file the schedule is exported to when the
+	 * journal is compacted, or null to only compact the journal
+	 * @param sync is whether each change is forced to the storage device before it is applied
+	 * 
+	 * @throws IllegalArgumentException if the journal cannot be opened, or a record cannot be
+	 * replayed against the catalog, in which case the schedule is reset and its title restored
+	 * @throws IllegalStateException if a journal is already open
+	 */
+	public void openJournal(String journalFileName, String exportFileName, boolean sync) {
+		
+		if (this.journal != null) {
+			throw new IllegalStateException("Journal is already open.");
+		}
+		
+		String openedTitle = this.title;
+		
+		try {
+			this.journal = ScheduleJournal.open(journalFileName, sync, new JournalReplayer());
+		}
+		catch (IOException e) {
+			discardReplay(openedTitle);
+			throw new IllegalArgumentException("The journal cannot be opened.");
+		}
+		catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			discardReplay(openedTitle);
+			throw new IllegalArgumentException("The journal cannot be replayed.");
+		}
+		
+		this.journalExportFile = exportFileName;
+	}
+	
+	/**
+	 * Undoes a journal replay that failed part way through. The activities replayed so far
+	 * are removed and their seats released, and the title is put back, so a journal that
+	 * cannot be opened leaves no half-rebuilt schedule and holds no seats in the catalog.
+	 * 
+	 * @param openedTitle is the title the schedule had before the replay
+	 */
+	private void discardReplay(String openedTitle) {
+		resetSchedule();
+		setScheduleTitle(openedTitle);
+	}
+	
+	/**
+	 * Exports the schedule to the journal's export file, if it has one, and compacts the
+	 * journal to the records of the current schedule.
+	 * 
+	 * @throws IllegalArgumentException if the export file or journal cannot be written
+	 * @throws IllegalStateException if no journal is open
+	 */
+	public void compactJournal() {
+		
+		if (this.journal == null) {
+			throw new IllegalStateException("Journal is not open.");
+		}
+		
+		if (this.journalExportFile != null) {
+			exportSchedule(this.journalExportFile);
+		}
+		
+		try {
+			this.journal.compact(this.title, this.schedule);
+		}
+		catch (IOException e) {
+			throw new IllegalArgumentException("The file cannot be saved.");
+		}
+	}
+	
+	/**
+	 * Closes the journal, if one is open. Later changes are no longer journaled.
+	 */
+	public void closeJournal() {
+		
+		if (this.journal == null) {
+			return;
+		}
+		
+		try {
+			this.journal.close();
+		}
+		catch (IOException e) {
+			//The records were already written, so nothing is lost
+		}
+		
+		this.journal = null;
+	}
+	
+	/**
+	 * Appends a record to the journal, if one is open.
+	 * 
+	 * @param record appends the record
+	 * 
+	 * @throws IllegalArgumentException if the record cannot be written
+	 */
+	private void writeJournal(JournalRecord record) {
+		
+		if (this.journal == null) {
+			return;
+		}
+		
+		try {
+			record.appendTo(this.journal);
+		}
+		catch (IOException e) {
+			throw new IllegalArgumentException("The schedule cannot be saved.");
+		}
+	}
+	
+	/**
+	 * Compacts the journal once it has grown past the compaction threshold. A change that
+	 * was already journaled is not undone if compaction fails, and compaction is tried again
+	 * after the next change.
+	 */
+	private void compactJournalIfLarge() {
+		
+		if (this.journal == null
+				|| this.journal.getRecordCount() < JOURNAL_COMPACT_THRESHOLD + this.schedule.size()) {
+			return;
+		}
+		
+		try {
+			compactJournal();
+		}
+		catch (IllegalArgumentException e) {
+			//The journal still holds every change
+		}
+	}
+	
+	/**
+	 * JournalRecord appends one record to a journal.
+	 * 
+	 * @author msabrams
+	 */
+	private interface JournalRecord {
+		
+		/**
+		 * Appends the record.
+		 * 
+		 * @param journal is the journal to append to
+		 * 
+		 * @throws IOException if the record cannot be written
+		 */
+		void appendTo(ScheduleJournal journal) throws IOException;
+	}
+	
+	/**
+	 * JournalReplayer applies the records of a journal to this schedule while it is opened.
+	 * The journal is not open yet, so replayed changes are not appended again.
+	 * 
+	 * @author msabrams
+	 */
+	private class JournalReplayer implements ScheduleJournal.Replayer {
+		
+		/** Courses and events of the group being collected, or null outside a group */
+		private ArrayList<Activity> group;
+		
+		/**
+		 * Adds the course with the given name and section, or collects it if a group is
+		 * being collected.
+		 * 
+		 * @param name is the name of the course
+		 * @param section is the section of the course
+		 * 
+		 * @throws IllegalArgumentException if the course cannot be added
+		 */
+		@Override
+		public void addCourse(String name, String section) {
+			
+			if (group == null) {
+				if (!addCourseToSchedule(name, section)) {
+					throw new IllegalArgumentException("Invalid course.");
+				}
+				return;
+			}
+			
+			Course course = catalog.getCourse(name, section);
+			
+			if (course == null) {
+				throw new IllegalArgumentException("Invalid course.");
+			}
+			
+			group.add(course);
+		}
+		
+		/**
+		 * Adds an event, or collects it if a group is being collected.
+		 * 
+		 * @param eventTitle is the title of the event
+		 * @param meetingDays are the meeting days of the event
+		 * @param startTime is the start time of the event
+		 * @param endTime is the end time of the event
+		 * @param eventDetails are the details of the event
+		 */
+		@Override
+		public void addEvent(String eventTitle, String meetingDays, int startTime, int endTime, String eventDetails) {
+			
+			if (group == null) {
+				addEventToSchedule(eventTitle, meetingDays, startTime, endTime, eventDetails);
+			} else {
+				group.add(new Event(eventTitle, meetingDays, startTime, endTime, eventDetails));
+			}
+		}
+		
+		/**
+		 * Starts collecting the courses and events of a group that is added together.
+		 */
+		@Override
+		public void startActivities() {
+			group = new ArrayList<Activity>();
+		}
+		
+		/**
+		 * Adds the collected courses and events together, in order.
+		 * 
+		 * @throws IllegalArgumentException if the activities cannot all be added
+		 */
+		@Override
+		public void endActivities() {
+			ArrayList<Activity> activities = group;
+			group = null;
+			addActivities(activities);
+		}
+		
+		/**
+		 * Removes the activity at the given index.
+		 * 
+		 * @param idx is the index of the activity
+		 * 
+		 * @throws IndexOutOfBoundsException if there is no activity at the index
+		 */
+		@Override
+		public void removeActivity(int idx) {
+			if (!removeActivityFromSchedule(idx)) {
+				throw new IndexOutOfBoundsException("Invalid index " + idx);
+			}
+		}
+		
+		/**
+		 * Resets the schedule.
+		 */
+		@Override
+		public void reset() {
+			resetSchedule();
+		}
+		
+		/**
+		 * Changes the schedule title.
+		 * 
+		 * @param scheduleTitle is the new title
+		 */
+		@Override
+		public void setTitle(String scheduleTitle) {
+			setScheduleTitle(scheduleTitle);
+		}
+	}
+	
+	/**
+	 * Adds a listener that is notified whenever the schedule or its title changes.
+	 * 
+	 * @param listener is the listener to add
+	 * 
+	 * @throws IllegalArgumentException if listener is null
+	 */
+	public void addScheduleListener(ScheduleListener listener) {
+		
+		if (listener == null) {
+			throw new IllegalArgumentException("Listener cannot be null.");
+		}
+		
+		listeners.add(listener);
+	}
+	
+	/**
+	 * Removes a listener so it is no longer notified of changes.
+	 * 
+	 * @param listener is the listener to remove
+	 */
+	public void removeScheduleListener(ScheduleListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * Notifies the listeners that an activity was added. Each listener gets its own copy of
+	 * the activity, so a listener that changes it cannot change the schedule or leave the
+	 * schedule's indexes out of date.
+	 * 
+	 * @param activity is the activity that was added
+	 * @param index is the index of the activity in the schedule
+	 */
+	private void fireActivityAdded(Activity activity, int index) {
+		for (ScheduleListener listener : listeners) {
+			listener.activityAdded(activity.copy(), index);
+		}
+	}
+	
+	/**
+	 * Notifies the listeners that an activity was removed. Each listener gets its own copy of
+	 * the activity, the same as fireActivityAdded().
+	 * 
+	 * @param activity is the activity that was removed
+	 * @param index is the index the activity had in the schedule
+	 */
+	private void fireActivityRemoved(Activity activity, int index) {
+		for (ScheduleListener listener : listeners) {
+			listener.activityRemoved(activity.copy(), index);
+		}
 	}
 }
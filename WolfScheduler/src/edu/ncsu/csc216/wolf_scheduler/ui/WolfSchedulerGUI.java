@@ -2,13 +2,22 @@ package edu.ncsu.csc216.wolf_scheduler.ui;
 
 import java.awt.BorderLayout;
 import java.awt.CardLayout;
+import java.awt.Color;
+import java.awt.Component;
 import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -19,18 +28,27 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingWorker;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellRenderer;
 
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseBatchConsumer;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseSnapshotIO;
+import edu.ncsu.csc216.wolf_scheduler.io.StringPool;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleListener;
 import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
 
 /**
@@ -59,6 +77,18 @@ public class WolfSchedulerGUI extends JFrame {
 	private CardLayout cardLayout;
 	/** Reference to the WolfScheduler */
 	private WolfScheduler scheduler;
+	/** Number of courses added to the catalog at a time while it is loading */
+	private static final int LOAD_BATCH_SIZE = 1000;
+	/** Panel showing the progress of loading the catalog */
+	private JPanel pnlLoadStatus;
+	/** Progress bar for loading the catalog */
+	private JProgressBar progressLoad;
+	/** Button for canceling loading the catalog */
+	private JButton btnCancelLoad;
+	/** Worker loading the catalog in the background */
+	private CatalogLoader catalogLoader;
+	/** Number of bytes in a kilobyte */
+	private static final int BYTES_PER_KB = 1024;
 
 	/**
 	 * Constructs the WolfSchedulerGUI and sets up the GUI 
@@ -73,12 +103,15 @@ public class WolfSchedulerGUI extends JFrame {
 		setTitle(APP_TITLE);
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
 		
-		//Construct the underlying model object
+		//Construct the underlying model object with an empty catalog, which is filled
+		//in the background so the GUI is usable while the catalog is read
+		String fileName = null;
 		try {			
-			scheduler = new WolfScheduler(getFileName(true));
+			fileName = getFileName(true);
 		} catch (IllegalStateException e) {
 			System.exit(1);
 		}
+		scheduler = new WolfScheduler();
 		
 		//Construct panels
 		pnlScheduler = new SchedulerPanel();
@@ -94,9 +127,39 @@ public class WolfSchedulerGUI extends JFrame {
 		panel.add(pnlSchedule, SCHEDULE_PANEL);
 		cardLayout.show(panel, SCHEDULER_PANEL);
 		
+		//Construct the catalog loading status bar
+		progressLoad = new JProgressBar(0, 100);
+		progressLoad.setStringPainted(true);
+		progressLoad.setString("Loading catalog...");
+		btnCancelLoad = new JButton("Cancel");
+		pnlLoadStatus = new JPanel(new BorderLayout());
+		pnlLoadStatus.add(progressLoad, BorderLayout.CENTER);
+		pnlLoadStatus.add(btnCancelLoad, BorderLayout.EAST);
+		
 		//Add panel to the container
 		Container c = getContentPane();
 		c.add(panel, BorderLayout.CENTER);
+		c.add(pnlLoadStatus, BorderLayout.SOUTH);
+		
+		//Start loading the catalog
+		catalogLoader = new CatalogLoader(fileName);
+		catalogLoader.addPropertyChangeListener(new PropertyChangeListener() {
+			
+			@Override
+			public void propertyChange(PropertyChangeEvent evt) {
+				if ("progress".equals(evt.getPropertyName())) {
+					progressLoad.setValue((Integer) evt.getNewValue());
+				}
+			}
+		});
+		btnCancelLoad.addActionListener(new ActionListener() {
+			
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				catalogLoader.cancel(false);
+			}
+		});
+		catalogLoader.execute();
 		
 		//Set the GUI visible
 		setVisible(true);
@@ -127,6 +190,120 @@ public class WolfSchedulerGUI extends JFrame {
 		return catalogFile.getAbsolutePath();
 	}
 
+	/**
+	 * Loads the course catalog on a background thread and adds the courses to the
+	 * {@link WolfScheduler} in batches on the event dispatch thread, so the catalog table
+	 * fills in while the file is read. Courses come from the catalog's snapshot when it is
+	 * current, and from the catalog file otherwise. A catalog file that is read to the end
+	 * gets a new snapshot for the next load, and the status bar reports the memory saved by
+	 * sharing repeated strings while it was parsed.
+	 * 
+	 * @author msabrams
+	 */
+	private class CatalogLoader extends SwingWorker<Void, ArrayList<Course>> {
+		
+		/** Name of the catalog file */
+		private String fileName;
+		
+		/** Pool that field values are shared through while the catalog file is parsed */
+		private StringPool pool;
+		
+		/** Whether the courses were parsed from the catalog file instead of its snapshot */
+		private volatile boolean parsedFile;
+		
+		/**
+		 * Constructs a CatalogLoader for the given catalog file.
+		 * @param fileName name of the catalog file
+		 */
+		public CatalogLoader(String fileName) {
+			this.fileName = fileName;
+			this.pool = new StringPool();
+		}
+		
+		/**
+		 * Reads the catalog and publishes its courses in batches until the file is read or
+		 * the load is canceled.
+		 * @return nothing
+		 * @throws FileNotFoundException if the catalog file cannot be read
+		 */
+		@Override
+		protected Void doInBackground() throws FileNotFoundException {
+			if (CourseSnapshotIO.hasCurrentSnapshot(fileName)) {
+				try {
+					publish(CourseSnapshotIO.readSnapshot(CourseSnapshotIO.snapshotFileName(fileName)));
+					setProgress(100);
+					return null;
+				} catch (IOException e) {
+					//Fall back to reading the catalog file
+				}
+			}
+			File file = new File(fileName);
+			final long sourceLength = file.length();
+			final long sourceModified = file.lastModified();
+			final long fileLength = Math.max(1, sourceLength);
+			final ArrayList<Course> courses = new ArrayList<Course>();
+			parsedFile = true;
+			CourseRecordIO.readCourseRecords(fileName, pool, LOAD_BATCH_SIZE, new CourseBatchConsumer() {
+				
+				@Override
+				public boolean acceptBatch(ArrayList<Course> batch, long bytesRead) {
+					courses.addAll(batch);
+					publish(batch);
+					setProgress((int) Math.min(100, bytesRead * 100 / fileLength));
+					return !isCancelled();
+				}
+			});
+			if (!isCancelled()) {
+				try {
+					CourseSnapshotIO.writeCatalogSnapshot(fileName, courses, sourceLength, sourceModified);
+				} catch (IOException e) {
+					//The next load reads the catalog file again
+				}
+			}
+			return null;
+		}
+		
+		/**
+		 * Adds the published batches of courses to the catalog and shows the new rows.
+		 * @param batches batches of courses read since the last call
+		 */
+		@Override
+		protected void process(List<ArrayList<Course>> batches) {
+			for (ArrayList<Course> batch : batches) {
+				scheduler.addCoursesToCatalog(batch);
+			}
+			pnlScheduler.updateCatalog();
+		}
+		
+		/**
+		 * Hides the loading status and reports a catalog file that could not be read. A
+		 * catalog file that was parsed leaves the status bar showing the memory saved by
+		 * sharing repeated strings.
+		 */
+		@Override
+		protected void done() {
+			pnlLoadStatus.setVisible(false);
+			if (isCancelled()) {
+				JOptionPane.showMessageDialog(WolfSchedulerGUI.this, "Catalog loading canceled. "
+						+ scheduler.getCourseCatalogSize() + " courses loaded.");
+				return;
+			}
+			try {
+				get();
+				if (parsedFile) {
+					progressLoad.setString(scheduler.getCourseCatalogSize() + " courses loaded, "
+							+ pool.getBytesSaved() / BYTES_PER_KB + " KB saved by sharing repeated strings.");
+					btnCancelLoad.setVisible(false);
+					pnlLoadStatus.setVisible(true);
+				}
+			} catch (ExecutionException e) {
+				JOptionPane.showMessageDialog(WolfSchedulerGUI.this, "Cannot find file.");
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
 	/**
 	 * Starts the Wolf Scheduler program.
 	 * @param args command line arguments
@@ -157,7 +334,7 @@ public class WolfSchedulerGUI extends JFrame {
 		/** JTable for displaying the schdule of Courses */
 		private JTable tableSchedule;
 		/** TableModel for catalog */
-		private CourseTableModel catalogTableModel;
+		private CatalogTableModel catalogTableModel;
 		/** TableModel for schedule */
 		private CourseTableModel scheduleTableModel;
 		/** Student's Schedule title label */
@@ -168,6 +345,8 @@ public class WolfSchedulerGUI extends JFrame {
 		private JButton btnSetScheduleTitle;
 		/** Border for Schedule */
 		private TitledBorder borderSchedule;
+		/** Scroll pane for setting schedule table title */
+		private JScrollPane scrollSchedule;
 		/** Panel for displaying Course Details */
 		private JPanel pnlCourseDetails;
 		/** Label for Course Details name title */
@@ -285,7 +464,7 @@ public class WolfSchedulerGUI extends JFrame {
 			pnlActions.setToolTipText("Scheduler Actions");
 						
 			//Set up Catalog table
-			catalogTableModel = new CourseTableModel(true);
+			catalogTableModel = new CatalogTableModel();
 			tableCatalog = new JTable(catalogTableModel) {
 				private static final long serialVersionUID = 1L;
 				
@@ -302,6 +481,21 @@ public class WolfSchedulerGUI extends JFrame {
 					
 					return (String)catalogTableModel.getValueAt(rowIndex, realColumnIndex);
 				}
+				
+				/**
+				 * Greys out the courses that conflict with or duplicate the schedule
+				 * @param renderer renderer for the cell
+				 * @param row row of the cell
+				 * @param column column of the cell
+				 * @return the component that renders the cell
+				 */
+				public Component prepareRenderer(TableCellRenderer renderer, int row, int column) {
+					Component c = super.prepareRenderer(renderer, row, column);
+					if (!isRowSelected(row)) {
+						c.setForeground(scheduler.isCatalogRowBlocked(convertRowIndexToModel(row)) ? Color.GRAY : getForeground());
+					}
+					return c;
+				}
 			};
 			tableCatalog.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 			tableCatalog.setPreferredScrollableViewportSize(new Dimension(500, 500));
@@ -310,6 +504,10 @@ public class WolfSchedulerGUI extends JFrame {
 
 				@Override
 				public void valueChanged(ListSelectionEvent e) {
+					//The selection is cleared when the catalog rows change
+					if (tableCatalog.getSelectedRow() == -1) {
+						return;
+					}
 					String name = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 0).toString();
 					String section = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 1).toString();
 					Course c = scheduler.getCourseFromCatalog(name, section);
@@ -325,20 +523,18 @@ public class WolfSchedulerGUI extends JFrame {
 			scrollCatalog.setToolTipText("Course Catalog");
 			
 			//Set up Schedule table
-			scheduleTableModel = new CourseTableModel(false);
+			scheduleTableModel = new CourseTableModel();
 			tableSchedule = new JTable(scheduleTableModel);
 			tableSchedule.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 			tableSchedule.setPreferredScrollableViewportSize(new Dimension(500, 500));
 			tableSchedule.setFillsViewportHeight(true);
 			
-			JScrollPane scrollSchedule = new JScrollPane(tableSchedule);
+			scrollSchedule = new JScrollPane(tableSchedule);
 			
 			borderSchedule = BorderFactory.createTitledBorder(lowerEtched, scheduler.getScheduleTitle());
 			scrollSchedule.setBorder(borderSchedule);
 			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
 			
-			updateTables();
-			
 			//Set up the course details panel
 			pnlCourseDetails = new JPanel();
 			pnlCourseDetails.setLayout(new GridLayout(4, 1));
@@ -525,7 +721,6 @@ public class WolfSchedulerGUI extends JFrame {
 						JOptionPane.showMessageDialog(WolfSchedulerGUI.this, iae.getMessage());
 					}
 				}
-				updateTables();
 			} else if (e.getSource() == btnRemoveCourse) {
 				int row = tableSchedule.getSelectedRow();
 				if (row == -1 || row == tableSchedule.getRowCount()) {
@@ -533,20 +728,16 @@ public class WolfSchedulerGUI extends JFrame {
 				} else {
 					scheduler.removeActivityFromSchedule(row);
 				}
-				updateTables();
 			} else if (e.getSource() == btnReset) {
 				scheduler.resetSchedule();
-				updateTables();
 			} else if (e.getSource() == btnDisplay) {
 				cardLayout.show(panel, SCHEDULE_PANEL);
-				pnlSchedule.updateFinalizedTable();
 			} else if (e.getSource() == btnSetScheduleTitle) {
 				try {
 					scheduler.setScheduleTitle(txtScheduleTitle.getText()); 
 				} catch (IllegalArgumentException iae) {
 					JOptionPane.showMessageDialog(WolfSchedulerGUI.this, "Invalid title.");
 				}
-				borderSchedule.setTitle(scheduler.getScheduleTitle());
 			} else if (e.getSource() == btnAddEvent) {
 				try {
 					String eventMeetingDays = "";
@@ -623,7 +814,6 @@ public class WolfSchedulerGUI extends JFrame {
 					scheduler.addEventToSchedule(txtEventTitle.getText(), eventMeetingDays, eventStartTime, eventEndTime, txtDetails.getText());
 					
 					resetEvent();
-					updateTables();
 				} catch (IllegalArgumentException iae) {
 					String message = iae.getMessage();
 					if (message == null || "".equals(message)) {
@@ -632,9 +822,6 @@ public class WolfSchedulerGUI extends JFrame {
 					JOptionPane.showMessageDialog(WolfSchedulerGUI.this, message);
 				}
 			}
-			
-			WolfSchedulerGUI.this.repaint();
-			WolfSchedulerGUI.this.validate();
 		}
 		
 		/**
@@ -659,11 +846,13 @@ public class WolfSchedulerGUI extends JFrame {
 		}
 		
 		/**
-		 * Updates the catalog and schedule tables.
+		 * Updates the schedule table's border with the schedule title.
+		 * @param title the new schedule title
 		 */
-		private void updateTables() {
-			catalogTableModel.updateData();
-			scheduleTableModel.updateData();
+		private void updateScheduleTitle(String title) {
+			borderSchedule.setTitle(title);
+			scrollSchedule.setToolTipText(title);
+			scrollSchedule.repaint();
 		}
 		
 		/**
@@ -682,30 +871,177 @@ public class WolfSchedulerGUI extends JFrame {
 			}
 		}
 		
+		/**
+		 * Shows courses added to the catalog since the catalog table was last updated.
+		 */
+		private void updateCatalog() {
+			catalogTableModel.updateData();
+		}
+		
+		/**
+		 * {@link CatalogTableModel} is the object underlying the {@link JTable} object that displays
+		 * the course catalog to the user. Rows are fetched from the {@link WolfScheduler} a page at
+		 * a time when the table asks for them, so only the rows that are rendered or used for tool
+		 * tips are ever built. The model listens to the {@link WolfScheduler} so the rows are
+		 * repainted when the courses that fit the schedule change.
+		 * @author msabrams
+		 */
+		private class CatalogTableModel extends AbstractTableModel implements ScheduleListener {
+			
+			/** ID number used for object serialization. */
+			private static final long serialVersionUID = 1L;
+			/** Number of catalog rows fetched at a time */
+			private static final int PAGE_SIZE = 128;
+			/** Column names for the table */
+			private String [] columnNames = {"Name", "Section", "Title", "Meeting Information"};
+			/** Number of rows in the catalog */
+			private int rowCount;
+			/** Index of the first row in the fetched page */
+			private int pageStart;
+			/** Most recently fetched page of rows, or null if no page is fetched */
+			private String [][] page;
+			
+			/**
+			 * Constructs the {@link CatalogTableModel} for the catalog of the {@link WolfScheduler}.
+			 */
+			public CatalogTableModel() {
+				updateData();
+				scheduler.addScheduleListener(this);
+			}
+
+			/**
+			 * Returns the number of columns in the table.
+			 * @return the number of columns in the table.
+			 */
+			public int getColumnCount() {
+				return columnNames.length;
+			}
+
+			/**
+			 * Returns the number of rows in the table.
+			 * @return the number of rows in the table.
+			 */
+			public int getRowCount() {
+				return rowCount;
+			}
+			
+			/**
+			 * Returns the column name at the given index.
+			 * @param col column index
+			 * @return the column name at the given column.
+			 */
+			public String getColumnName(int col) {
+				return columnNames[col];
+			}
+
+			/**
+			 * Returns the data at the given {row, col} index, fetching the page that holds
+			 * the row if it is not the current page.
+			 * @param row row index
+			 * @param col column index
+			 * @return the data at the given location, or null if the location is out of range.
+			 */
+			public Object getValueAt(int row, int col) {
+				if (row < 0 || row >= rowCount || col < 0 || col >= columnNames.length) {
+					return null;
+				}
+				if (page == null || row < pageStart || row >= pageStart + page.length) {
+					pageStart = row - row % PAGE_SIZE;
+					page = scheduler.getCourseCatalog(pageStart, Math.min(pageStart + PAGE_SIZE, rowCount));
+				}
+				return page[row - pageStart][col];
+			}
+			
+			/**
+			 * Drops the fetched page so rows are fetched again from the {@link WolfScheduler}.
+			 * Rows appended to the catalog are reported as inserted, so the selection is kept.
+			 */
+			private void updateData() {
+				page = null;
+				int size = scheduler.getCourseCatalogSize();
+				int oldCount = rowCount;
+				rowCount = size;
+				if (size > oldCount) {
+					fireTableRowsInserted(oldCount, size - 1);
+				} else if (size != oldCount) {
+					fireTableDataChanged();
+				}
+			}
+			
+			/**
+			 * Repaints the rows, since an added activity may block some of them.
+			 * @param activity the activity that was added
+			 * @param index the index of the activity in the schedule
+			 */
+			@Override
+			public void activityAdded(Activity activity, int index) {
+				fitChanged();
+			}
+			
+			/**
+			 * Repaints the rows, since a removed activity may have blocked some of them.
+			 * @param activity the activity that was removed
+			 * @param index the index the activity had in the schedule
+			 */
+			@Override
+			public void activityRemoved(Activity activity, int index) {
+				fitChanged();
+			}
+			
+			/**
+			 * Repaints the rows, since none of them are blocked after a reset.
+			 * @param removedCount the number of activities that were removed
+			 */
+			@Override
+			public void scheduleReset(int removedCount) {
+				fitChanged();
+			}
+			
+			/**
+			 * Does nothing, since the title does not change which rows fit.
+			 * @param title the new title
+			 */
+			@Override
+			public void titleChanged(String title) {
+				//The catalog does not show the title
+			}
+			
+			/**
+			 * Reports every row as updated so the table repaints the visible rows without
+			 * losing the selection.
+			 */
+			private void fitChanged() {
+				if (rowCount > 0) {
+					fireTableRowsUpdated(0, rowCount - 1);
+				}
+			}
+		}
+		
 		/**
 		 * {@link CourseTableModel} is the object underlying the {@link JTable} object that displays
-		 * the list of {@link Course}s to the user.
+		 * the list of {@link Course}s to the user. The model listens to the {@link WolfScheduler}
+		 * and inserts or deletes only the rows that changed.
 		 * @author Sarah Heckman
 		 */
-		private class CourseTableModel extends AbstractTableModel {
+		private class CourseTableModel extends AbstractTableModel implements ScheduleListener {
 			
 			/** ID number used for object serialization. */
 			private static final long serialVersionUID = 1L;
 			/** Column names for the table */
 			private String [] columnNames = {"Name", "Section", "Title", "Meeting Information"};
-			/** Data stored in the table */
-			private Object [][] data;
-			/** Boolean flag if the model applies to the catalog or schedule */
-			private boolean catalog;
+			/** Data stored in the table, one row for each scheduled activity */
+			private ArrayList<Object []> data;
 			
 			/**
-			 * Constructs the {@link CourseTableModel} by requesting the latest information
-			 * from the {@link RequirementTrackerModel}.
-			 * @param catalog flag to determine if updating the catalog (true) or schedule (false)
+			 * Constructs the {@link CourseTableModel} with the current schedule and registers it
+			 * for changes to the schedule.
 			 */
-			public CourseTableModel(boolean catalog) {
-				this.catalog = catalog;
-				updateData();
+			public CourseTableModel() {
+				data = new ArrayList<Object []>();
+				for (String [] row : scheduler.getScheduledActivities()) {
+					data.add(row);
+				}
+				scheduler.addScheduleListener(this);
 			}
 
 			/**
@@ -721,9 +1057,7 @@ public class WolfSchedulerGUI extends JFrame {
 			 * @return the number of rows in the table.
 			 */
 			public int getRowCount() {
-				if (data == null) 
-					return 0;
-				return data.length;
+				return data.size();
 			}
 			
 			/**
@@ -739,39 +1073,69 @@ public class WolfSchedulerGUI extends JFrame {
 			 * Returns the data at the given {row, col} index.
 			 * @param row row index
 			 * @param col column index
-			 * @return the data at the given location.
+			 * @return the data at the given location, or null if the location is out of range.
 			 */
 			public Object getValueAt(int row, int col) {
-				if (data == null)
-					return null;
-				try {
-					return data[row][col];
-				} catch (ArrayIndexOutOfBoundsException e) {
+				if (row < 0 || row >= data.size() || col < 0 || col >= columnNames.length) {
 					return null;
 				}
+				return data.get(row)[col];
 			}
 			
 			/**
-			 * Sets the given value to the given {row, col} location.
+			 * Sets the given value to the given {row, col} location. Each row is the table's
+			 * own copy of an activity's display array.
 			 * @param value Object to modify in the data.
 			 * @param row location to modify the data.
 			 * @param col location to modify the data.
 			 */
 			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
+				data.get(row)[col] = value;
 				fireTableCellUpdated(row, col);
 			}
 			
 			/**
-			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
+			 * Inserts the row for an activity added to the schedule.
+			 * @param activity the activity that was added
+			 * @param index the index of the activity in the schedule
 			 */
-			private void updateData() {
-				if (catalog) {
-					data = scheduler.getCourseCatalog();
-				} else {
-					data = scheduler.getScheduledActivities();
+			@Override
+			public void activityAdded(Activity activity, int index) {
+				data.add(index, activity.getShortDisplayArray());
+				fireTableRowsInserted(index, index);
+			}
+			
+			/**
+			 * Deletes the row for an activity removed from the schedule.
+			 * @param activity the activity that was removed
+			 * @param index the index the activity had in the schedule
+			 */
+			@Override
+			public void activityRemoved(Activity activity, int index) {
+				data.remove(index);
+				fireTableRowsDeleted(index, index);
+			}
+			
+			/**
+			 * Deletes every row after the schedule is reset.
+			 * @param removedCount the number of activities that were removed
+			 */
+			@Override
+			public void scheduleReset(int removedCount) {
+				data.clear();
+				if (removedCount > 0) {
+					fireTableRowsDeleted(0, removedCount - 1);
 				}
 			}
+			
+			/**
+			 * Updates the schedule table's title.
+			 * @param title the new schedule title
+			 */
+			@Override
+			public void titleChanged(String title) {
+				updateScheduleTitle(title);
+			}
 		}
 	}
 	
@@ -837,8 +1201,6 @@ public class WolfSchedulerGUI extends JFrame {
 			scrollSchedule.setBorder(borderSchedule);
 			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
 			
-			updateFinalizedTable();
-			
 			add(pnlActions);
 			add(scrollSchedule);
 		}
@@ -866,34 +1228,40 @@ public class WolfSchedulerGUI extends JFrame {
 		}
 		
 		/**
-		 * Updates the finalized schedule table
+		 * Updates the finalized schedule table's border with the schedule title.
+		 * @param title the new schedule title
 		 */
-		public void updateFinalizedTable() {
-			scheduleTableModel.updateData();
-			borderSchedule.setTitle(scheduler.getScheduleTitle());
-			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
+		private void updateScheduleTitle(String title) {
+			borderSchedule.setTitle(title);
+			scrollSchedule.setToolTipText(title);
+			scrollSchedule.repaint();
 		}
 		
 		/**
 		 * {@link FullCourseTableModel} is the object underlying the {@link JTable} object that displays
-		 * the list of {@link Course}s, and all their data, to the user.
+		 * the list of {@link Course}s, and all their data, to the user. The model listens to the
+		 * {@link WolfScheduler} and inserts or deletes only the rows that changed.
 		 * @author Sarah Heckman
 		 */
-		private class FullCourseTableModel extends AbstractTableModel {
+		private class FullCourseTableModel extends AbstractTableModel implements ScheduleListener {
 			
 			/** ID number used for object serialization. */
 			private static final long serialVersionUID = 1L;
 			/** Column names for the table */
 			private String [] columnNames = {"Name", "Section", "Title", "Credits", "Instructor", "Meeting Information", "Details"};
-			/** Data stored in the table */
-			private Object [][] data;
+			/** Data stored in the table, one row for each scheduled activity */
+			private ArrayList<Object []> data;
 			
 			/**
-			 * Constructs the {@link CourseTableModel} by requesting the latest information
-			 * from the {@link RequirementTrackerModel}.
+			 * Constructs the {@link FullCourseTableModel} with the current schedule and registers it
+			 * for changes to the schedule.
 			 */
 			public FullCourseTableModel() {
-				updateData();
+				data = new ArrayList<Object []>();
+				for (String [] row : scheduler.getFullScheduledActivities()) {
+					data.add(row);
+				}
+				scheduler.addScheduleListener(this);
 			}
 
 			/**
@@ -909,9 +1277,7 @@ public class WolfSchedulerGUI extends JFrame {
 			 * @return the number of rows in the table.
 			 */
 			public int getRowCount() {
-				if (data == null) 
-					return 0;
-				return data.length;
+				return data.size();
 			}
 			
 			/**
@@ -927,34 +1293,68 @@ public class WolfSchedulerGUI extends JFrame {
 			 * Returns the data at the given {row, col} index.
 			 * @param row row index
 			 * @param col column index
-			 * @return the data at the given location.
+			 * @return the data at the given location, or null if the location is out of range.
 			 */
 			public Object getValueAt(int row, int col) {
-				if (data == null)
-					return null;
-				try {
-					return data[row][col];
-				} catch (ArrayIndexOutOfBoundsException e) {
+				if (row < 0 || row >= data.size() || col < 0 || col >= columnNames.length) {
 					return null;
 				}
+				return data.get(row)[col];
 			}
 			
 			/**
-			 * Sets the given value to the given {row, col} location.
+			 * Sets the given value to the given {row, col} location. Each row is the table's
+			 * own copy of an activity's display array.
 			 * @param value Object to modify in the data.
 			 * @param row location to modify the data.
 			 * @param col location to modify the data.
 			 */
 			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
+				data.get(row)[col] = value;
 				fireTableCellUpdated(row, col);
 			}
 			
 			/**
-			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
+			 * Inserts the row for an activity added to the schedule.
+			 * @param activity the activity that was added
+			 * @param index the index of the activity in the schedule
 			 */
-			private void updateData() {
-				data = scheduler.getFullScheduledActivities();
+			@Override
+			public void activityAdded(Activity activity, int index) {
+				data.add(index, activity.getLongDisplayArray());
+				fireTableRowsInserted(index, index);
+			}
+			
+			/**
+			 * Deletes the row for an activity removed from the schedule.
+			 * @param activity the activity that was removed
+			 * @param index the index the activity had in the schedule
+			 */
+			@Override
+			public void activityRemoved(Activity activity, int index) {
+				data.remove(index);
+				fireTableRowsDeleted(index, index);
+			}
+			
+			/**
+			 * Deletes every row after the schedule is reset.
+			 * @param removedCount the number of activities that were removed
+			 */
+			@Override
+			public void scheduleReset(int removedCount) {
+				data.clear();
+				if (removedCount > 0) {
+					fireTableRowsDeleted(0, removedCount - 1);
+				}
+			}
+			
+			/**
+			 * Updates the finalized schedule table's title.
+			 * @param title the new schedule title
+			 */
+			@Override
+			public void titleChanged(String title) {
+				updateScheduleTitle(title);
 			}
 		}
 		
@@ -2,6 +2,9 @@ package edu.ncsu.csc216.wolf_scheduler.course;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -72,5 +75,77 @@ class ActivityTest {
 	    Exception e2 = assertThrows(ConflictException.class, () -> a2.checkConflict(a1));
 	    assertEquals("Schedule conflict.", e2.getMessage());
 	}
+	
+	/**
+	 * Tests that the meeting days mask has one bit for each meeting day.
+	 */
+	@Test
+	public void testGetMeetingDaysMask() {
+		
+	    Activity a1 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+	    Activity a2 = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+	    Activity a3 = new Event("Exercise", "UMTWHFS", 800, 900, "Cardio Time!");
+	    
+	    assertEquals(0b101, a1.getMeetingDaysMask());
+	    assertEquals(0, a2.getMeetingDaysMask());
+	    assertEquals(0b1111111, a3.getMeetingDaysMask());
+	    
+	    a1.setMeetingDaysAndTime("TH", 1330, 1445);
+	    assertEquals(0b1010, a1.getMeetingDaysMask());
+	}
+	
+	/**
+	 * Tests to see if checkConflict does not throw for an arranged activity.
+	 */
+	@Test
+	public void testCheckConflictArranged() {
+		
+	    Activity a1 = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+	    Activity a2 = new Event("Exercise", "UMTWHFS", 0, 2359, "Cardio Time!");
+	    
+	    assertDoesNotThrow(() -> a1.checkConflict(a2));
+	    assertDoesNotThrow(() -> a2.checkConflict(a1));
+	}
+	
+	/**
+	 * Tests conflictsWith and getConflictWindow on overlapping and separate activities.
+	 */
+	@Test
+	public void testGetConflictWindow() {
+		
+	    Activity a1 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MWF", 1330, 1445);
+	    Activity a2 = new Event("Lunch", "UWF", 1400, 1500, "Food");
+	    Activity a3 = new Event("Dinner", "TH", 1400, 1500, "Food");
+	    
+	    assertTrue(a1.conflictsWith(a2));
+	    assertTrue(a2.conflictsWith(a1));
+	    assertFalse(a1.conflictsWith(a3));
+	    assertNull(a1.getConflictWindow(a3));
+	    
+	    ConflictWindow window = a1.getConflictWindow(a2);
+	    assertEquals("WF", window.getMeetingDays());
+	    assertEquals(0b10100, window.getMeetingDaysMask());
+	    assertEquals(1400, window.getStartTime());
+	    assertEquals(1445, window.getEndTime());
+	}
+	
+	/**
+	 * Tests getConflictingActivities returns every conflicting activity in order.
+	 */
+	@Test
+	public void testGetConflictingActivities() {
+		
+	    Activity a1 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MWF", 1330, 1445);
+	    Activity a2 = new Event("Lunch", "UWF", 1400, 1500, "Food");
+	    Activity a3 = new Event("Dinner", "TH", 1400, 1500, "Food");
+	    Activity a4 = new Event("Snack", "M", 1200, 1330, "Food");
+	    
+	    ArrayList<Activity> conflicts = a1.getConflictingActivities(Arrays.asList(a2, a3, a4));
+	    assertEquals(2, conflicts.size());
+	    assertSame(a2, conflicts.get(0));
+	    assertSame(a4, conflicts.get(1));
+	    
+	    assertTrue(a3.getConflictingActivities(Arrays.asList(a1, a2, a4)).isEmpty());
+	}
 
 }
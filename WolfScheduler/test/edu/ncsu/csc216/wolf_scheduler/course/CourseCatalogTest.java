@@ -0,0 +1,395 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the CourseCatalog class.
+ *
+ * @author msabrams
+ *
+ */
+public class CourseCatalogTest {
+
+	/**
+	 * Tests adding courses, skipping duplicates, and looking them up by name and section.
+	 */
+	@Test
+	public void testAddAndIndexOf() {
+		CourseCatalog catalog = new CourseCatalog();
+		Course c1 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+		Course c2 = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+		Course c3 = new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025);
+
+		assertTrue(catalog.add(c1));
+		assertTrue(catalog.add(c2));
+		assertTrue(catalog.add(c3));
+		assertFalse(catalog.add(new Course("CSC 216", "Other", "001", 4, "other", "TH", 800, 900)));
+		assertEquals(3, catalog.size());
+
+		assertEquals(0, catalog.indexOf("CSC 216", "001"));
+		assertEquals(1, catalog.indexOf("CSC 216", "601"));
+		assertEquals(2, catalog.indexOf("CSC 226", "001"));
+		assertEquals(-1, catalog.indexOf("CSC 226", "601"));
+		assertEquals(-1, catalog.indexOf("CSC 116", "001"));
+		assertArrayEquals(new int[] {0, 1}, catalog.indexesOf("CSC 216"));
+		assertArrayEquals(new int[] {2}, catalog.indexesOf("CSC 226"));
+		assertArrayEquals(new int[0], catalog.indexesOf("CSC 116"));
+
+		assertEquals(c1, catalog.getCourse("CSC 216", "001"));
+		assertEquals(c2, catalog.getCourse(1));
+		assertNull(catalog.getCourse("CSC 116", "001"));
+		assertNotSame(catalog.getCourse(0), catalog.getCourse(0));
+
+		assertThrows(IndexOutOfBoundsException.class, () -> catalog.getCourse(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> catalog.getName(-1));
+		assertThrows(IllegalArgumentException.class, () -> new CourseCatalog(-1));
+	}
+
+	/**
+	 * Tests that the columns hold the same values as the courses that were added.
+	 */
+	@Test
+	public void testColumns() {
+		CourseCatalog catalog = new CourseCatalog(0);
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		courses.add(new Course("CSC 217", "Software Development Fundamentals Lab", "202", 1, "sesmith5", "M", 1040, 1230));
+
+		assertEquals(3, catalog.addAll(courses));
+
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			assertEquals(c.getName(), catalog.getName(i));
+			assertEquals(c.getTitle(), catalog.getTitle(i));
+			assertEquals(c.getSection(), catalog.getSection(i));
+			assertEquals(c.getInstructorId(), catalog.getInstructorId(i));
+			assertEquals(c.getMeetingDays(), catalog.getMeetingDays(i));
+			assertEquals(c.getMeetingString(), catalog.getMeetingString(i));
+			assertEquals(c.getCredits(), catalog.getCredits(i));
+			assertEquals(c.getStartTime(), catalog.getStartTime(i));
+			assertEquals(c.getEndTime(), catalog.getEndTime(i));
+			assertEquals(c.getMeetingDaysMask(), catalog.getMeetingDaysMask(i));
+			assertArrayEquals(c.getShortDisplayArray(), catalog.getShortDisplayArray(i));
+		}
+
+		//Repeated values share one instance
+		assertSame(catalog.getTitle(0), catalog.getTitle(1));
+		assertSame(catalog.getInstructorId(0), catalog.getInstructorId(2));
+	}
+
+	/**
+	 * Tests that the course built for a row matches the course that was added, including its
+	 * cached values, seats, and current enrolled count, and that it can still be changed.
+	 */
+	@Test
+	public void testGetCourse() {
+		CourseCatalog catalog = new CourseCatalog();
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		courses.add(new Course("CSC 217", "Software Development Fundamentals Lab", "202", 1, "sesmith5", "M", 1040, 1230));
+		courses.get(2).setSeats(20, 19);
+		catalog.addAll(courses);
+
+		for (int i = 0; i < courses.size(); i++) {
+			Course expected = courses.get(i);
+			Course actual = catalog.getCourse(i);
+			assertEquals(expected, actual);
+			assertEquals(expected.hashCode(), actual.hashCode());
+			assertEquals(expected.toString(), actual.toString());
+			assertEquals(expected.getMeetingString(), actual.getMeetingString());
+			assertEquals(expected.getMeetingDaysMask(), actual.getMeetingDaysMask());
+			assertEquals(expected.getCapacity(), actual.getCapacity());
+			assertEquals(expected.getEnrolled(), actual.getEnrolled());
+			assertArrayEquals(expected.getShortDisplayArray(), actual.getShortDisplayArray());
+			assertArrayEquals(expected.getLongDisplayArray(), actual.getLongDisplayArray());
+		}
+
+		assertTrue(catalog.reserveSeat(2));
+		assertEquals(20, catalog.getCourse(2).getEnrolled());
+		assertEquals("CSC 217,Software Development Fundamentals Lab,202,1,sesmith5,M,1040,1230,20/20",
+				catalog.getCourse(2).toString());
+
+		//The setters still validate and rebuild the cached values
+		Course course = catalog.getCourse(0);
+		assertThrows(IllegalArgumentException.class, () -> course.setMeetingDaysAndTime("X", 800, 900));
+		course.setMeetingDaysAndTime("TH", 800, 915);
+		assertEquals("TH 8:00AM-9:15AM", course.getMeetingString());
+		assertEquals(Activity.meetingDaysToMask("TH"), course.getMeetingDaysMask());
+		assertEquals("MW 1:30PM-2:45PM", catalog.getMeetingString(0));
+	}
+
+	/**
+	 * Tests that lookups still work after the catalog grows many times.
+	 */
+	@Test
+	public void testGrow() {
+		CourseCatalog catalog = new CourseCatalog();
+
+		for (int i = 0; i < 2000; i++) {
+			String name = "CS" + (char) ('A' + i / 900) + " " + (100 + i % 900);
+			String section = String.format("%03d", 1 + i % 7);
+			assertTrue(catalog.add(new Course(name, "Title " + i, section, 1 + i % 5, "inst", "TH", 800, 850)));
+		}
+
+		assertEquals(2000, catalog.size());
+
+		for (int i = 0; i < 2000; i++) {
+			String name = "CS" + (char) ('A' + i / 900) + " " + (100 + i % 900);
+			String section = String.format("%03d", 1 + i % 7);
+			assertEquals(i, catalog.indexOf(name, section));
+			assertEquals("Title " + i, catalog.getTitle(i));
+		}
+	}
+
+	/**
+	 * Tests finding rows by meeting days and time range against a scan of every row.
+	 */
+	@Test
+	public void testFindByMeeting() {
+		CourseCatalog catalog = new CourseCatalog();
+		Random random = new Random(216);
+		String[] days = {"M", "T", "MW", "TH", "MWF", "F", "W", "H"};
+
+		for (int i = 0; i < 500; i++) {
+			int startMinutes = 7 * 60 + random.nextInt(12 * 60);
+			int endMinutes = startMinutes + 50 + random.nextInt(150);
+			int start = startMinutes / 60 * 100 + startMinutes % 60;
+			int end = endMinutes / 60 * 100 + endMinutes % 60;
+			String meetingDays = i % 25 == 0 ? "A" : days[random.nextInt(days.length)];
+			catalog.add(new Course("CSC " + (100 + i), "Title", "001", 3, "inst", meetingDays,
+					"A".equals(meetingDays) ? 0 : start, "A".equals(meetingDays) ? 0 : end));
+		}
+
+		String[] queries = {"M", "W", "MW", "TH", "F", "MWF", "TWH", "U"};
+		for (String query : queries) {
+			int mask = Activity.meetingDaysToMask(query);
+			for (int from = 700; from <= 1900; from += 100) {
+				int to = from + 430;
+				ArrayList<Integer> expected = new ArrayList<Integer>();
+				for (int row = 0; row < catalog.size(); row++) {
+					boolean daysMatch = (catalog.getMeetingDaysMask(row) & mask) == mask;
+					boolean startInside = catalog.getStartTime(row) >= from && catalog.getStartTime(row) <= to;
+					boolean endInside = catalog.getEndTime(row) >= from && catalog.getEndTime(row) <= to;
+					if (daysMatch && (startInside || endInside)) {
+						expected.add(row);
+					}
+				}
+				int[] actual = catalog.findByMeeting(query, from, to);
+				assertEquals(expected.size(), actual.length);
+				for (int i = 0; i < actual.length; i++) {
+					assertEquals((int) expected.get(i), actual[i]);
+				}
+			}
+		}
+
+		//Rows added after a search are found by the next search
+		int before = catalog.findByMeeting("TH", 600, 659).length;
+		catalog.add(new Course("CSC 999", "Title", "001", 3, "inst", "TH", 600, 650));
+		assertEquals(before + 1, catalog.findByMeeting("TH", 600, 659).length);
+
+		assertThrows(IllegalArgumentException.class, () -> catalog.findByMeeting(null, 800, 900));
+		assertThrows(IllegalArgumentException.class, () -> catalog.findByMeeting("", 800, 900));
+		assertThrows(IllegalArgumentException.class, () -> catalog.findByMeeting("A", 800, 900));
+		assertThrows(IllegalArgumentException.class, () -> catalog.findByMeeting("MX", 800, 900));
+		assertThrows(IllegalArgumentException.class, () -> catalog.findByMeeting("M", 900, 800));
+		assertThrows(IllegalArgumentException.class, () -> catalog.findByMeeting("M", 800, 2400));
+		assertThrows(IllegalArgumentException.class, () -> catalog.findByMeeting("M", 860, 900));
+	}
+
+	/**
+	 * Tests filtering rows with combined catalog filters against a scan of every row.
+	 */
+	@Test
+	public void testFilter() {
+		CourseCatalog catalog = new CourseCatalog();
+		String[] departments = {"CSC", "MA", "ECE", "PY"};
+		String[] instructors = {"jdyoung2", "sesmith5", "jtking", "tmbarnes"};
+
+		for (int i = 0; i < 400; i++) {
+			String name = departments[i % 4] + " " + (100 + i % 13);
+			String section = String.format("%03d", 1 + i / 52);
+			if (i % 9 == 0) {
+				catalog.add(new Course(name, "Title", section, 1 + i % 5, instructors[i % 3], "A", 0, 0));
+			} else {
+				catalog.add(new Course(name, "Title", section, 1 + i % 5, instructors[i % 3], "MW", 830, 945));
+			}
+		}
+
+		CatalogFilter filter = CatalogFilter.department("CSC").and(CatalogFilter.credits(3))
+				.and(CatalogFilter.arranged().not()).and(CatalogFilter.instructor("jtking"));
+		ArrayList<Integer> expected = new ArrayList<Integer>();
+		for (int row = 0; row < catalog.size(); row++) {
+			if (catalog.getName(row).startsWith("CSC ") && catalog.getCredits(row) == 3
+					&& catalog.getMeetingDaysMask(row) != 0 && "jtking".equals(catalog.getInstructorId(row))) {
+				expected.add(row);
+			}
+		}
+		assertFalse(expected.isEmpty());
+		int[] actual = catalog.filter(filter);
+		assertEquals(expected.size(), actual.length);
+		for (int i = 0; i < actual.length; i++) {
+			assertEquals((int) expected.get(i), actual[i]);
+		}
+
+		//Or and course numbers
+		int[] either = catalog.filter(CatalogFilter.courseNumber("100").or(CatalogFilter.courseNumber("101")));
+		for (int row : either) {
+			assertTrue(catalog.getName(row).endsWith(" 100") || catalog.getName(row).endsWith(" 101"));
+		}
+		int count = 0;
+		for (int row = 0; row < catalog.size(); row++) {
+			if (catalog.getName(row).endsWith(" 100") || catalog.getName(row).endsWith(" 101")) {
+				count++;
+			}
+		}
+		assertEquals(count, either.length);
+
+		//Not covers exactly the rows the filter does not
+		int arranged = catalog.filter(CatalogFilter.arranged()).length;
+		assertEquals(catalog.size() - arranged, catalog.filter(CatalogFilter.arranged().not()).length);
+		assertEquals(catalog.size(), catalog.filter(CatalogFilter.all()).length);
+		assertEquals(0, catalog.filter(CatalogFilter.instructor("nobody")).length);
+		assertEquals(catalog.size() - arranged,
+				catalog.filter(CatalogFilter.meeting("M", 800, 900).or(CatalogFilter.arranged().not())).length);
+
+		//A rare condition combined with a common one, in either order
+		for (int number = 100; number < 113; number++) {
+			String name = "MA " + number;
+			ArrayList<Integer> rows = new ArrayList<Integer>();
+			for (int row = 0; row < catalog.size(); row++) {
+				if (name.equals(catalog.getName(row)) && catalog.getMeetingDaysMask(row) != 0) {
+					rows.add(row);
+				}
+			}
+			int[] rare = catalog.filter(CatalogFilter.name(name).and(CatalogFilter.arranged().not()));
+			assertArrayEquals(rare, catalog.filter(CatalogFilter.arranged().not().and(CatalogFilter.name(name))));
+			assertEquals(rows.size(), rare.length);
+			for (int i = 0; i < rare.length; i++) {
+				assertEquals((int) rows.get(i), rare[i]);
+			}
+		}
+
+		//Rows added later are indexed
+		catalog.add(new Course("CSC 999", "Title", "001", 3, "jtking", "TH", 800, 850));
+		assertEquals(expected.size() + 1, catalog.filter(filter).length);
+
+		assertThrows(IllegalArgumentException.class, () -> catalog.filter(null));
+		assertThrows(IllegalArgumentException.class, () -> CatalogFilter.all().and(null));
+	}
+
+	/**
+	 * Tests finding the rows that conflict with an activity against Activity.conflictsWith().
+	 */
+	@Test
+	public void testFindConflicts() {
+		CourseCatalog catalog = new CourseCatalog();
+		Random random = new Random(116);
+		String[] days = {"M", "TH", "MWF", "W", "A"};
+
+		for (int i = 0; i < 300; i++) {
+			int startMinutes = 7 * 60 + random.nextInt(12 * 60);
+			int endMinutes = startMinutes + random.nextInt(150);
+			String meetingDays = days[i % days.length];
+			boolean arranged = "A".equals(meetingDays);
+			catalog.add(new Course("CSC " + (100 + i), "Title", "001", 3, "inst", meetingDays,
+					arranged ? 0 : startMinutes / 60 * 100 + startMinutes % 60,
+					arranged ? 0 : endMinutes / 60 * 100 + endMinutes % 60));
+		}
+
+		Activity[] activities = {new Event("Lunch", "MW", 1200, 1300, ""), new Event("Gym", "H", 700, 730, ""),
+			new Event("Work", "MTWHF", 1400, 1400, ""), new Event("Game", "SU", 1000, 1300, ""),
+			new Course("CSC 999", "Title", "001", 3, "inst", "A")};
+		for (Activity activity : activities) {
+			ArrayList<Integer> expected = new ArrayList<Integer>();
+			for (int row = 0; row < catalog.size(); row++) {
+				if (catalog.getCourse(row).conflictsWith(activity)) {
+					expected.add(row);
+				}
+			}
+			int[] actual = catalog.findConflicts(activity);
+			assertEquals(expected.size(), actual.length);
+			for (int i = 0; i < actual.length; i++) {
+				assertEquals((int) expected.get(i), actual[i]);
+			}
+		}
+	}
+
+	/**
+	 * Tests that a frozen catalog keeps its rows and indexes and cannot be changed.
+	 */
+	@Test
+	public void testFreeze() {
+		CourseCatalog catalog = new CourseCatalog(100);
+		catalog.add(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100));
+		catalog.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445));
+		assertFalse(catalog.isFrozen());
+
+		assertSame(catalog, catalog.freeze());
+		assertTrue(catalog.isFrozen());
+		assertSame(catalog, catalog.freeze());
+
+		assertEquals(2, catalog.size());
+		assertEquals(1, catalog.indexOf("CSC 216", "001"));
+		assertEquals("TH 1:30PM-2:45PM", catalog.getMeetingString(1));
+		assertArrayEquals(new int[] {0}, catalog.findByMeeting("M", 900, 1000));
+		assertArrayEquals(new int[] {1}, catalog.filter(CatalogFilter.instructor("sesmith5")));
+
+		assertThrows(IllegalStateException.class,
+				() -> catalog.add(new Course("CSC 316", "Data Structures", "001", 3, "jtking", "MW", 830, 945)));
+		assertEquals(2, catalog.size());
+	}
+
+
+	/**
+	 * Tests reserving and releasing seats, including after the catalog grows and is frozen.
+	 */
+	@Test
+	public void testReserveSeat() {
+		CourseCatalog catalog = new CourseCatalog(1);
+		Course limited = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445);
+		limited.setSeats(3, 1);
+		catalog.add(limited);
+		catalog.add(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100));
+
+		assertEquals(3, catalog.getCapacity(0));
+		assertEquals(1, catalog.getEnrolled(0));
+		assertEquals(Course.UNLIMITED_SEATS, catalog.getCapacity(1));
+		assertEquals(0, catalog.getEnrolled(1));
+
+		assertTrue(catalog.reserveSeat(0));
+		assertTrue(catalog.hasOpenSeat(0));
+		assertTrue(catalog.reserveSeat(0));
+		assertFalse(catalog.hasOpenSeat(0));
+		assertFalse(catalog.reserveSeat(0));
+		assertEquals(3, catalog.getEnrolled(0));
+		assertEquals(3, catalog.getCourse(0).getEnrolled());
+		assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445,3/3",
+				catalog.getCourse(0).toString());
+
+		catalog.releaseSeat(0);
+		assertEquals(2, catalog.getEnrolled(0));
+		assertTrue(catalog.reserveSeat(1));
+		assertEquals(1, catalog.getEnrolled(1));
+		assertEquals("CSC 116,Intro to Programming - Java,001,3,jdyoung2,MW,910,1100", catalog.getCourse(1).toString());
+		catalog.releaseSeat(1);
+		catalog.releaseSeat(1);
+		assertEquals(0, catalog.getEnrolled(1));
+
+		//Seats can still be reserved once the catalog is frozen
+		catalog.freeze();
+		assertTrue(catalog.reserveSeat(0));
+		assertFalse(catalog.reserveSeat(0));
+		assertEquals(3, catalog.getEnrolled(0));
+
+		assertThrows(IndexOutOfBoundsException.class, () -> catalog.reserveSeat(2));
+		assertThrows(IndexOutOfBoundsException.class, () -> catalog.releaseSeat(-1));
+	}
+
+}
@@ -464,4 +464,124 @@ public class CourseTest {
 		assertEquals(s2, c2.toString());
 	}
 
+	/**
+	 * Tests that cached display values are copied for each caller and rebuilt after a setter changes a field.
+	 */
+	@Test
+	public void testCachedValuesCleared() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+
+		String[] shortDisplay = c.getShortDisplayArray();
+		String[] longDisplay = c.getLongDisplayArray();
+		assertNotSame(shortDisplay, c.getShortDisplayArray());
+		assertArrayEquals(shortDisplay, c.getShortDisplayArray());
+		assertNotSame(longDisplay, c.getLongDisplayArray());
+		assertArrayEquals(longDisplay, c.getLongDisplayArray());
+
+		//Changing a returned array does not change the course
+		shortDisplay[2] = "Changed";
+		longDisplay[2] = "Changed";
+		assertEquals("Software Development Fundamentals", c.getShortDisplayArray()[2]);
+		assertEquals("Software Development Fundamentals", c.getLongDisplayArray()[2]);
+		assertSame(c.toString(), c.toString());
+		assertSame(c.getMeetingString(), c.getMeetingString());
+
+		c.setTitle("Data Structures");
+		assertEquals("Data Structures", c.getShortDisplayArray()[2]);
+		assertEquals("Data Structures", c.getLongDisplayArray()[2]);
+
+		c.setSection("002");
+		assertEquals("002", c.getShortDisplayArray()[1]);
+
+		c.setCredits(4);
+		assertEquals("4", c.getLongDisplayArray()[3]);
+
+		c.setInstructorId("jdyoung2");
+		assertEquals("jdyoung2", c.getLongDisplayArray()[4]);
+
+		c.setMeetingDaysAndTime("TH", 1145, 1300);
+		assertEquals("TH 11:45AM-1:00PM", c.getMeetingString());
+		assertEquals("TH 11:45AM-1:00PM", c.getShortDisplayArray()[3]);
+		assertEquals("CSC 216,Data Structures,002,4,jdyoung2,TH,1145,1300", c.toString());
+
+		c.setMeetingDaysAndTime("A", 0, 0);
+		assertEquals("Arranged", c.getLongDisplayArray()[5]);
+		assertEquals("CSC 216,Data Structures,002,4,jdyoung2,A", c.toString());
+	}
+
+	/**
+	 * Tests setting a course's seats and the seats column of its record string.
+	 */
+	@Test
+	public void testSetSeats() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		assertEquals(Course.UNLIMITED_SEATS, c.getCapacity());
+		assertEquals(0, c.getEnrolled());
+
+		Course other = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		String record = c.toString();
+		c.setSeats(30, 12);
+		assertEquals(30, c.getCapacity());
+		assertEquals(12, c.getEnrolled());
+		assertEquals(record + ",30/12", c.toString());
+		assertEquals(other, c);
+		assertEquals(other.hashCode(), c.hashCode());
+
+		c.setSeats(0, 0);
+		assertEquals(record + ",0/0", c.toString());
+
+		assertThrows(IllegalArgumentException.class, () -> c.setSeats(-1, 0));
+		assertThrows(IllegalArgumentException.class, () -> c.setSeats(10, -1));
+		assertThrows(IllegalArgumentException.class, () -> c.setSeats(10, 11));
+		assertEquals(0, c.getCapacity());
+
+		c.setSeats(Course.UNLIMITED_SEATS, 5);
+		assertEquals(record, c.toString());
+	}
+
+	/**
+	 * Tests that a copy of a course has the same fields and seats and is changed independently.
+	 */
+	@Test
+	public void testCopy() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		c.setSeats(30, 12);
+		Course copy = c.copy();
+
+		assertNotSame(c, copy);
+		assertEquals(c, copy);
+		assertEquals(c.toString(), copy.toString());
+		assertEquals(c.getMeetingDaysMask(), copy.getMeetingDaysMask());
+		assertArrayEquals(c.getShortDisplayArray(), copy.getShortDisplayArray());
+
+		copy.setTitle("Other");
+		copy.setSeats(30, 13);
+		assertEquals(TITLE, c.getTitle());
+		assertEquals(12, c.getEnrolled());
+	}
+
+	/**
+	 * Tests copying a course with other instances of its strings.
+	 */
+	@Test
+	public void testWithSharedStrings() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		c.setSeats(30, 12);
+		String title = new String(TITLE);
+
+		Course shared = c.withSharedStrings(NAME, title, SECTION, INSTRUCTOR_ID, MEETING_DAYS);
+		assertNotSame(c, shared);
+		assertSame(title, shared.getTitle());
+		assertEquals(c, shared);
+		assertEquals(c.toString(), shared.toString());
+		assertEquals(c.getMeetingString(), shared.getMeetingString());
+		assertEquals(c.getMeetingDaysMask(), shared.getMeetingDaysMask());
+		assertArrayEquals(c.getLongDisplayArray(), shared.getLongDisplayArray());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> c.withSharedStrings(NAME, "Other", SECTION, INSTRUCTOR_ID, MEETING_DAYS));
+		assertThrows(IllegalArgumentException.class,
+				() -> c.withSharedStrings(NAME, TITLE, SECTION, INSTRUCTOR_ID, null));
+	}
+
 }
\ No newline at end of file
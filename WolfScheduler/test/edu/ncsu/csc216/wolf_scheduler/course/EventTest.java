@@ -283,4 +283,58 @@ public class EventTest {
 		
 	}
 
+	/**
+	 * Tests that cached display values are copied for each caller and rebuilt after a setter changes a field.
+	 */
+	@Test
+	public void testCachedValuesCleared() {
+		Event event = new Event(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+
+		String[] shortDisplay = event.getShortDisplayArray();
+		String[] longDisplay = event.getLongDisplayArray();
+		assertNotSame(shortDisplay, event.getShortDisplayArray());
+		assertArrayEquals(shortDisplay, event.getShortDisplayArray());
+		assertNotSame(longDisplay, event.getLongDisplayArray());
+		assertArrayEquals(longDisplay, event.getLongDisplayArray());
+
+		//Changing a returned array does not change the event
+		shortDisplay[2] = "Changed";
+		longDisplay[6] = "Changed";
+		assertEquals(EVENT_TITLE, event.getShortDisplayArray()[2]);
+		assertEquals(EVENT_DETAILS, event.getLongDisplayArray()[6]);
+		assertSame(event.toString(), event.toString());
+
+		event.setTitle("Run");
+		assertEquals("Run", event.getShortDisplayArray()[2]);
+
+		event.setEventDetails("Track");
+		assertEquals("Track", event.getLongDisplayArray()[6]);
+
+		event.setMeetingDaysAndTime("SU", 1300, 1430);
+		assertEquals("SU 1:00PM-2:30PM", event.getShortDisplayArray()[3]);
+		assertEquals("SU 1:00PM-2:30PM", event.getLongDisplayArray()[5]);
+		assertEquals("Run,SU,1300,1430,Track", event.toString());
+	}
+
+	/**
+	 * Tests that a copy of an event has the same fields and is changed independently.
+	 */
+	@Test
+	public void testCopy() {
+		Event event = new Event(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		Event copy = event.copy();
+
+		assertNotSame(event, copy);
+		assertEquals(event, copy);
+		assertEquals(event.toString(), copy.toString());
+		assertEquals(event.getMeetingString(), copy.getMeetingString());
+		assertEquals(event.getMeetingDaysMask(), copy.getMeetingDaysMask());
+		assertArrayEquals(event.getLongDisplayArray(), copy.getLongDisplayArray());
+
+		copy.setEventDetails("Track");
+		copy.setMeetingDaysAndTime("SU", 1300, 1430);
+		assertEquals("Exercise,MTWHF,800,900,Cardio Time!", event.toString());
+		assertEquals("Exercise,SU,1300,1430,Track", copy.toString());
+	}
+
 }
\ No newline at end of file
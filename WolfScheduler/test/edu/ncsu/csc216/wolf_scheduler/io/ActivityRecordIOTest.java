@@ -1,12 +1,25 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 
@@ -60,6 +73,187 @@ public class ActivityRecordIOTest {
 		checkFiles("test-files/expected_activity_records.txt", "test-files/actual_activity_records.txt");
 	}
 
+	/**
+	 * Tests the exact line written for each kind of course. A course with a seat limit is
+	 * written as its toString() without the capacity and enrolled column, and the lines
+	 * read back as the same courses.
+	 * @throws IOException if the records cannot be written
+	 */
+	@Test
+	public void testWriteActivityRecordsCourseFormat() throws IOException {
+		Course meeting = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+		Course arranged = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+		meeting.setSeats(30, 12);
+		arranged.setSeats(10, 0);
+		assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,30/12", meeting.toString());
+		assertEquals("CSC 216,Software Development Fundamentals,601,3,jctetter,A,10/0", arranged.toString());
+
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(meeting);
+		activities.add(arranged);
+		activities.add(new Course("CSC 116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440));
+
+		StringWriter writer = new StringWriter();
+		ActivityRecordIO.writeActivityRecords(writer, activities);
+		String[] lines = writer.toString().split(System.lineSeparator());
+		assertEquals(3, lines.length);
+		assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445", lines[0]);
+		assertEquals("CSC 216,Software Development Fundamentals,601,3,jctetter,A", lines[1]);
+		assertEquals(activities.get(2).toString(), lines[2]);
+
+		ArrayList<String> read = new ArrayList<String>();
+		int skipped = ActivityRecordIO.readActivityRecords(new StringReader(writer.toString()), new ActivityRecordConsumer() {
+
+			@Override
+			public void acceptCourse(String name, String section) {
+				read.add(name + "-" + section);
+			}
+
+			@Override
+			public void acceptEvent(Event event) {
+				fail("Unexpected event " + event);
+			}
+		});
+		assertEquals(0, skipped);
+		assertEquals(Arrays.asList("CSC 216-001", "CSC 216-601", "CSC 116-003"), read);
+	}
+
+	/**
+	 * Tests that writing to a writer, stream, or path gives the toString() of each activity,
+	 * leaving out the seats of a course.
+	 * @throws IOException if the records cannot be written
+	 */
+	@Test
+	public void testWriteActivityRecordsTargets() throws IOException {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC 116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440));
+		activities.add(new Event("Exercise", "UMTHFS", 800, 900, "Cardio with rest day on Wednesday."));
+		Course limited = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+		limited.setSeats(2147483646, 1000000000);
+		activities.add(limited);
+
+		StringBuilder expected = new StringBuilder();
+		expected.append(activities.get(0).toString()).append(System.lineSeparator());
+		expected.append(activities.get(1).toString()).append(System.lineSeparator());
+		expected.append("CSC 216,Software Development Fundamentals,601,3,jctetter,A").append(System.lineSeparator());
+
+		StringWriter writer = new StringWriter();
+		ActivityRecordIO.writeActivityRecords(writer, activities);
+		assertEquals(expected.toString(), writer.toString());
+
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		ActivityRecordIO.writeActivityRecords(stream, activities);
+		assertEquals(expected.toString(), stream.toString());
+
+		Path dir = Files.createTempDirectory("records");
+		Path path = dir.resolve("records.txt");
+		try {
+			ActivityRecordIO.writeActivityRecords(path, activities, true);
+			assertEquals(expected.toString(), new String(Files.readAllBytes(path)));
+			try (Stream<Path> files = Files.list(dir)) {
+				assertEquals(Arrays.asList(path), files.collect(Collectors.toList()));
+			}
+
+			//Concurrent atomic writes to one file each go through their own temporary file
+			ExecutorService pool = Executors.newFixedThreadPool(4);
+			try {
+				ArrayList<Future<?>> writes = new ArrayList<Future<?>>();
+				for (int i = 0; i < 40; i++) {
+					writes.add(pool.submit(() -> {
+						ActivityRecordIO.writeActivityRecords(path, activities, true);
+						return null;
+					}));
+				}
+				for (Future<?> write : writes) {
+					write.get();
+				}
+			} catch (Exception e) {
+				fail("Concurrent write failed: " + e);
+			} finally {
+				pool.shutdown();
+			}
+			assertEquals(expected.toString(), new String(Files.readAllBytes(path)));
+			try (Stream<Path> files = Files.list(dir)) {
+				assertEquals(Arrays.asList(path), files.collect(Collectors.toList()));
+			}
+
+			ActivityRecordIO.writeActivityRecords(path, new ArrayList<Activity>(), true);
+			assertEquals("", new String(Files.readAllBytes(path)));
+
+			assertThrows(IOException.class,
+					() -> ActivityRecordIO.writeActivityRecords(dir.resolve("missing").resolve("records.txt"), activities, true));
+		} finally {
+			Files.deleteIfExists(path);
+			Files.delete(dir);
+		}
+	}
+
+	/**
+	 * Tests that readActivityRecords() tells courses and events apart by the shape of their
+	 * fields and skips lines that are neither.
+	 * @throws IOException if the records cannot be read
+	 */
+	@Test
+	public void testReadActivityRecords() throws IOException {
+		String records = "CSC 116,Intro to Programming - Java,003,3,spbalik,MW,1250,1440\n"
+				+ "Exercise,UMTHFS,800,900,Cardio with rest day on Wednesday.\n"
+				+ "CSC 216,Software Development Fundamentals,601,3,jctetter,A\n"
+				+ "CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,30/12\n"
+				+ "CSC 217,Software Development Fundamentals Lab,601,1,sesmith5,A,10/0\n"
+				+ "Lunch,MWF,1200,1230,\n"
+				+ "Study,H,5,9,Chapters 1, 2, and 3, then the quiz, the project, and lab 4\n"
+				+ "\n"
+				+ "garbage\n"
+				+ "Nap,X,1300,1400,Bad days\n"
+				+ "Nap,M,1400,1300,Bad times\n"
+				+ "CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445,30/12,extra\n"
+				+ "CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330\n"
+				+ "CSC 216,Software Development Fundamentals,601,3,jctetter,A,1330,1445\n";
+
+		ArrayList<String> read = new ArrayList<String>();
+		int skipped = ActivityRecordIO.readActivityRecords(new StringReader(records), new ActivityRecordConsumer() {
+
+			@Override
+			public void acceptCourse(String name, String section) {
+				read.add(name + "-" + section);
+			}
+
+			@Override
+			public void acceptEvent(Event event) {
+				read.add(event.toString());
+			}
+		});
+
+		assertEquals(Arrays.asList("CSC 116-003", "Exercise,UMTHFS,800,900,Cardio with rest day on Wednesday.",
+				"CSC 216-601", "CSC 216-001", "CSC 217-601", "Lunch,MWF,1200,1230,",
+				"Study,H,5,9,Chapters 1, 2, and 3, then the quiz, the project, and lab 4"), read);
+		assertEquals(6, skipped);
+
+		//A written schedule reads back the same
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC 230", "C and Software Tools", "001", 3, "dbsturgi", "MW", 1145, 1300));
+		activities.add(new Event("Gym", "F", 800, 900, "Weights, then cardio"));
+		StringWriter writer = new StringWriter();
+		ActivityRecordIO.writeActivityRecords(writer, activities);
+
+		read.clear();
+		ActivityRecordIO.readActivityRecords(new StringReader(writer.toString()), new ActivityRecordConsumer() {
+
+			@Override
+			public void acceptCourse(String name, String section) {
+				read.add(name + "-" + section);
+			}
+
+			@Override
+			public void acceptEvent(Event event) {
+				read.add(event.toString());
+			}
+		});
+		assertEquals(Arrays.asList("CSC 230-001", "Gym,F,800,900,Weights, then cardio"), read);
+
+		assertThrows(IOException.class, () -> ActivityRecordIO.readActivityRecords("test-files/nonexistent.txt", null));
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
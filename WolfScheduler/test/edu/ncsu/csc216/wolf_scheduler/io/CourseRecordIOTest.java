@@ -12,6 +12,7 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Scanner;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
@@ -126,6 +127,30 @@ public class CourseRecordIOTest {
 		checkFiles("test-files/expected_course_records.txt", "test-files/actual_course_records.txt");
 	}
 
+	/**
+	 * Tests readCourseRecordsParallel() returns the same courses as readCourseRecords().
+	 */
+	@Test
+	public void testReadCourseRecordsParallel() {
+		try {
+			ArrayList<Course> expected = CourseRecordIO.readCourseRecords(validTestFile);
+			
+			assertEquals(expected, CourseRecordIO.readCourseRecordsParallel(validTestFile));
+			
+			//Split into one chunk per line and into chunks of a few lines, so the duplicate
+			//CSC 116-002 is found in a later chunk than the first occurrence
+			assertEquals(expected, CourseRecordIO.readCourseRecordsParallel(validTestFile, 1));
+			assertEquals(expected, CourseRecordIO.readCourseRecordsParallel(validTestFile, 150));
+			
+			assertEquals(0, CourseRecordIO.readCourseRecordsParallel(invalidTestFile, 64).size());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+		
+		assertThrows(FileNotFoundException.class, () -> CourseRecordIO.readCourseRecordsParallel("test-files/no_such_file.txt"));
+	}
+	
+	
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
@@ -146,4 +171,140 @@ public class CourseRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests that readCourseRecords() shares equal field values through a StringPool.
+	 */
+	@Test
+	public void testReadCourseRecordsStringPool() {
+		StringPool pool = new StringPool();
+		try {
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, pool);
+			assertEquals(13, courses.size());
+			for (int i = 0; i < validCourses.length; i++) {
+				assertEquals(validCourses[i], courses.get(i).toString());
+			}
+
+			//Sections of the same course share their name and title
+			assertSame(courses.get(0).getName(), courses.get(1).getName());
+			assertSame(courses.get(0).getTitle(), courses.get(2).getTitle());
+			assertSame(courses.get(3).getInstructorId(), courses.get(6).getInstructorId());
+			assertTrue(pool.getDuplicateCount() > 0);
+			assertTrue(pool.getBytesSaved() > 0);
+
+			//Only the fields of accepted courses are pooled and counted, not those of the
+			//invalid and duplicate lines in the file
+			HashSet<String> distinct = new HashSet<String>();
+			long fieldBytes = 0;
+			for (Course c : courses) {
+				for (String field : new String[] {c.getName(), c.getTitle(), c.getSection(), c.getInstructorId(), c.getMeetingDays()}) {
+					fieldBytes += StringPool.estimatedSize(field);
+					distinct.add(field);
+				}
+			}
+			long distinctBytes = 0;
+			for (String field : distinct) {
+				distinctBytes += StringPool.estimatedSize(field);
+			}
+			assertEquals(distinct.size(), pool.size());
+			assertEquals(courses.size() * 5 - distinct.size(), pool.getDuplicateCount());
+			assertEquals(fieldBytes - distinctBytes, pool.getBytesSaved());
+
+			StringPool parallelPool = new StringPool();
+			ArrayList<Course> parallel = CourseRecordIO.readCourseRecordsParallel(validTestFile, 64, parallelPool);
+			assertSame(parallel.get(0).getTitle(), parallel.get(1).getTitle());
+			assertEquals(pool.size(), parallelPool.size());
+			assertEquals(pool.getBytesSaved(), parallelPool.getBytesSaved());
+
+			StringPool invalidPool = new StringPool();
+			assertEquals(0, CourseRecordIO.readCourseRecords(invalidTestFile, invalidPool).size());
+			assertEquals(0, invalidPool.size());
+			assertEquals(0, invalidPool.getBytesSaved());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+
+	/**
+	 * Tests that readCourseRecords() hands courses to a consumer in batches and stops
+	 * reading when the consumer returns false.
+	 */
+	@Test
+	public void testReadCourseRecordsBatches() {
+		try {
+			ArrayList<ArrayList<Course>> batches = new ArrayList<ArrayList<Course>>();
+			ArrayList<Long> progress = new ArrayList<Long>();
+			CourseRecordIO.readCourseRecords(validTestFile, 5, (batch, bytesRead) -> {
+				batches.add(batch);
+				progress.add(bytesRead);
+				return true;
+			});
+			assertEquals(3, batches.size());
+			assertEquals(5, batches.get(0).size());
+			assertEquals(5, batches.get(1).size());
+			assertEquals(3, batches.get(2).size());
+			int i = 0;
+			for (ArrayList<Course> batch : batches) {
+				for (Course c : batch) {
+					assertEquals(validCourses[i++], c.toString());
+				}
+			}
+			assertTrue(progress.get(0) <= progress.get(1));
+			assertTrue(progress.get(1) <= progress.get(2));
+			assertEquals(new File(validTestFile).length(), (long) progress.get(2));
+
+			//Stop after the first batch
+			batches.clear();
+			CourseRecordIO.readCourseRecords(validTestFile, 4, (batch, bytesRead) -> batches.add(batch) && false);
+			assertEquals(1, batches.size());
+			assertEquals(4, batches.get(0).size());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+
+		assertThrows(IllegalArgumentException.class,
+				() -> CourseRecordIO.readCourseRecords(validTestFile, 0, (batch, bytesRead) -> true));
+
+		//An exception from the consumer is passed on instead of being taken for an invalid line
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> CourseRecordIO.readCourseRecords(validTestFile, 2, (batch, bytesRead) -> {
+					throw new IllegalStateException("Stop");
+				}));
+		assertEquals("Stop", e.getMessage());
+		IllegalArgumentException invalid = assertThrows(IllegalArgumentException.class,
+				() -> CourseRecordIO.readCourseRecords(validTestFile, 2, (batch, bytesRead) -> {
+					throw new IllegalArgumentException("Consumer");
+				}));
+		assertEquals("Consumer", invalid.getMessage());
+		assertThrows(FileNotFoundException.class,
+				() -> CourseRecordIO.readCourseRecords("test-files/nonexistent.txt", 1, (batch, bytesRead) -> true));
+	}
+
+	/**
+	 * Tests reading course records with the optional seats column.
+	 */
+	@Test
+	public void testReadCourseRecordsSeats() {
+		try {
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords("test-files/seat_course_records.txt");
+			assertEquals(4, courses.size());
+
+			assertEquals(30, courses.get(0).getCapacity());
+			assertEquals(12, courses.get(0).getEnrolled());
+			assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445,30/12",
+					courses.get(0).toString());
+
+			assertEquals(Course.UNLIMITED_SEATS, courses.get(1).getCapacity());
+			assertEquals(validCourse5, courses.get(1).toString());
+
+			assertEquals(10, courses.get(2).getCapacity());
+			assertEquals(10, courses.get(2).getEnrolled());
+			assertEquals("CSC 216,Software Development Fundamentals,601,3,jctetter,A,10/10", courses.get(2).toString());
+
+			assertEquals(0, courses.get(3).getCapacity());
+			assertEquals("CSC 230", courses.get(3).getName());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading test-files/seat_course_records.txt");
+		}
+	}
+
 }
\ No newline at end of file
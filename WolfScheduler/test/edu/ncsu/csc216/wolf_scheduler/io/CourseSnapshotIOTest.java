@@ -0,0 +1,141 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CourseSnapshotIO.
+ *
+ * @author msabrams
+ */
+public class CourseSnapshotIOTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/** Directory for the snapshots written by each test */
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Tests that a snapshot reads back the same courses in the same order.
+	 *
+	 * @throws IOException if the snapshot cannot be written or read
+	 */
+	@Test
+	public void testWriteAndReadSnapshot() throws IOException {
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+		courses.get(0).setSeats(30, 12);
+		courses.get(5).setSeats(0, 0);
+		String snapshot = tempDir.resolve("catalog.snapshot").toString();
+
+		CourseSnapshotIO.writeSnapshot(snapshot, courses);
+		ArrayList<Course> actual = CourseSnapshotIO.readSnapshot(snapshot);
+
+		assertEquals(courses.size(), actual.size());
+		for (int i = 0; i < courses.size(); i++) {
+			assertEquals(courses.get(i), actual.get(i));
+			assertEquals(courses.get(i).toString(), actual.get(i).toString());
+			assertEquals(courses.get(i).getCapacity(), actual.get(i).getCapacity());
+			assertEquals(courses.get(i).getEnrolled(), actual.get(i).getEnrolled());
+		}
+
+		CourseSnapshotIO.writeSnapshot(snapshot, new ArrayList<Course>());
+		assertEquals(0, CourseSnapshotIO.readSnapshot(snapshot).size());
+	}
+
+	/**
+	 * Tests that damaged, truncated, and foreign files are rejected.
+	 *
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	@Test
+	public void testReadDamagedSnapshot() throws IOException {
+		Path snapshot = tempDir.resolve("catalog.snapshot");
+		CourseSnapshotIO.writeSnapshot(snapshot.toString(), CourseRecordIO.readCourseRecords(validTestFile));
+		byte[] bytes = Files.readAllBytes(snapshot);
+
+		//Flip a bit in the middle of the string table
+		byte[] damaged = bytes.clone();
+		damaged[40] ^= 1;
+		Files.write(snapshot, damaged);
+		assertThrows(IOException.class, () -> CourseSnapshotIO.readSnapshot(snapshot.toString()));
+
+		//Drop the checksum
+		Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 8));
+		assertThrows(IOException.class, () -> CourseSnapshotIO.readSnapshot(snapshot.toString()));
+
+		//A course records file is not a snapshot
+		assertThrows(IOException.class, () -> CourseSnapshotIO.readSnapshot(validTestFile));
+
+		assertThrows(IOException.class, () -> CourseSnapshotIO.readSnapshot(tempDir.resolve("missing").toString()));
+
+		//No temporary files are left behind by the writes
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(tempDir)) {
+			for (Path file : files) {
+				assertEquals(snapshot, file);
+			}
+		}
+	}
+
+	/**
+	 * Tests that a snapshot is only current while its catalog file has the length and
+	 * modified time recorded in the snapshot.
+	 *
+	 * @throws IOException if the files cannot be written
+	 */
+	@Test
+	public void testHasCurrentSnapshot() throws IOException {
+		File catalog = tempDir.resolve("course_records.txt").toFile();
+		Files.copy(new File(validTestFile).toPath(), catalog.toPath());
+		File snapshot = new File(CourseSnapshotIO.snapshotFileName(catalog.getPath()));
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(catalog.getPath());
+
+		assertEquals(catalog.getPath() + ".snapshot", snapshot.getPath());
+		assertFalse(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+
+		//A snapshot that is not tied to the catalog is never current, however new it is
+		CourseSnapshotIO.writeSnapshot(snapshot.getPath(), courses);
+		assertTrue(snapshot.setLastModified(catalog.lastModified() + 1000));
+		assertFalse(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+
+		CourseSnapshotIO.writeCatalogSnapshot(catalog.getPath(), courses, catalog.length(), catalog.lastModified());
+		assertTrue(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+
+		//The snapshot's own modified time does not matter
+		assertTrue(snapshot.setLastModified(catalog.lastModified() - 1000));
+		assertTrue(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+
+		//A change to the catalog's modified time makes the snapshot stale, even an older time
+		long modified = catalog.lastModified();
+		assertTrue(catalog.setLastModified(modified - 1000));
+		assertFalse(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+
+		//So does a change to the catalog's length with the same modified time
+		Files.write(catalog.toPath(), "\n".getBytes(), StandardOpenOption.APPEND);
+		assertTrue(catalog.setLastModified(modified));
+		assertFalse(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+
+		//A snapshot with a damaged header is not current
+		CourseSnapshotIO.writeCatalogSnapshot(catalog.getPath(), courses, catalog.length(), catalog.lastModified());
+		Files.write(snapshot.toPath(), new byte[] {1, 2, 3});
+		assertFalse(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+
+		assertTrue(catalog.delete());
+		assertFalse(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+	}
+
+}
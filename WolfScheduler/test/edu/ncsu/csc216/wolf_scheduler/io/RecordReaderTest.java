@@ -0,0 +1,63 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the RecordReader class.
+ * 
+ * @author msabrams
+ *
+ */
+class RecordReaderTest {
+
+	/**
+	 * Tests that lines are split on every line separator Scanner recognizes.
+	 */
+	@Test
+	public void testReadLine() throws IOException {
+		
+		try (RecordReader reader = new RecordReader(new StringReader("a\r\nb\rc\n\nd\u2028e\u0085f"))) {
+			assertEquals("a", reader.readLine());
+			assertEquals("b", reader.readLine());
+			assertEquals("c", reader.readLine());
+			assertEquals("", reader.readLine());
+			assertEquals("d", reader.readLine());
+			assertEquals("e", reader.readLine());
+			assertEquals("f", reader.readLine());
+			assertNull(reader.readLine());
+		}
+		
+		try (RecordReader reader = new RecordReader(new StringReader("a\n"))) {
+			assertEquals("a", reader.readLine());
+			assertNull(reader.readLine());
+		}
+	}
+	
+	/**
+	 * Tests lines longer than the buffer, and a \r\n split across two reads.
+	 */
+	@Test
+	public void testReadLongLine() throws IOException {
+		
+		StringBuilder longLine = new StringBuilder();
+		for (int i = 0; i < RecordReader.BUFFER_SIZE * 2 + 1; i++) {
+			longLine.append('x');
+		}
+		
+		//The \r is the last character of the third buffer and the \n is the first of the fourth
+		String padding = longLine.substring(0, RecordReader.BUFFER_SIZE - 3);
+		
+		try (RecordReader reader = new RecordReader(new StringReader(longLine + "\n" + padding + "\r\nb"))) {
+			assertEquals(longLine.toString(), reader.readLine());
+			assertEquals(padding, reader.readLine());
+			assertEquals("b", reader.readLine());
+			assertNull(reader.readLine());
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the RecordTokenizer class.
+ * 
+ * @author msabrams
+ *
+ */
+class RecordTokenizerTest {
+
+	/**
+	 * Tests that tokens are split the same way as a Scanner with a comma delimiter.
+	 */
+	@Test
+	public void testNext() {
+		
+		RecordTokenizer tokens = new RecordTokenizer("CSC 216,,Title,");
+		assertEquals("CSC 216", tokens.next());
+		assertEquals("", tokens.next());
+		assertEquals("Title", tokens.next());
+		assertFalse(tokens.hasNext());
+		assertThrows(IllegalArgumentException.class, () -> tokens.next());
+		
+		//One leading delimiter is skipped, a second one gives an empty token
+		RecordTokenizer leading = new RecordTokenizer(",,A");
+		assertEquals("", leading.next());
+		assertEquals("A", leading.next());
+		assertFalse(leading.hasNext());
+		
+		//Two trailing delimiters leave an empty token
+		RecordTokenizer trailing = new RecordTokenizer("A,,");
+		assertEquals("A", trailing.next());
+		assertTrue(trailing.hasNext());
+		assertEquals("", trailing.next());
+		assertFalse(trailing.hasNext());
+		
+		assertFalse(new RecordTokenizer("").hasNext());
+		assertFalse(new RecordTokenizer(",").hasNext());
+	}
+	
+	/**
+	 * Tests parsing valid and invalid int tokens.
+	 */
+	@Test
+	public void testNextInt() {
+		
+		RecordTokenizer tokens = new RecordTokenizer("0910,+3,-5,2147483647,-2147483648");
+		assertEquals(910, tokens.nextInt());
+		assertEquals(3, tokens.nextInt());
+		assertEquals(-5, tokens.nextInt());
+		assertEquals(Integer.MAX_VALUE, tokens.nextInt());
+		assertEquals(Integer.MIN_VALUE, tokens.nextInt());
+		assertFalse(tokens.hasNext());
+		
+		assertThrows(IllegalArgumentException.class, () -> new RecordTokenizer("2147483648").nextInt());
+		assertThrows(IllegalArgumentException.class, () -> new RecordTokenizer(" 3").nextInt());
+		assertThrows(IllegalArgumentException.class, () -> new RecordTokenizer("+").nextInt());
+		assertThrows(IllegalArgumentException.class, () -> new RecordTokenizer("3a").nextInt());
+		assertThrows(IllegalArgumentException.class, () -> new RecordTokenizer(",,3").nextInt());
+		
+		//A failed int leaves the token unread
+		RecordTokenizer word = new RecordTokenizer("MW,1330");
+		assertThrows(IllegalArgumentException.class, () -> word.nextInt());
+		assertEquals("MW", word.next());
+		assertEquals(1330, word.nextInt());
+	}
+
+}
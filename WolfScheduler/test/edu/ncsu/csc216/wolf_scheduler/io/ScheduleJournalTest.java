@@ -0,0 +1,222 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests ScheduleJournal.
+ *
+ * @author msabrams
+ */
+public class ScheduleJournalTest {
+
+	/** Directory for the journals written by each test */
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Records each replayed record as a string.
+	 */
+	private static class RecordingReplayer implements ScheduleJournal.Replayer {
+
+		/** Replayed records */
+		private ArrayList<String> records = new ArrayList<String>();
+
+		@Override
+		public void addCourse(String name, String section) {
+			records.add("course " + name + "-" + section);
+		}
+
+		@Override
+		public void addEvent(String title, String meetingDays, int startTime, int endTime, String eventDetails) {
+			records.add("event " + title + "," + meetingDays + "," + startTime + "," + endTime + "," + eventDetails);
+		}
+
+		@Override
+		public void startActivities() {
+			records.add("start");
+		}
+
+		@Override
+		public void endActivities() {
+			records.add("end");
+		}
+
+		@Override
+		public void removeActivity(int idx) {
+			records.add("remove " + idx);
+		}
+
+		@Override
+		public void reset() {
+			records.add("reset");
+		}
+
+		@Override
+		public void setTitle(String title) {
+			records.add("title " + title);
+		}
+	}
+
+	/**
+	 * Tests that appended records are replayed in order when the journal is opened again.
+	 *
+	 * @throws IOException if the journal cannot be written or read
+	 */
+	@Test
+	public void testAppendAndReplay() throws IOException {
+		String fileName = tempDir.resolve("schedule.journal").toString();
+
+		RecordingReplayer replayer = new RecordingReplayer();
+		try (ScheduleJournal journal = ScheduleJournal.open(fileName, true, replayer)) {
+			assertEquals(0, journal.getRecordCount());
+			journal.appendTitle("Fall");
+			journal.appendAddCourse("CSC 216", "001");
+			journal.appendAddEvent(new Event("Gym", "F", 800, 900, "Weights"));
+			ArrayList<Activity> activities = new ArrayList<Activity>();
+			activities.add(new Event("Lunch", "MW", 1200, 1230, ""));
+			activities.add(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100));
+			journal.appendAddActivities(activities);
+			journal.appendRemove(1);
+			journal.appendReset();
+			assertEquals(6, journal.getRecordCount());
+		}
+		assertEquals(0, replayer.records.size());
+
+		RecordingReplayer reopened = new RecordingReplayer();
+		try (ScheduleJournal journal = ScheduleJournal.open(fileName, false, reopened)) {
+			assertEquals(6, journal.getRecordCount());
+			journal.appendTitle("Spring");
+		}
+		assertEquals(Arrays.asList("title Fall", "course CSC 216-001", "event Gym,F,800,900,Weights",
+				"start", "event Lunch,MW,1200,1230,", "course CSC 116-001", "end", "remove 1", "reset"), reopened.records);
+
+		RecordingReplayer appended = new RecordingReplayer();
+		ScheduleJournal.open(fileName, false, appended).close();
+		assertEquals(10, appended.records.size());
+		assertEquals("title Spring", appended.records.get(9));
+	}
+
+	/**
+	 * Tests that a partly written record at the end of the journal is cut off and later
+	 * records are appended after the last complete one.
+	 *
+	 * @throws IOException if the journal cannot be written or read
+	 */
+	@Test
+	public void testTornRecord() throws IOException {
+		String fileName = tempDir.resolve("torn.journal").toString();
+
+		try (ScheduleJournal journal = ScheduleJournal.open(fileName, false, new RecordingReplayer())) {
+			journal.appendAddCourse("CSC 216", "001");
+			journal.appendAddCourse("CSC 116", "001");
+		}
+
+		//Cut the last record short
+		try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+			file.setLength(file.length() - 3);
+		}
+
+		RecordingReplayer replayer = new RecordingReplayer();
+		try (ScheduleJournal journal = ScheduleJournal.open(fileName, false, replayer)) {
+			assertEquals(1, journal.getRecordCount());
+			journal.appendAddCourse("CSC 226", "001");
+		}
+		assertEquals(Arrays.asList("course CSC 216-001"), replayer.records);
+
+		//Damage the checksum of the last record
+		try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+			file.seek(file.length() - 1);
+			int last = file.read();
+			file.seek(file.length() - 1);
+			file.write(last ^ 1);
+		}
+
+		RecordingReplayer damaged = new RecordingReplayer();
+		ScheduleJournal.open(fileName, false, damaged).close();
+		assertEquals(Arrays.asList("course CSC 216-001"), damaged.records);
+
+		//A file that is not a journal is rejected and left alone
+		Path other = tempDir.resolve("other.txt");
+		Files.write(other, "CSC 216,Software Development Fundamentals".getBytes());
+		assertThrows(IOException.class, () -> ScheduleJournal.open(other.toString(), false, new RecordingReplayer()));
+		assertEquals("CSC 216,Software Development Fundamentals", new String(Files.readAllBytes(other)));
+	}
+
+	/**
+	 * Tests that compaction replaces the journal with the records of the given schedule,
+	 * through its own temporary file that is gone afterward, even when compaction fails.
+	 *
+	 * @throws IOException if the journal cannot be written or read
+	 */
+	@Test
+	public void testCompact() throws IOException {
+		String fileName = tempDir.resolve("compact.journal").toString();
+
+		ArrayList<Activity> schedule = new ArrayList<Activity>();
+		schedule.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445));
+		schedule.add(new Event("Gym", "F", 800, 900, "Weights"));
+
+		//A file that happens to have the old temporary name is left alone
+		Path other = tempDir.resolve("compact.journal.tmp");
+		Files.write(other, new byte[] {1, 2, 3});
+
+		try (ScheduleJournal journal = ScheduleJournal.open(fileName, false, new RecordingReplayer())) {
+			for (int i = 0; i < 100; i++) {
+				journal.appendAddCourse("CSC 116", "001");
+				journal.appendRemove(0);
+			}
+			long size = Files.size(tempDir.resolve("compact.journal"));
+
+			//A schedule that cannot be written leaves the journal as it was
+			ArrayList<Activity> broken = new ArrayList<Activity>(schedule);
+			broken.add(null);
+			assertThrows(NullPointerException.class, () -> journal.compact("Fall", broken));
+			assertEquals(200, journal.getRecordCount());
+			assertEquals(size, Files.size(tempDir.resolve("compact.journal")));
+			assertEquals(2, countFiles());
+
+			journal.compact("Fall", schedule);
+			assertEquals(3, journal.getRecordCount());
+			assertTrue(Files.size(tempDir.resolve("compact.journal")) < size);
+			assertEquals(2, countFiles());
+			assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(other));
+
+			journal.appendRemove(1);
+			assertEquals(4, journal.getRecordCount());
+		}
+
+		RecordingReplayer replayer = new RecordingReplayer();
+		ScheduleJournal.open(fileName, false, replayer).close();
+		assertEquals(Arrays.asList("title Fall", "course CSC 216-001", "event Gym,F,800,900,Weights", "remove 1"),
+				replayer.records);
+	}
+
+	/**
+	 * Returns the number of files in the test directory.
+	 *
+	 * @return the number of files
+	 *
+	 * @throws IOException if the directory cannot be listed
+	 */
+	private long countFiles() throws IOException {
+		try (Stream<Path> files = Files.list(tempDir)) {
+			return files.count();
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests StringPool.
+ *
+ * @author msabrams
+ */
+public class StringPoolTest {
+
+	/**
+	 * Tests that equal strings share the first instance and the savings are counted.
+	 */
+	@Test
+	public void testIntern() {
+		StringPool pool = new StringPool();
+
+		String first = new String("Software Development Fundamentals");
+		String second = new String("Software Development Fundamentals");
+		String other = new String("sesmith5");
+
+		assertSame(first, pool.intern(first));
+		assertSame(first, pool.intern(second));
+		assertSame(other, pool.intern(other));
+		assertSame(first, pool.intern(second));
+
+		assertEquals(2, pool.size());
+		assertEquals(2, pool.getDuplicateCount());
+		assertEquals(2 * StringPool.estimatedSize(first), pool.getBytesSaved());
+	}
+
+	/**
+	 * Tests the estimated size of one and two byte strings.
+	 */
+	@Test
+	public void testEstimatedSize() {
+		assertEquals(40, StringPool.estimatedSize(""));
+		assertEquals(48, StringPool.estimatedSize("abc"));
+		assertEquals(48, StringPool.estimatedSize("abcdefgh"));
+		assertEquals(56, StringPool.estimatedSize("abcdefghi"));
+		assertEquals(56, StringPool.estimatedSize("abc\u4E2D\u6587"));
+	}
+
+}
@@ -0,0 +1,78 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the ScheduleIndex class.
+ *
+ * @author msabrams
+ *
+ */
+class ScheduleIndexTest {
+
+	/**
+	 * Tests finding conflicts on the same and on different days.
+	 */
+	@Test
+	public void testFindConflict() {
+		ScheduleIndex index = new ScheduleIndex();
+
+		Activity c1 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+		Activity c2 = new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025);
+		index.add(c1);
+		index.add(c2);
+
+		//No conflict on a different day, before, between, or after
+		assertNull(index.findConflict(new Event("Lunch", "TH", 1330, 1445, "")));
+		assertNull(index.findConflict(new Event("Lunch", "M", 800, 930, "")));
+		assertNull(index.findConflict(new Event("Lunch", "M", 1030, 1325, "")));
+		assertNull(index.findConflict(new Event("Lunch", "M", 1450, 1600, "")));
+
+		//Conflicts on a shared boundary, inside, and around an activity
+		assertEquals(c2, index.findConflict(new Event("Lunch", "F", 1025, 1100, "")));
+		assertEquals(c1, index.findConflict(new Event("Lunch", "W", 1400, 1410, "")));
+		assertEquals(c1, index.findConflict(new Event("Lunch", "UW", 1200, 1500, "")));
+		assertEquals(c1, index.findConflict(new Event("Lunch", "M", 1100, 1330, "")));
+
+		//Arranged courses never conflict
+		assertNull(index.findConflict(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A")));
+
+		index.remove(c1);
+		assertNull(index.findConflict(new Event("Lunch", "W", 1400, 1410, "")));
+
+		index.clear();
+		assertNull(index.findConflict(new Event("Lunch", "F", 1025, 1100, "")));
+	}
+
+	/**
+	 * Tests duplicate detection for courses and events.
+	 */
+	@Test
+	public void testIsDuplicate() {
+		ScheduleIndex index = new ScheduleIndex();
+
+		Activity c1 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+		Activity e1 = new Event("Lunch", "MWF", 1200, 1300, "Food");
+		index.add(c1);
+		index.add(e1);
+
+		assertTrue(index.isDuplicate(new Course("CSC 216", "Software Development Fundamentals", "002", 3, "ixdoming", "TH", 1330, 1445)));
+		assertTrue(index.isDuplicate(new Event("Lunch", "TH", 1200, 1300, "")));
+		assertFalse(index.isDuplicate(new Event("CSC 216", "TH", 1200, 1300, "")));
+		assertFalse(index.isDuplicate(new Course("CSC 226", "Lunch", "001", 3, "tmbarnes", "MWF", 935, 1025)));
+
+		index.remove(c1);
+		assertFalse(index.isDuplicate(c1));
+		assertTrue(index.isDuplicate(e1));
+
+		index.clear();
+		assertFalse(index.isDuplicate(e1));
+	}
+
+}
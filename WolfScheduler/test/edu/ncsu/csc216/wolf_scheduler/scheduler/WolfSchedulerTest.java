@@ -7,13 +7,29 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.CatalogFilter;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseSnapshotIO;
 
 /**
  * Tests the WolfScheduler class.
@@ -479,6 +495,226 @@ public class WolfSchedulerTest {
 	}
 	
 	
+	/**
+	 * Tests that removing and resetting activities frees their names and times for later adds.
+	 */
+	@Test
+	public void testScheduleIndexAfterRemoveAndReset() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		ws.addEventToSchedule("Lunch", "TH", 1500, 1530, "Food");
+		
+		//Snack ends when CSC 216-001 starts
+		assertThrows(IllegalArgumentException.class, 
+				() -> ws.addEventToSchedule("Snack", "H", 1300, 1330, "Food"));
+		
+		//Removing CSC 216-001 frees its name and its time
+		assertTrue(ws.removeActivityFromSchedule(0));
+		assertTrue(ws.addCourseToSchedule(NAME, "002"));
+		ws.addEventToSchedule("Snack", "H", 1300, 1330, "Food");
+		assertEquals(3, ws.getScheduledActivities().length);
+		
+		//Resetting frees the event titles
+		ws.resetSchedule();
+		ws.addEventToSchedule("Lunch", "MTWHF", 1200, 1300, "Food");
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		assertEquals(2, ws.getScheduledActivities().length);
+	}
+	
+	
+	/**
+	 * Tests that schedule listeners are notified of each change with the affected index.
+	 */
+	@Test
+	public void testScheduleListener() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ArrayList<String> events = new ArrayList<String>();
+		
+		ScheduleListener listener = new ScheduleListener() {
+			
+			@Override
+			public void activityAdded(Activity activity, int index) {
+				events.add("added " + activity.getTitle() + " " + index);
+			}
+			
+			@Override
+			public void activityRemoved(Activity activity, int index) {
+				events.add("removed " + activity.getTitle() + " " + index);
+			}
+			
+			@Override
+			public void scheduleReset(int removedCount) {
+				events.add("reset " + removedCount);
+			}
+			
+			@Override
+			public void titleChanged(String title) {
+				events.add("title " + title);
+			}
+		};
+		
+		ws.addScheduleListener(listener);
+		
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertFalse(ws.addCourseToSchedule("CSC 999", SECTION));
+		assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule(NAME, "002"));
+		assertTrue(ws.removeActivityFromSchedule(0));
+		assertFalse(ws.removeActivityFromSchedule(5));
+		ws.setScheduleTitle("Fall");
+		ws.resetSchedule();
+		
+		assertEquals(5, events.size());
+		assertEquals("added " + TITLE + " 0", events.get(0));
+		assertEquals("added " + EVENT_TITLE + " 1", events.get(1));
+		assertEquals("removed " + TITLE + " 0", events.get(2));
+		assertEquals("title Fall", events.get(3));
+		assertEquals("reset 1", events.get(4));
+		
+		//Removed listeners are not notified
+		ws.removeScheduleListener(listener);
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		assertEquals(5, events.size());
+		
+		assertThrows(IllegalArgumentException.class, () -> ws.addScheduleListener(null));
+	}
+	
+	/**
+	 * Tests that a listener that changes the activity it is given does not change the
+	 * schedule or its conflict checks.
+	 */
+	@Test
+	public void testScheduleListenerCopies() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		ws.addScheduleListener(new ScheduleListener() {
+			
+			@Override
+			public void activityAdded(Activity activity, int index) {
+				activity.setTitle("Changed");
+				activity.setMeetingDaysAndTime("F", 700, 730);
+			}
+			
+			@Override
+			public void activityRemoved(Activity activity, int index) {
+				activity.setTitle("Changed");
+			}
+			
+			@Override
+			public void scheduleReset(int removedCount) {
+				//Nothing to change
+			}
+			
+			@Override
+			public void titleChanged(String title) {
+				//Nothing to change
+			}
+		});
+		
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		assertEquals(TITLE, ws.getScheduledActivities()[0][2]);
+		assertEquals("TH 1:30PM-2:45PM", ws.getScheduledActivities()[0][3]);
+		
+		//The schedule still blocks the course's real meeting time
+		assertThrows(IllegalArgumentException.class,
+				() -> ws.addEventToSchedule(EVENT_TITLE, "H", 1400, 1500, EVENT_DETAILS));
+		ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertEquals(EVENT_TITLE, ws.getScheduledActivities()[1][2]);
+		
+		assertTrue(ws.removeActivityFromSchedule(1));
+		assertEquals(1, ws.getScheduledActivities().length);
+		assertEquals(TITLE, ws.getScheduledActivities()[0][2]);
+	}
+	
+	/**
+	 * Tests the catalog size, single row, and row range accessors.
+	 */
+	@Test
+	public void testGetCourseCatalogRows() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		String[][] catalog = ws.getCourseCatalog();
+		
+		assertEquals(13, ws.getCourseCatalogSize());
+		
+		for (int i = 0; i < catalog.length; i++) {
+			assertArrayEquals(catalog[i], ws.getCourseCatalogRow(i));
+		}
+		
+		String[][] rows = ws.getCourseCatalog(3, 7);
+		assertEquals(4, rows.length);
+		for (int i = 0; i < rows.length; i++) {
+			assertArrayEquals(catalog[i + 3], rows[i]);
+		}
+		
+		assertEquals(0, ws.getCourseCatalog(13, 13).length);
+		assertEquals(13, ws.getCourseCatalog(0, 13).length);
+		
+		assertThrows(IndexOutOfBoundsException.class, () -> ws.getCourseCatalogRow(13));
+		assertThrows(IndexOutOfBoundsException.class, () -> ws.getCourseCatalog(-1, 2));
+		assertThrows(IndexOutOfBoundsException.class, () -> ws.getCourseCatalog(0, 14));
+		assertThrows(IndexOutOfBoundsException.class, () -> ws.getCourseCatalog(5, 4));
+		
+		WolfScheduler empty = new WolfScheduler(invalidTestFile);
+		assertEquals(0, empty.getCourseCatalogSize());
+		assertEquals(0, empty.getCourseCatalog(0, 0).length);
+	}
+	
+	/**
+	 * Tests that the catalog is loaded from a current snapshot, and from the course
+	 * records file when the snapshot is missing, stale, or damaged. Parsing the file
+	 * writes a new snapshot of it.
+	 * 
+	 * @throws IOException if the test files cannot be written
+	 */
+	@Test
+	public void testWolfSchedulerSnapshot() throws IOException {
+		Path dir = Files.createTempDirectory("snapshot");
+		File catalog = dir.resolve("course_records.txt").toFile();
+		File snapshot = new File(CourseSnapshotIO.snapshotFileName(catalog.getPath()));
+		
+		try {
+			Files.copy(new File(validTestFile).toPath(), catalog.toPath());
+			
+			//Parsing the file writes a current snapshot of it and reports the strings it shared
+			WolfScheduler parsed = new WolfScheduler(catalog.getPath());
+			assertEquals(13, parsed.getCourseCatalog().length);
+			assertTrue(parsed.getCatalogBytesSaved() > 0);
+			assertTrue(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+			assertEquals(13, CourseSnapshotIO.readSnapshot(snapshot.getPath()).size());
+			assertEquals(0, new WolfScheduler(catalog.getPath()).getCatalogBytesSaved());
+			assertEquals(0, new WolfScheduler().getCatalogBytesSaved());
+			
+			//A current snapshot is used in place of the file
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(catalog.getPath());
+			ArrayList<Course> partial = new ArrayList<Course>(courses.subList(0, 2));
+			CourseSnapshotIO.writeCatalogSnapshot(catalog.getPath(), partial, catalog.length(), catalog.lastModified());
+			
+			WolfScheduler ws = new WolfScheduler(catalog.getPath());
+			assertEquals(2, ws.getCourseCatalog().length);
+			assertEquals(partial.get(1), ws.getCourseFromCatalog(partial.get(1).getName(), partial.get(1).getSection()));
+			
+			//A stale snapshot is ignored and replaced
+			assertTrue(catalog.setLastModified(catalog.lastModified() + 1000));
+			assertFalse(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+			assertEquals(13, new WolfScheduler(catalog.getPath()).getCourseCatalog().length);
+			assertTrue(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+			
+			//A damaged snapshot is ignored
+			CourseSnapshotIO.writeCatalogSnapshot(catalog.getPath(), partial, catalog.length(), catalog.lastModified());
+			byte[] bytes = Files.readAllBytes(snapshot.toPath());
+			bytes[bytes.length - 1] ^= 1;
+			Files.write(snapshot.toPath(), bytes);
+			assertTrue(CourseSnapshotIO.hasCurrentSnapshot(catalog.getPath()));
+			assertEquals(13, new WolfScheduler(catalog.getPath()).getCourseCatalog().length);
+		} finally {
+			Files.deleteIfExists(snapshot.toPath());
+			Files.deleteIfExists(catalog.toPath());
+			Files.deleteIfExists(dir);
+		}
+	}
+	
+	
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
@@ -503,4 +739,592 @@ public class WolfSchedulerTest {
 	}
 	
 
+	/**
+	 * Tests WolfScheduler() and adding courses to its catalog in batches.
+	 */
+	@Test
+	public void testAddCoursesToCatalog() throws Exception {
+		WolfScheduler ws = new WolfScheduler();
+		assertEquals(0, ws.getCourseCatalogSize());
+		assertEquals(0, ws.getCourseCatalog().length);
+		assertEquals("My Schedule", ws.getScheduleTitle());
+		assertEquals(0, ws.getScheduledActivities().length);
+
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+		ArrayList<Course> first = new ArrayList<Course>(courses.subList(0, 5));
+		ArrayList<Course> rest = new ArrayList<Course>(courses.subList(3, courses.size()));
+
+		assertEquals(5, ws.addCoursesToCatalog(first));
+		assertEquals(5, ws.getCourseCatalogSize());
+		//Courses already in the catalog are skipped
+		assertEquals(courses.size() - 5, ws.addCoursesToCatalog(rest));
+		assertEquals(courses.size(), ws.getCourseCatalogSize());
+
+		String[][] catalog = ws.getCourseCatalog();
+		for (int i = 0; i < courses.size(); i++) {
+			assertEquals(courses.get(i).getName(), catalog[i][0]);
+			assertEquals(courses.get(i).getSection(), catalog[i][1]);
+		}
+		assertTrue(ws.addCourseToSchedule("CSC 216", "001"));
+	}
+
+	/**
+	 * Tests getCourseCatalogByMeeting().
+	 */
+	@Test
+	public void testGetCourseCatalogByMeeting() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+
+		String[][] tuesThurs = ws.getCourseCatalogByMeeting("TH", 900, 1300);
+		assertEquals(1, tuesThurs.length);
+		assertEquals("CSC 116", tuesThurs[0][0]);
+		assertEquals("003", tuesThurs[0][1]);
+
+		//Courses that start or end inside the range, in catalog order
+		String[][] monWed = ws.getCourseCatalogByMeeting("MW", 900, 1100);
+		assertEquals(3, monWed.length);
+		assertEquals("CSC 116", monWed[0][0]);
+		assertEquals("001", monWed[0][1]);
+		assertEquals("CSC 226", monWed[1][0]);
+		assertEquals("CSC 316", monWed[2][0]);
+		assertEquals("MW 8:30AM-9:45AM", monWed[2][3]);
+
+		assertEquals(0, ws.getCourseCatalogByMeeting("U", 0, 2359).length);
+
+		try {
+			ws.getCourseCatalogByMeeting("TH", 1300, 900);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid time range.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests getCourseCatalogByFilter().
+	 */
+	@Test
+	public void testGetCourseCatalogByFilter() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+
+		String[][] labs = ws.getCourseCatalogByFilter(CatalogFilter.courseNumber("217")
+				.and(CatalogFilter.arranged().not()));
+		assertEquals(3, labs.length);
+		assertEquals("202", labs[0][1]);
+		assertEquals("211", labs[1][1]);
+		assertEquals("223", labs[2][1]);
+
+		String[][] sesmith5 = ws.getCourseCatalogByFilter(CatalogFilter.instructor("sesmith5")
+				.and(CatalogFilter.credits(3)));
+		assertEquals(1, sesmith5.length);
+		assertEquals("CSC 216", sesmith5[0][0]);
+		assertEquals("001", sesmith5[0][1]);
+
+		assertEquals(13, ws.getCourseCatalogByFilter(CatalogFilter.department("CSC")).length);
+		assertEquals(0, ws.getCourseCatalogByFilter(CatalogFilter.department("MA")).length);
+	}
+
+	/**
+	 * Tests that the blocked catalog rows follow the schedule as activities are added and
+	 * removed and as courses are added to the catalog.
+	 */
+	@Test
+	public void testBlockedCatalogRows() throws Exception {
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+		WolfScheduler ws = new WolfScheduler();
+		ws.addCoursesToCatalog(new ArrayList<Course>(courses.subList(0, 6)));
+		assertTrue(ws.getBlockedCatalogRows().isEmpty());
+
+		ws.addCourseToSchedule("CSC 116", "001");
+		assertBlockedRows(ws);
+		assertTrue(ws.isCatalogRowBlocked(0));
+		assertTrue(ws.isCatalogRowBlocked(1));
+		assertFalse(ws.isCatalogRowBlocked(3));
+
+		//Courses added to the catalog later are counted against the schedule
+		ws.addCoursesToCatalog(new ArrayList<Course>(courses.subList(6, courses.size())));
+		assertBlockedRows(ws);
+
+		ws.addEventToSchedule("Gym", "TH", 1330, 1400, "");
+		assertBlockedRows(ws);
+		assertTrue(ws.isCatalogRowBlocked(3));
+		ws.addCourseToSchedule("CSC 217", "211");
+		assertBlockedRows(ws);
+
+		ws.removeActivityFromSchedule(0);
+		assertBlockedRows(ws);
+		assertFalse(ws.isCatalogRowBlocked(1));
+
+		ws.resetSchedule();
+		assertTrue(ws.getBlockedCatalogRows().isEmpty());
+		ws.addEventToSchedule("Lunch", "MW", 1200, 1230, "");
+		assertBlockedRows(ws);
+
+		try {
+			ws.isCatalogRowBlocked(ws.getCourseCatalogSize());
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			//Row is out of range
+		}
+	}
+
+	/**
+	 * Checks the blocked catalog rows of a scheduler against every catalog course.
+	 * 
+	 * @param ws is the scheduler to check
+	 */
+	private void assertBlockedRows(WolfScheduler ws) {
+		BitSet blocked = ws.getBlockedCatalogRows();
+		String[][] scheduled = ws.getFullScheduledActivities();
+		for (int row = 0; row < ws.getCourseCatalogSize(); row++) {
+			String[] catalogRow = ws.getCourseCatalogRow(row);
+			Course c = ws.getCourseFromCatalog(catalogRow[0], catalogRow[1]);
+			boolean expected = false;
+			for (int i = 0; i < ws.schedule.size(); i++) {
+				Activity a = ws.schedule.get(i);
+				if (c.conflictsWith(a) || c.isDuplicate(a)) {
+					expected = true;
+				}
+			}
+			assertEquals("Row " + row + " of " + scheduled.length, expected, blocked.get(row));
+			assertEquals(expected, ws.isCatalogRowBlocked(row));
+		}
+	}
+
+	/**
+	 * Tests getScheduleOptions() against checking every combination of sections.
+	 */
+	@Test
+	public void testGetScheduleOptions() {
+		WolfScheduler ws = new WolfScheduler();
+		ArrayList<Course> courses = new ArrayList<Course>();
+		Random random = new Random(316);
+		String[] days = {"MW", "TH", "MWF", "F", "M", "A"};
+		for (int c = 0; c < 5; c++) {
+			for (int s = 0; s < 3 + c; s++) {
+				String meetingDays = days[random.nextInt(days.length)];
+				int start = 800 + 100 * random.nextInt(9);
+				boolean arranged = "A".equals(meetingDays);
+				courses.add(new Course("CSC " + (200 + c), "Title", String.format("%03d", s + 1), 3, "inst",
+						meetingDays, arranged ? 0 : start, arranged ? 0 : start + 115));
+			}
+		}
+		ws.addCoursesToCatalog(courses);
+		ws.addEventToSchedule("Gym", "TH", 1000, 1100, "");
+
+		ArrayList<String> names = new ArrayList<String>();
+		names.add("CSC 203");
+		names.add("CSC 200");
+		names.add("CSC 204");
+		names.add("CSC 201");
+		names.add("CSC 200");
+
+		//Check every combination by brute force
+		Activity gym = ws.schedule.get(0);
+		TreeSet<String> expected = new TreeSet<String>();
+		ArrayList<ArrayList<Course>> sections = new ArrayList<ArrayList<Course>>();
+		for (String name : new String[] {"CSC 203", "CSC 200", "CSC 204", "CSC 201"}) {
+			ArrayList<Course> list = new ArrayList<Course>();
+			for (Course c : courses) {
+				if (c.getName().equals(name) && !c.conflictsWith(gym)) {
+					list.add(c);
+				}
+			}
+			sections.add(list);
+		}
+		for (Course a : sections.get(0)) {
+			for (Course b : sections.get(1)) {
+				for (Course c : sections.get(2)) {
+					for (Course d : sections.get(3)) {
+						Course[] chosen = {a, b, c, d};
+						boolean conflict = false;
+						for (int i = 0; i < chosen.length; i++) {
+							for (int j = i + 1; j < chosen.length; j++) {
+								conflict |= chosen[i].conflictsWith(chosen[j]);
+							}
+						}
+						if (!conflict) {
+							expected.add(a.getSection() + b.getSection() + c.getSection() + d.getSection());
+						}
+					}
+				}
+			}
+		}
+		assertFalse(expected.isEmpty());
+
+		List<String[][]> options = ws.getScheduleOptions(names).collect(Collectors.toList());
+		TreeSet<String> actual = new TreeSet<String>();
+		for (String[][] option : options) {
+			assertEquals(4, option.length);
+			assertEquals("CSC 203", option[0][0]);
+			assertEquals("CSC 200", option[1][0]);
+			assertEquals("CSC 204", option[2][0]);
+			assertEquals("CSC 201", option[3][0]);
+			actual.add(option[0][1] + option[1][1] + option[2][1] + option[3][1]);
+		}
+		assertEquals(expected.size(), options.size());
+		assertEquals(expected, actual);
+
+		//A parallel search finds the same combinations
+		assertEquals(expected.size(), ws.getScheduleOptions(names).parallel().count());
+
+		//The stream is lazy
+		assertEquals(1, ws.getScheduleOptions(names).limit(1).count());
+
+		//A scheduled course has no more options
+		ws.addCourseToSchedule(options.get(0)[1][0], options.get(0)[1][1]);
+		assertEquals(0, ws.getScheduleOptions(names).count());
+		assertEquals(0, ws.getScheduleOptions(new ArrayList<String>(Arrays.asList("CSC 999"))).count());
+		assertEquals(1, ws.getScheduleOptions(new ArrayList<String>()).count());
+
+		try {
+			ws.getScheduleOptions(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid course names.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests many sessions on many threads sharing one frozen catalog.
+	 */
+	@Test
+	public void testSharedCatalog() throws Exception {
+		CourseCatalog shared = WolfScheduler.loadSharedCatalog(validTestFile);
+		assertTrue(shared.isFrozen());
+		assertEquals(13, shared.size());
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		ArrayList<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+		for (int i = 0; i < 400; i++) {
+			final int session = i;
+			results.add(pool.submit(() -> {
+				WolfScheduler ws = new WolfScheduler(shared);
+				ws.setScheduleTitle("Session " + session);
+				boolean ok = ws.addCourseToSchedule("CSC 116", session % 2 == 0 ? "001" : "003");
+				ok &= ws.addCourseToSchedule("CSC 216", session % 2 == 0 ? "001" : "002");
+				ws.addEventToSchedule("Event " + session, "F", 800, 900, "");
+				ok &= ws.getScheduledActivities().length == 3;
+				ok &= ws.isCatalogRowBlocked(0) && ws.isCatalogRowBlocked(12) == (session % 2 == 0);
+				ok &= ws.getCourseCatalogByMeeting("MW", 900, 1100).length == 3;
+				ok &= ws.removeActivityFromSchedule(0);
+				ok &= ws.getScheduledActivities().length == 2;
+				ok &= ("Session " + session).equals(ws.getScheduleTitle());
+				return ok;
+			}));
+		}
+		for (Future<Boolean> result : results) {
+			assertTrue(result.get());
+		}
+		pool.shutdown();
+
+		WolfScheduler ws = new WolfScheduler(shared);
+		assertEquals(13, ws.getCourseCatalogSize());
+		assertEquals(0, ws.getScheduledActivities().length);
+		try {
+			ws.addCoursesToCatalog(new ArrayList<Course>());
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Catalog is frozen.", e.getMessage());
+		}
+		try {
+			new WolfScheduler((CourseCatalog) null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Test WolfScheduler's seat reservations when many sessions add the same section at once.
+	 * @throws Exception if a session fails
+	 */
+	@Test
+	public void testSeatReservation() throws Exception {
+		CourseCatalog shared = new CourseCatalog(2);
+		Course limited = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445);
+		limited.setSeats(50, 0);
+		shared.add(limited);
+		shared.add(new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100));
+		shared.freeze();
+
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		ArrayList<Future<WolfScheduler>> results = new ArrayList<Future<WolfScheduler>>();
+		for (int i = 0; i < 2000; i++) {
+			results.add(pool.submit(() -> {
+				WolfScheduler ws = new WolfScheduler(shared);
+				ws.addCourseToSchedule("CSC 116", "001");
+				try {
+					ws.addCourseToSchedule("CSC 216", "001");
+					return ws;
+				} catch (IllegalArgumentException e) {
+					assertEquals("The course cannot be added because it is full.", e.getMessage());
+					assertEquals(1, ws.getScheduledActivities().length);
+					return null;
+				}
+			}));
+		}
+		ArrayList<WolfScheduler> enrolled = new ArrayList<WolfScheduler>();
+		for (Future<WolfScheduler> result : results) {
+			if (result.get() != null) {
+				enrolled.add(result.get());
+			}
+		}
+		pool.shutdown();
+
+		assertEquals(50, enrolled.size());
+		assertEquals(50, shared.getEnrolled(0));
+		assertEquals(2000, shared.getEnrolled(1));
+		assertEquals(0, new WolfScheduler(shared).getScheduleOptions(new ArrayList<String>(Arrays.asList("CSC 216"))).count());
+
+		//Removing a course or resetting the schedule releases its seat
+		WolfScheduler ws = new WolfScheduler(shared);
+		assertTrue(enrolled.get(0).removeActivityFromSchedule(1));
+		assertEquals(49, shared.getEnrolled(0));
+		assertEquals(1, ws.getScheduleOptions(new ArrayList<String>(Arrays.asList("CSC 216"))).count());
+		assertTrue(ws.addCourseToSchedule("CSC 216", "001"));
+		assertEquals(50, shared.getEnrolled(0));
+		ws.addEventToSchedule("Exercise", "F", 800, 900, "");
+		ws.resetSchedule();
+		assertEquals(49, shared.getEnrolled(0));
+
+		for (int i = 1; i < enrolled.size(); i++) {
+			enrolled.get(i).resetSchedule();
+		}
+		assertEquals(0, shared.getEnrolled(0));
+		assertEquals(1951, shared.getEnrolled(1));
+	}
+
+	/**
+	 * Test WolfScheduler.addActivitiesToSchedule() adding every activity or none of them.
+	 */
+	@Test
+	public void testAddActivitiesToSchedule() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ws.addCourseToSchedule("CSC 116", "001");
+
+		ArrayList<Event> events = new ArrayList<Event>();
+		events.add(new Event("Gym", "F", 800, 900, ""));
+		ws.addActivitiesToSchedule(new String[][] {{"CSC 216", "001"}, {"CSC 217", "211"}}, events);
+		String[][] scheduled = ws.getScheduledActivities();
+		assertEquals(4, scheduled.length);
+		assertEquals("CSC 216", scheduled[1][0]);
+		assertEquals("CSC 217", scheduled[2][0]);
+		assertEquals("Gym", scheduled[3][2]);
+		assertTrue(ws.isCatalogRowBlocked(5));
+
+		//Changing the given event afterwards does not change the schedule
+		events.get(0).setTitle("Nap");
+		events.get(0).setMeetingDaysAndTime("MW", 1000, 1030);
+		assertEquals("Gym", ws.getScheduledActivities()[3][2]);
+		assertEquals("F 8:00AM-9:00AM", ws.getScheduledActivities()[3][3]);
+
+		//Conflict with the schedule
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> ws.addActivitiesToSchedule(new String[][] {{"CSC 230", "001"}, {"CSC 226", "001"}}, new ArrayList<Event>()));
+		assertEquals("The course cannot be added due to a conflict.", e.getMessage());
+
+		//Conflict between new activities
+		ArrayList<Event> lunch = new ArrayList<Event>();
+		lunch.add(new Event("Lunch", "MW", 1200, 1230, ""));
+		e = assertThrows(IllegalArgumentException.class,
+				() -> ws.addActivitiesToSchedule(new String[][] {{"CSC 230", "001"}}, lunch));
+		assertEquals("The event cannot be added due to a conflict.", e.getMessage());
+
+		//Duplicates of the schedule and between new activities
+		e = assertThrows(IllegalArgumentException.class,
+				() -> ws.addActivitiesToSchedule(new String[][] {{"CSC 230", "001"}, {"CSC 116", "003"}}, new ArrayList<Event>()));
+		assertEquals("You are already enrolled in CSC 116", e.getMessage());
+		lunch.add(new Event("Lunch", "H", 1200, 1230, ""));
+		e = assertThrows(IllegalArgumentException.class,
+				() -> ws.addActivitiesToSchedule(new String[0][], lunch));
+		assertEquals("You have already created an event called Lunch", e.getMessage());
+
+		e = assertThrows(IllegalArgumentException.class,
+				() -> ws.addActivitiesToSchedule(new String[][] {{"CSC 230", "001"}, {"CSC 492", "001"}}, new ArrayList<Event>()));
+		assertEquals("The course cannot be added because it is not in the catalog.", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> ws.addActivitiesToSchedule(null, new ArrayList<Event>()));
+		assertThrows(IllegalArgumentException.class, () -> ws.addActivitiesToSchedule(new String[][] {{"CSC 230"}}, new ArrayList<Event>()));
+		assertThrows(IllegalArgumentException.class, () -> ws.addActivitiesToSchedule(new String[0][], null));
+
+		assertEquals(4, ws.getScheduledActivities().length);
+		assertFalse(ws.isCatalogRowBlocked(11));
+
+		//A full course releases the seats reserved before it
+		CourseCatalog catalog = new CourseCatalog(2);
+		Course open = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445);
+		open.setSeats(10, 0);
+		Course full = new Course("CSC 116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100);
+		full.setSeats(5, 5);
+		catalog.add(open);
+		catalog.add(full);
+		WolfScheduler limited = new WolfScheduler(catalog);
+		e = assertThrows(IllegalArgumentException.class,
+				() -> limited.addActivitiesToSchedule(new String[][] {{"CSC 216", "001"}, {"CSC 116", "001"}}, new ArrayList<Event>()));
+		assertEquals("The course cannot be added because it is full.", e.getMessage());
+		assertEquals(0, catalog.getEnrolled(0));
+		assertEquals(0, limited.getScheduledActivities().length);
+	}
+
+	/**
+	 * Test WolfScheduler's journal rebuilding a schedule and compacting into an export.
+	 * @throws IOException if the temporary files cannot be created or read
+	 */
+	@Test
+	public void testJournal() throws IOException {
+		Path dir = Files.createTempDirectory("journal");
+		String journalFile = dir.resolve("schedule.journal").toString();
+		String exportFile = dir.resolve("schedule.txt").toString();
+
+		try {
+			WolfScheduler ws = new WolfScheduler(validTestFile);
+			ws.openJournal(journalFile, exportFile, false);
+			assertEquals(0, ws.getScheduledActivities().length);
+			ws.setScheduleTitle("Fall");
+			ws.addCourseToSchedule("CSC 116", "001");
+			ws.addCourseToSchedule("CSC 216", "001");
+			ws.addEventToSchedule("Gym", "F", 800, 900, "Weights");
+			ArrayList<Event> events = new ArrayList<Event>();
+			events.add(new Event("Lunch", "T", 1200, 1230, ""));
+			ws.addActivitiesToSchedule(new String[][] {{"CSC 230", "001"}}, events);
+			assertTrue(ws.removeActivityFromSchedule(0));
+			assertFalse(ws.removeActivityFromSchedule(10));
+			assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule("CSC 216", "002"));
+			assertThrows(IllegalStateException.class, () -> ws.openJournal(journalFile, exportFile, false));
+			ws.closeJournal();
+			ws.setScheduleTitle("Not journaled");
+
+			WolfScheduler restored = new WolfScheduler(validTestFile);
+			restored.openJournal(journalFile, exportFile, false);
+			assertEquals("Fall", restored.getScheduleTitle());
+			assertArrayEquals(new String[] {"CSC 216", "Gym", "CSC 230", "Lunch"}, scheduledTitles(restored));
+			assertEquals(ws.getFullScheduledActivities().length, restored.getFullScheduledActivities().length);
+			assertFalse(new File(exportFile).exists());
+
+			//Enough changes trigger compaction, which also exports the schedule
+			for (int i = 0; i < WolfScheduler.JOURNAL_COMPACT_THRESHOLD / 2; i++) {
+				restored.addEventToSchedule("Nap", "S", 1300, 1400, "");
+				restored.removeActivityFromSchedule(4);
+			}
+			assertTrue(new File(exportFile).exists());
+			assertTrue(restored.journal.getRecordCount() < WolfScheduler.JOURNAL_COMPACT_THRESHOLD);
+			restored.resetSchedule();
+			restored.addCourseToSchedule("CSC 316", "001");
+			restored.closeJournal();
+
+			WolfScheduler compacted = new WolfScheduler(validTestFile);
+			compacted.openJournal(journalFile, null, true);
+			assertArrayEquals(new String[] {"CSC 316"}, scheduledTitles(compacted));
+			compacted.compactJournal();
+			assertEquals(2, compacted.journal.getRecordCount());
+			compacted.closeJournal();
+			assertThrows(IllegalStateException.class, () -> compacted.compactJournal());
+
+			//A journal that does not match the catalog cannot be replayed
+			WolfScheduler empty = new WolfScheduler();
+			IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+					() -> empty.openJournal(journalFile, null, false));
+			assertEquals("The journal cannot be replayed.", e.getMessage());
+			e = assertThrows(IllegalArgumentException.class,
+					() -> new WolfScheduler().openJournal(validTestFile, null, false));
+			assertEquals("The journal cannot be opened.", e.getMessage());
+
+			//A replay that fails part way leaves an empty schedule and releases its seats
+			String brokenFile = dir.resolve("broken.journal").toString();
+			WolfScheduler writer = new WolfScheduler(validTestFile);
+			writer.openJournal(brokenFile, null, false);
+			writer.setScheduleTitle("Broken");
+			writer.addCourseToSchedule("CSC 216", "001");
+			writer.addCourseToSchedule("CSC 116", "001");
+			writer.closeJournal();
+
+			CourseCatalog catalog = new CourseCatalog();
+			Course limited = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445);
+			limited.setSeats(10, 0);
+			catalog.add(limited);
+			WolfScheduler partial = new WolfScheduler(catalog);
+			e = assertThrows(IllegalArgumentException.class, () -> partial.openJournal(brokenFile, null, false));
+			assertEquals("The journal cannot be replayed.", e.getMessage());
+			assertEquals(0, partial.getScheduledActivities().length);
+			assertEquals("My Schedule", partial.getScheduleTitle());
+			assertEquals(0, catalog.getEnrolled(0));
+			assertFalse(partial.isCatalogRowBlocked(0));
+		} finally {
+			for (File f : dir.toFile().listFiles()) {
+				f.delete();
+			}
+			Files.delete(dir);
+		}
+	}
+
+	/**
+	 * Returns the course name of each scheduled course and the title of each scheduled event.
+	 * @param ws is the scheduler
+	 * @return the names and titles in schedule order
+	 */
+	private static String[] scheduledTitles(WolfScheduler ws) {
+		String[][] scheduled = ws.getScheduledActivities();
+		String[] titles = new String[scheduled.length];
+		for (int i = 0; i < scheduled.length; i++) {
+			titles[i] = scheduled[i][0].isEmpty() ? scheduled[i][2] : scheduled[i][0];
+		}
+		return titles;
+	}
+
+	/**
+	 * Test WolfScheduler.importSchedule() restoring an exported schedule in file order.
+	 * @throws IOException if the temporary files cannot be created
+	 */
+	@Test
+	public void testImportSchedule() throws IOException {
+		Path export = Files.createTempFile("schedule", ".txt");
+		Path journalFile = Files.createTempFile("schedule", ".journal");
+
+		try {
+			WolfScheduler ws = new WolfScheduler(validTestFile);
+			ws.addCourseToSchedule("CSC 116", "001");
+			ws.addEventToSchedule("Gym", "F", 800, 900, "Weights, then cardio");
+			ws.addCourseToSchedule("CSC 216", "601");
+			ws.exportSchedule(export.toString());
+
+			WolfScheduler restored = new WolfScheduler(validTestFile);
+			restored.openJournal(journalFile.toString(), null, false);
+			assertEquals(3, restored.importSchedule(export.toString()));
+			assertArrayEquals(ws.getFullScheduledActivities(), restored.getFullScheduledActivities());
+			assertTrue(restored.isCatalogRowBlocked(1));
+			assertEquals(0, restored.getImportSkippedLines());
+			restored.closeJournal();
+
+			//The journal replays the import in the same order
+			WolfScheduler replayed = new WolfScheduler(validTestFile);
+			replayed.openJournal(journalFile.toString(), null, false);
+			assertArrayEquals(ws.getFullScheduledActivities(), replayed.getFullScheduledActivities());
+			replayed.closeJournal();
+
+			//Lines that are not activities are skipped and counted
+			Files.write(export, "garbage\n\nNap,X,1300,1400,Bad days\n".getBytes(), StandardOpenOption.APPEND);
+			WolfScheduler skipping = new WolfScheduler(validTestFile);
+			assertEquals(3, skipping.importSchedule(export.toString()));
+			assertEquals(2, skipping.getImportSkippedLines());
+			assertArrayEquals(ws.getFullScheduledActivities(), skipping.getFullScheduledActivities());
+
+			//Importing again duplicates every activity, so nothing is added
+			IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+					() -> restored.importSchedule(export.toString()));
+			assertEquals("You are already enrolled in CSC 116", e.getMessage());
+			assertEquals(3, restored.getScheduledActivities().length);
+
+			//A course missing from the catalog stops the whole import
+			WolfScheduler empty = new WolfScheduler();
+			e = assertThrows(IllegalArgumentException.class, () -> empty.importSchedule(export.toString()));
+			assertEquals("The course cannot be added because it is not in the catalog.", e.getMessage());
+			assertEquals(0, empty.getScheduledActivities().length);
+
+			e = assertThrows(IllegalArgumentException.class, () -> empty.importSchedule("test-files/nonexistent.txt"));
+			assertEquals("Cannot find file.", e.getMessage());
+		} finally {
+			Files.delete(export);
+			Files.delete(journalFile);
+		}
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Measures conflict checks and meeting string formatting on single activities.
+ *
+ * @author msabrams
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActivityBenchmark {
+
+	/** Course that the other activities are checked against */
+	private Activity course;
+
+	/** Event that does not conflict with the course */
+	private Activity freeEvent;
+
+	/** Event that conflicts with the course */
+	private Activity conflictingEvent;
+
+	/**
+	 * Creates the activities.
+	 */
+	@Setup
+	public void setUp() {
+		course = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+		freeEvent = new Event("Lunch", "MWF", 1200, 1300, "Food");
+		conflictingEvent = new Event("Meeting", "W", 1400, 1500, "Project");
+	}
+
+	/**
+	 * Checks two activities that do not conflict.
+	 *
+	 * @return true if the check threw a ConflictException
+	 */
+	@Benchmark
+	public boolean checkConflictFree() {
+		return checkConflict(course, freeEvent);
+	}
+
+	/**
+	 * Checks two activities that conflict.
+	 *
+	 * @return true if the check threw a ConflictException
+	 */
+	@Benchmark
+	public boolean checkConflictConflicting() {
+		return checkConflict(course, conflictingEvent);
+	}
+
+	/**
+	 * Formats the meeting string of a course.
+	 *
+	 * @return the meeting string
+	 */
+	@Benchmark
+	public String getMeetingStringCourse() {
+		return course.getMeetingString();
+	}
+
+	/**
+	 * Formats the meeting string of an event.
+	 *
+	 * @return the meeting string
+	 */
+	@Benchmark
+	public String getMeetingStringEvent() {
+		return freeEvent.getMeetingString();
+	}
+
+	/**
+	 * Runs checkConflict and reports whether it threw.
+	 *
+	 * @param a is the activity to check
+	 * @param b is the activity to check against
+	 *
+	 * @return true if the check threw a ConflictException
+	 */
+	private static boolean checkConflict(Activity a, Activity b) {
+		try {
+			a.checkConflict(b);
+			return false;
+		} catch (ConflictException e) {
+			return true;
+		}
+	}
+
+}
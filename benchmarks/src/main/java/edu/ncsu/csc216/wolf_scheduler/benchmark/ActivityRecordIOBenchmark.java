@@ -0,0 +1,69 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+
+/**
+ * Measures exporting a schedule to a file.
+ *
+ * @author msabrams
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActivityRecordIOBenchmark {
+
+	/** Number of activities in the schedule */
+	@Param({"10", "100"})
+	public int scheduleSize;
+
+	/** Schedule that is written */
+	private ArrayList<Activity> schedule;
+
+	/** File the schedule is written to */
+	private File output;
+
+	/**
+	 * Creates the schedule and the output file.
+	 *
+	 * @throws IOException if the output file cannot be created
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		schedule = BenchmarkData.schedule(scheduleSize);
+		output = File.createTempFile("schedule", ".txt");
+		output.deleteOnExit();
+	}
+
+	/**
+	 * Writes the schedule.
+	 *
+	 * @throws IOException if the schedule cannot be written
+	 */
+	@Benchmark
+	public void writeActivityRecords() throws IOException {
+		ActivityRecordIO.writeActivityRecords(output.getPath(), schedule);
+	}
+
+}
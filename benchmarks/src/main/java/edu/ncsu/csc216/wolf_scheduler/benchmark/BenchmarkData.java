@@ -0,0 +1,157 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * BenchmarkData generates the synthetic catalogs and schedules used by the benchmarks. Every
+ * generated catalog has unique name and section pairs and contains BENCHMARK_COURSE, which does
+ * not conflict with any generated schedule.
+ *
+ * @author msabrams
+ *
+ */
+public final class BenchmarkData {
+
+	/** Name of the course that is added to and removed from schedules */
+	public static final String BENCHMARK_NAME = "BEN 100";
+
+	/** Section of the course that is added to and removed from schedules */
+	public static final String BENCHMARK_SECTION = "001";
+
+	/** Catalog record of the course that is added to and removed from schedules */
+	static final String BENCHMARK_COURSE = BENCHMARK_NAME + ",Benchmark," + BENCHMARK_SECTION + ",3,bench,MW,940,950";
+
+	/** Days a generated course can meet on */
+	private static final String COURSE_DAYS = "MTWHF";
+
+	/** Days a generated event can meet on */
+	private static final String EVENT_DAYS = "MTWHFSU";
+
+	/** Number of course numbers used for each department */
+	private static final int NUMBERS_PER_DEPARTMENT = 900;
+
+	/** Lowest course number */
+	private static final int FIRST_NUMBER = 100;
+
+	/** Number of letters in a department */
+	private static final int LETTERS_PER_DEPARTMENT = 4;
+
+	/** Number of letters in the alphabet */
+	private static final int LETTERS = 26;
+
+	/** Hours in a day */
+	private static final int HOURS_IN_DAY = 24;
+
+	/** Largest schedule that can be generated without conflicts */
+	public static final int MAX_SCHEDULE_SIZE = EVENT_DAYS.length() * HOURS_IN_DAY;
+
+	/**
+	 * BenchmarkData only has static methods.
+	 */
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Writes a catalog with the given number of courses to a temporary file that is deleted when
+	 * the JVM exits.
+	 *
+	 * @param catalogSize is the number of courses in the catalog, including BENCHMARK_COURSE
+	 *
+	 * @return the catalog file
+	 *
+	 * @throws IOException if the catalog cannot be written
+	 */
+	public static File writeCatalog(int catalogSize) throws IOException {
+
+		File file = File.createTempFile("catalog", ".txt");
+		file.deleteOnExit();
+
+		try (PrintWriter out = new PrintWriter(file)) {
+
+			out.println(BENCHMARK_COURSE);
+
+			for (int i = 1; i < catalogSize; i++) {
+				out.println(courseRecord(i));
+			}
+		}
+
+		return file;
+	}
+
+	/**
+	 * Returns the catalog record of the i-th generated course. Every fourth course is arranged.
+	 *
+	 * @param i is the index of the course
+	 *
+	 * @return the course record
+	 */
+	static String courseRecord(int i) {
+
+		String name = department(i / NUMBERS_PER_DEPARTMENT) + " " + (FIRST_NUMBER + i % NUMBERS_PER_DEPARTMENT);
+		String section = String.format("%03d", 1 + i % 3);
+		int credits = 1 + i % 5;
+
+		if (i % 4 == 0) {
+			return name + ",Generated Course " + i + "," + section + "," + credits + ",inst" + i % 50 + ",A";
+		}
+
+		int hour = 8 + i % 10;
+		String days = COURSE_DAYS.substring(i % 3, i % 3 + 2);
+
+		return name + ",Generated Course " + i + "," + section + "," + credits + ",inst" + i % 50 + ","
+				+ days + "," + (hour * 100) + "," + (hour * 100 + 50);
+	}
+
+	/**
+	 * Returns a four letter department for the given index.
+	 *
+	 * @param index is the index of the department
+	 *
+	 * @return the department
+	 */
+	private static String department(int index) {
+
+		char[] letters = new char[LETTERS_PER_DEPARTMENT];
+
+		for (int i = LETTERS_PER_DEPARTMENT - 1; i >= 0; i--) {
+			letters[i] = (char) ('A' + index % LETTERS);
+			index /= LETTERS;
+		}
+
+		return new String(letters);
+	}
+
+	/**
+	 * Returns a schedule of events that do not conflict with each other or with BENCHMARK_COURSE.
+	 * Each event meets on one day from the top of an hour to half past the hour.
+	 *
+	 * @param scheduleSize is the number of events, at most MAX_SCHEDULE_SIZE
+	 *
+	 * @return the schedule
+	 *
+	 * @throws IllegalArgumentException if scheduleSize is larger than MAX_SCHEDULE_SIZE
+	 */
+	public static ArrayList<Activity> schedule(int scheduleSize) {
+
+		if (scheduleSize > MAX_SCHEDULE_SIZE) {
+			throw new IllegalArgumentException("Invalid schedule size.");
+		}
+
+		ArrayList<Activity> schedule = new ArrayList<Activity>();
+
+		for (int i = 0; i < scheduleSize; i++) {
+			String day = String.valueOf(EVENT_DAYS.charAt(i % EVENT_DAYS.length()));
+			int hour = i / EVENT_DAYS.length();
+			schedule.add(new Event("Event " + i, day, hour * 100, hour * 100 + 30, "Generated event " + i));
+		}
+
+		return schedule;
+	}
+
+}
@@ -0,0 +1,79 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmark;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Measures loading a course catalog from a file.
+ *
+ * @author msabrams
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseRecordIOBenchmark {
+
+	/** Number of courses in the catalog file */
+	@Param({"100", "10000", "100000"})
+	public int catalogSize;
+
+	/** Catalog file that is read */
+	private File catalog;
+
+	/**
+	 * Writes the catalog file.
+	 *
+	 * @throws IOException if the catalog cannot be written
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		catalog = BenchmarkData.writeCatalog(catalogSize);
+	}
+
+	/**
+	 * Reads the catalog with the sequential reader.
+	 *
+	 * @return the courses read
+	 *
+	 * @throws FileNotFoundException if the catalog file is missing
+	 */
+	@Benchmark
+	public ArrayList<Course> readCourseRecords() throws FileNotFoundException {
+		return CourseRecordIO.readCourseRecords(catalog.getPath());
+	}
+
+	/**
+	 * Reads the catalog with the parallel memory-mapped reader.
+	 *
+	 * @return the courses read
+	 *
+	 * @throws FileNotFoundException if the catalog file is missing
+	 */
+	@Benchmark
+	public ArrayList<Course> readCourseRecordsParallel() throws FileNotFoundException {
+		return CourseRecordIO.readCourseRecordsParallel(catalog.getPath());
+	}
+
+}
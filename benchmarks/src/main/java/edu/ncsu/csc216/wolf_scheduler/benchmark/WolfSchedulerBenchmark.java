@@ -0,0 +1,91 @@
+package edu.ncsu.csc216.wolf_scheduler.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Measures adding a course to a schedule and building the catalog display array.
+ *
+ * @author msabrams
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WolfSchedulerBenchmark {
+
+	/** Number of courses in the catalog */
+	@Param({"100", "10000"})
+	public int catalogSize;
+
+	/** Number of events in the schedule */
+	@Param({"10", "100"})
+	public int scheduleSize;
+
+	/** Scheduler holding the catalog and schedule */
+	private WolfScheduler scheduler;
+
+	/**
+	 * Loads the catalog and fills the schedule.
+	 *
+	 * @throws IOException if the catalog cannot be written
+	 */
+	@Setup
+	public void setUp() throws IOException {
+
+		File catalog = BenchmarkData.writeCatalog(catalogSize);
+		scheduler = new WolfScheduler(catalog.getPath());
+
+		ArrayList<Activity> schedule = BenchmarkData.schedule(scheduleSize);
+		for (Activity activity : schedule) {
+			Event event = (Event) activity;
+			scheduler.addEventToSchedule(event.getTitle(), event.getMeetingDays(), event.getStartTime(),
+					event.getEndTime(), event.getEventDetails());
+		}
+	}
+
+	/**
+	 * Adds the benchmark course to the schedule and removes it again, so every invocation
+	 * starts from the same schedule.
+	 *
+	 * @return true if the course was added
+	 */
+	@Benchmark
+	public boolean addCourseToSchedule() {
+		boolean added = scheduler.addCourseToSchedule(BenchmarkData.BENCHMARK_NAME, BenchmarkData.BENCHMARK_SECTION);
+		scheduler.removeActivityFromSchedule(scheduleSize);
+		return added;
+	}
+
+	/**
+	 * Builds the catalog display array.
+	 *
+	 * @return the catalog display array
+	 */
+	@Benchmark
+	public String[][] getCourseCatalog() {
+		return scheduler.getCourseCatalog();
+	}
+
+}